@@ -36,9 +36,12 @@ CREATE TABLE gym_event (
   duration varchar(5) NOT NULL,
   participants_limit int NOT NULL,
   current_participants_number int NOT NULL,
+  waitlist_tail bigint NOT NULL DEFAULT 0,
   fitness_class_id bigint NOT NULL,
   
   PRIMARY KEY (id),
+  INDEX IX_gym_event_start_time_id (start_time, id),
+  INDEX IX_gym_event_fitness_class_start_time (fitness_class_id, start_time),
   CONSTRAINT FK_gym_event_fitness_class FOREIGN KEY (fitness_class_id) REFERENCES fitness_class (id)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=UTF8MB4;
 
@@ -80,4 +83,57 @@ CREATE TABLE event_user (
   PRIMARY KEY (gym_event_id, app_user_id),
   CONSTRAINT FK_event_user_gym_event FOREIGN KEY (gym_event_id) REFERENCES gym_event (id),
   CONSTRAINT FK_event_user_app_user FOREIGN KEY (app_user_id) REFERENCES app_user (id)
-) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=UTF8MB4;
\ No newline at end of file
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=UTF8MB4;
+
+CREATE TABLE waitlist_entry (
+  id bigint AUTO_INCREMENT,
+  gym_event_id bigint NOT NULL,
+  app_user_id bigint NOT NULL,
+  ticket bigint NOT NULL,
+  joined_at datetime NOT NULL,
+
+  PRIMARY KEY (id),
+  CONSTRAINT UQ_waitlist_entry_gym_event_app_user UNIQUE (gym_event_id, app_user_id),
+  INDEX IX_waitlist_entry_gym_event_ticket (gym_event_id, ticket),
+  CONSTRAINT FK_waitlist_entry_gym_event FOREIGN KEY (gym_event_id) REFERENCES gym_event (id) ON DELETE CASCADE,
+  CONSTRAINT FK_waitlist_entry_app_user FOREIGN KEY (app_user_id) REFERENCES app_user (id) ON DELETE CASCADE
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=UTF8MB4;
+
+CREATE TABLE fitness_class_occupancy (
+  id bigint AUTO_INCREMENT,
+  fitness_class_id bigint NOT NULL,
+  day_of_week int NOT NULL,
+  start_hour int NOT NULL,
+  event_count bigint NOT NULL,
+  seats_total bigint NOT NULL,
+  seats_taken bigint NOT NULL,
+
+  PRIMARY KEY (id),
+  CONSTRAINT UQ_fitness_class_occupancy_slot UNIQUE (fitness_class_id, day_of_week, start_hour),
+  CONSTRAINT FK_fitness_class_occupancy_fitness_class FOREIGN KEY (fitness_class_id) REFERENCES fitness_class (id) ON DELETE CASCADE
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=UTF8MB4;
+
+CREATE TABLE resource_version (
+  resource varchar(32) NOT NULL,
+  version bigint NOT NULL,
+
+  PRIMARY KEY (resource)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+INSERT INTO resource_version VALUES ('GYM_EVENTS', 0), ('TRAINERS', 0), ('FITNESS_CLASSES', 0);
+
+-- MySQL has no sequences, so Hibernate's pooled-lo generator reserves blocks of 50 ids from these tables
+CREATE TABLE app_role_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO app_role_seq VALUES (1);
+
+CREATE TABLE app_user_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO app_user_seq VALUES (1);
+
+CREATE TABLE trainer_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO trainer_seq VALUES (1);
+
+CREATE TABLE fitness_class_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO fitness_class_seq VALUES (1);
+
+CREATE TABLE gym_event_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO gym_event_seq VALUES (1);
@@ -0,0 +1,88 @@
+package com.junior.company.fitness_studio_management.benchmark;
+
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.DifficultyLevel;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Role;
+import com.junior.company.fitness_studio_management.model.Trainer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixture builders shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final LocalDateTime START_TIME = LocalDateTime.of(3000, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static AppUser appUser(long id) {
+        return AppUser.builder()
+                .id(id)
+                .username("user" + id)
+                .password("password")
+                .roles(List.of(new Role(1L, "USER")))
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("user" + id + "@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .isEnabled(true)
+                .gymEvents(new ArrayList<>())
+                .build();
+    }
+
+    static List<AppUser> appUsers(int count) {
+        List<AppUser> appUsers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            appUsers.add(appUser(i + 1));
+        }
+        return appUsers;
+    }
+
+    static FitnessClass fitnessClass(long id) {
+        List<Trainer> trainers = new ArrayList<>();
+        for (long i = 1; i <= 2; i++) {
+            trainers.add(Trainer.builder()
+                    .id(id * 10 + i)
+                    .firstName("firstname")
+                    .lastName("lastname")
+                    .email("trainer" + i + "@email.com")
+                    .description("description")
+                    .build());
+        }
+        return FitnessClass.builder()
+                .id(id)
+                .name("name" + id)
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .description("description")
+                .trainers(trainers)
+                .build();
+    }
+
+    static GymEvent gymEvent(long id, List<AppUser> enrolledParticipants, int participantsLimit) {
+        return GymEvent.builder()
+                .id(id)
+                .startTime(START_TIME.plusHours(id))
+                .endTime(START_TIME.plusHours(id).plusMinutes(30))
+                .duration("00:30")
+                .participantsLimit(participantsLimit)
+                .currentParticipantsNumber(enrolledParticipants.size())
+                .enrolledParticipants(enrolledParticipants)
+                .fitnessClass(fitnessClass(id))
+                .build();
+    }
+
+    static List<GymEvent> gymEvents(int count) {
+        List<GymEvent> gymEvents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            gymEvents.add(gymEvent(i + 1, new ArrayList<>(), 20));
+        }
+        return gymEvents;
+    }
+}
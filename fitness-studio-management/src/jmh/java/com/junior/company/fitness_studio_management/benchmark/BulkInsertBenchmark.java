@@ -0,0 +1,155 @@
+package com.junior.company.fitness_studio_management.benchmark;
+
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Role;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.model.WaitlistEntry;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second when a batch of gym events is persisted in one transaction against an in-memory H2 database,
+ * with the identity columns the entities used before and with the pooled sequence they use now.
+ * JDBC batching is configured in both cases; Hibernate silently disables it for identity columns.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"IDENTITY", "POOLED_SEQUENCE"})
+    private String idGeneration;
+
+    private StandardServiceRegistry serviceRegistry;
+    private SessionFactory sessionFactory;
+
+    @Entity
+    @Table(name = "identity_gym_event")
+    public static class IdentityGymEvent {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "start_time")
+        private LocalDateTime startTime;
+
+        @Column(name = "end_time")
+        private LocalDateTime endTime;
+
+        @Column(name = "duration")
+        private String duration;
+
+        @Column(name = "participants_limit")
+        private int participantsLimit;
+
+        @Column(name = "current_participants_number")
+        private int currentParticipantsNumber;
+
+        protected IdentityGymEvent() {
+        }
+
+        IdentityGymEvent(LocalDateTime startTime, int participantsLimit) {
+            this.startTime = startTime;
+            this.endTime = startTime.plusHours(1);
+            this.duration = "01:00";
+            this.participantsLimit = participantsLimit;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        serviceRegistry = new StandardServiceRegistryBuilder()
+                .applySettings(Map.of(
+                        "hibernate.connection.url", "jdbc:h2:mem:bulk-insert;DB_CLOSE_DELAY=-1",
+                        "hibernate.connection.username", "sa",
+                        "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                        "hibernate.hbm2ddl.auto", "create-drop",
+                        "hibernate.id.optimizer.pooled.preferred", "pooled-lo",
+                        "hibernate.jdbc.batch_size", "50",
+                        "hibernate.order_inserts", "true",
+                        "hibernate.order_updates", "true"))
+                .build();
+        sessionFactory = new MetadataSources(serviceRegistry)
+                .addAnnotatedClass(GymEvent.class)
+                .addAnnotatedClass(FitnessClass.class)
+                .addAnnotatedClass(Trainer.class)
+                .addAnnotatedClass(AppUser.class)
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(WaitlistEntry.class)
+                .addAnnotatedClass(IdentityGymEvent.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRows() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.createQuery("DELETE FROM GymEvent").executeUpdate();
+            session.createQuery("DELETE FROM BulkInsertBenchmark$IdentityGymEvent").executeUpdate();
+            session.getTransaction().commit();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(serviceRegistry);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void persistGymEvents() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                LocalDateTime startTime = BenchmarkData.START_TIME.plusHours(i);
+                session.persist("IDENTITY".equals(idGeneration)
+                        ? new IdentityGymEvent(startTime, 20)
+                        : GymEvent.builder()
+                        .startTime(startTime)
+                        .endTime(startTime.plusHours(1))
+                        .duration("01:00")
+                        .participantsLimit(20)
+                        .build());
+            }
+            session.getTransaction().commit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.junior.company.fitness_studio_management.benchmark;
+
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membership checks in {@link GymEvent#addParticipant} and {@link GymEvent#removeParticipant}
+ * as the number of enrolled participants grows. Every benchmark leaves the event unchanged.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GymEventParticipantsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int participants;
+
+    private GymEvent gymEvent;
+    private AppUser lastParticipant;
+    private AppUser newParticipant;
+
+    @Setup
+    public void setUp() {
+        List<AppUser> enrolledParticipants = BenchmarkData.appUsers(participants);
+        gymEvent = BenchmarkData.gymEvent(1L, enrolledParticipants, participants + 1);
+        lastParticipant = enrolledParticipants.get(participants - 1);
+        newParticipant = BenchmarkData.appUser(participants + 1L);
+    }
+
+    @Benchmark
+    public boolean addAndRemoveNewParticipant() {
+        return gymEvent.addParticipant(newParticipant) & gymEvent.removeParticipant(newParticipant);
+    }
+
+    @Benchmark
+    public boolean addAlreadyEnrolledParticipant() {
+        return gymEvent.addParticipant(lastParticipant);
+    }
+
+    @Benchmark
+    public boolean removeNotEnrolledParticipant() {
+        return gymEvent.removeParticipant(newParticipant);
+    }
+}
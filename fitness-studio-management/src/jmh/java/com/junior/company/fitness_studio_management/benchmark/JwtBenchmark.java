@@ -0,0 +1,52 @@
+package com.junior.company.fitness_studio_management.benchmark;
+
+import com.junior.company.fitness_studio_management.security.JwtTokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing (login) and verifying (every authenticated request) an access token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String ISSUER = "http://localhost:8080/api/v1/login";
+
+    private JwtTokenService jwtTokenService;
+    private List<String> roles;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenService = new JwtTokenService("benchmark-secret-key");
+        roles = List.of("ROLE_USER", "ROLE_ADMIN");
+        token = jwtTokenService.createAccessToken("user", roles, ISSUER);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtTokenService.createAccessToken("user", roles, ISSUER);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken verify() {
+        return jwtTokenService.verifyAccessToken(token);
+    }
+}
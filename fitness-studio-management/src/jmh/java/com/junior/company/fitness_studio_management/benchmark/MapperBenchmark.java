@@ -0,0 +1,155 @@
+package com.junior.company.fitness_studio_management.benchmark;
+
+import com.junior.company.fitness_studio_management.dto.AppUserRequest;
+import com.junior.company.fitness_studio_management.dto.AppUserResponse;
+import com.junior.company.fitness_studio_management.dto.FitnessClassRequest;
+import com.junior.company.fitness_studio_management.dto.GymEventRequest;
+import com.junior.company.fitness_studio_management.dto.GymEventResponse;
+import com.junior.company.fitness_studio_management.dto.TrainerRequest;
+import com.junior.company.fitness_studio_management.mapper.AppUserMapper;
+import com.junior.company.fitness_studio_management.mapper.FitnessClassMapper;
+import com.junior.company.fitness_studio_management.mapper.GymEventMapper;
+import com.junior.company.fitness_studio_management.mapper.TrainerMapper;
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every mapping in the {@code mapper} package; list mappings are measured at several list sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private AppUserRequest appUserRequest;
+    private FitnessClassRequest fitnessClassRequest;
+    private GymEventRequest gymEventRequest;
+    private TrainerRequest trainerRequest;
+    private AppUser appUser;
+    private List<AppUser> appUsers;
+    private List<GymEvent> gymEvents;
+    private GymEvent gymEvent;
+    private List<Trainer> trainers;
+
+    @Setup
+    public void setUp() {
+        appUserRequest = AppUserRequest.builder()
+                .id(1L)
+                .username("username")
+                .password("password")
+                .matchingPassword("password")
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("email@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .build();
+        fitnessClassRequest = FitnessClassRequest.builder()
+                .id(1L)
+                .name("name")
+                .difficultyLevel("BEGINNER")
+                .description("description")
+                .build();
+        gymEventRequest = GymEventRequest.builder()
+                .startTime(BenchmarkData.START_TIME)
+                .endTime(BenchmarkData.START_TIME.plusHours(1))
+                .participantsLimit(20)
+                .fitnessClassId(1L)
+                .build();
+        trainerRequest = TrainerRequest.builder()
+                .id(1L)
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("trainer@email.com")
+                .description("description")
+                .build();
+        gymEvents = BenchmarkData.gymEvents(size);
+        appUser = BenchmarkData.appUser(1L);
+        appUser.getGymEvents().addAll(gymEvents);
+        appUsers = BenchmarkData.appUsers(size);
+        gymEvent = BenchmarkData.gymEvent(1L, appUsers, size);
+        trainers = BenchmarkData.fitnessClass(1L).getTrainers();
+    }
+
+    @Benchmark
+    public AppUser appUserRequestToAppUserCreate() {
+        return AppUserMapper.mapAppUserRequestToAppUserCreate(appUserRequest);
+    }
+
+    @Benchmark
+    public AppUser appUserRequestToAppUserUpdate() {
+        return AppUserMapper.mapAppUserRequestToAppUserUpdate(appUserRequest);
+    }
+
+    @Benchmark
+    public AppUserResponse appUserToAppUserResponse() {
+        return AppUserMapper.mapAppUserToAppUserResponse(appUser);
+    }
+
+    @Benchmark
+    public List<AppUserResponse> appUserListToAppUserResponseList() {
+        return AppUserMapper.mapAppUserListToAppUserResponseList(appUsers);
+    }
+
+    @Benchmark
+    public FitnessClass fitnessClassRequestToFitnessClassCreate() {
+        return FitnessClassMapper.mapFitnessClassRequestToFitnessClassCreate(fitnessClassRequest);
+    }
+
+    @Benchmark
+    public FitnessClass fitnessClassRequestToFitnessClassUpdate() {
+        return FitnessClassMapper.mapFitnessClassRequestToFitnessClassUpdate(fitnessClassRequest, trainers);
+    }
+
+    @Benchmark
+    public GymEvent gymEventRequestToGymEvent() {
+        return GymEventMapper.mapGymEventRequestToGymEvent(gymEventRequest);
+    }
+
+    @Benchmark
+    public List<GymEventResponse> gymEventListToGymEventResponseList() {
+        return GymEventMapper.mapGymEventListToGymEventResponseList(gymEvents);
+    }
+
+    @Benchmark
+    public GymEventResponse gymEventToGymEventResponse() {
+        return GymEventMapper.mapGymEventToGymEventResponse(gymEvent);
+    }
+
+    @Benchmark
+    public GymEventResponse gymEventToGymEventResponseMng() {
+        return GymEventMapper.mapGymEventToGymEventResponseMng(gymEvent);
+    }
+
+    @Benchmark
+    public Trainer trainerRequestToTrainerCreate() {
+        return TrainerMapper.mapTrainerRequestToTrainerCreate(trainerRequest);
+    }
+
+    @Benchmark
+    public Trainer trainerRequestToTrainerUpdate() {
+        return TrainerMapper.mapTrainerRequestToTrainerUpdate(trainerRequest);
+    }
+}
@@ -0,0 +1,53 @@
+package com.junior.company.fitness_studio_management.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Milliseconds one core spends hashing (registration) and verifying (login) a password for each BCrypt strength,
+ * the input for choosing security.password-hashing.bcrypt-strength on a given machine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"10", "11", "12", "13"})
+    private int strength;
+
+    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        bCryptPasswordEncoder = new BCryptPasswordEncoder(strength);
+        encodedPassword = bCryptPasswordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return bCryptPasswordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return bCryptPasswordEncoder.matches(PASSWORD, encodedPassword);
+    }
+}
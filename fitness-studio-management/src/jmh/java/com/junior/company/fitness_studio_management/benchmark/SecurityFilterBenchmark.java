@@ -0,0 +1,152 @@
+package com.junior.company.fitness_studio_management.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.fitness_studio_management.security.CustomAuthorizationFilter;
+import com.junior.company.fitness_studio_management.security.JwtTokenService;
+import com.junior.company.fitness_studio_management.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Per-request cost of the authorization filter, comparing the previous implementation
+ * (algorithm, verifier and ObjectMapper built on every request) with the shared {@link JwtTokenService},
+ * with and without the {@link VerifiedTokenCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityFilterBenchmark {
+
+    private static final String SECRET_KEY = "benchmark-secret-key";
+
+    private OncePerRequestFilter legacyFilter;
+    private OncePerRequestFilter sharedServiceFilter;
+    private OncePerRequestFilter cachingServiceFilter;
+    private String validAuthorizationHeader;
+    private String invalidAuthorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtTokenService jwtTokenService = new JwtTokenService(SECRET_KEY);
+        legacyFilter = new LegacyAuthorizationFilter();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sharedServiceFilter = new CustomAuthorizationFilter(jwtTokenService, meterRegistry);
+        cachingServiceFilter = new CustomAuthorizationFilter(
+                new JwtTokenService(SECRET_KEY, new VerifiedTokenCache(1000)), meterRegistry);
+        String token = jwtTokenService.createAccessToken(
+                "user", List.of("ROLE_USER"), "http://localhost:8080/api/v1/login");
+        validAuthorizationHeader = "Bearer " + token;
+        invalidAuthorizationHeader = "Bearer " + token.substring(0, token.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyValidToken() throws Exception {
+        return filter(legacyFilter, validAuthorizationHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse sharedServiceValidToken() throws Exception {
+        return filter(sharedServiceFilter, validAuthorizationHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse cachingServiceValidToken() throws Exception {
+        return filter(cachingServiceFilter, validAuthorizationHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyInvalidToken() throws Exception {
+        return filter(legacyFilter, invalidAuthorizationHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse sharedServiceInvalidToken() throws Exception {
+        return filter(sharedServiceFilter, invalidAuthorizationHeader);
+    }
+
+    private static MockHttpServletResponse filter(OncePerRequestFilter filter, String authorizationHeader)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users");
+        request.setServletPath("/api/v1/users");
+        request.addHeader(AUTHORIZATION, authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    /**
+     * The authorization filter as it was before {@link JwtTokenService} was introduced.
+     */
+    private static class LegacyAuthorizationFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            String authorizationHeader = request.getHeader(AUTHORIZATION);
+            try {
+                String token = authorizationHeader.substring("Bearer ".length());
+                Algorithm algorithm = Algorithm.HMAC256(SECRET_KEY);
+                JWTVerifier verifier = JWT.require(algorithm).build();
+                DecodedJWT decodedJWT = verifier.verify(token);
+                String username = decodedJWT.getSubject();
+                String[] roles = decodedJWT.getClaim("roles").asArray(String.class);
+                Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
+                Arrays.stream(roles).forEach(role ->
+                        authorities.add(new SimpleGrantedAuthority(role)));
+                UsernamePasswordAuthenticationToken authenticationToken =
+                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                filterChain.doFilter(request, response);
+            } catch (Exception e) {
+                response.setHeader("error", e.getMessage());
+                response.setStatus(403);
+                Map<String, String> error = new HashMap<>();
+                error.put("error_message", e.getMessage());
+                response.setContentType("application/json");
+                new ObjectMapper().writeValue(response.getOutputStream(), error);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.junior.company.fitness_studio_management.benchmark;
+
+import com.junior.company.fitness_studio_management.dto.AppUserRequest;
+import com.junior.company.fitness_studio_management.validation.DifficultyLevelValidator;
+import com.junior.company.fitness_studio_management.validation.EmailValidator;
+import com.junior.company.fitness_studio_management.validation.FieldMatch;
+import com.junior.company.fitness_studio_management.validation.FieldMatchValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The custom bean validation constraints, called the way Hibernate Validator calls them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+
+    // The expression EmailValidator compiled on every call before it was precompiled.
+    private static final String LEGACY_EMAIL_PATTERN = "^[_A-Za-z0-9-\\+]+(\\.[_A-Za-z0-9-]+)*@"
+            + "[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$";
+
+    private EmailValidator emailValidator;
+    private DifficultyLevelValidator difficultyLevelValidator;
+    private FieldMatchValidator fieldMatchValidator;
+    private AppUserRequest appUserRequest;
+
+    @Setup
+    public void setUp() {
+        emailValidator = new EmailValidator();
+        difficultyLevelValidator = new DifficultyLevelValidator();
+        fieldMatchValidator = new FieldMatchValidator();
+        fieldMatchValidator.initialize(
+                AppUserRequest.class.getAnnotation(FieldMatch.List.class).value()[0]);
+        appUserRequest = AppUserRequest.builder()
+                .username("username")
+                .password("password")
+                .matchingPassword("password")
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("email@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .build();
+    }
+
+    @Benchmark
+    public boolean emailValid() {
+        return emailValidator.isValid("first+tag.last@sub.example.com", null);
+    }
+
+    @Benchmark
+    public boolean emailInvalid() {
+        return emailValidator.isValid("first.last@example", null);
+    }
+
+    @Benchmark
+    public boolean legacyEmailValid() {
+        return Pattern.compile(LEGACY_EMAIL_PATTERN).matcher("first+tag.last@sub.example.com").matches();
+    }
+
+    @Benchmark
+    public boolean legacyEmailInvalid() {
+        return Pattern.compile(LEGACY_EMAIL_PATTERN).matcher("first.last@example").matches();
+    }
+
+    @Benchmark
+    public boolean difficultyLevel() {
+        return difficultyLevelValidator.isValid("INTERMEDIATE", null);
+    }
+
+    @Benchmark
+    public boolean fieldMatch() {
+        return fieldMatchValidator.isValid(appUserRequest, null);
+    }
+}
@@ -1,9 +1,11 @@
 package com.junior.company.fitness_studio_management;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.autoconfigure.metrics.data.RepositoryMetricsAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+// Its post-processor creates the meter registry before the common tags and histogram settings are applied to it
+@SpringBootApplication(exclude = RepositoryMetricsAutoConfiguration.class)
 public class FitnessStudioManagementApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,39 @@
+package com.junior.company.fitness_studio_management.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.GYM_EVENTS_CACHE;
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.GYM_EVENT_PAGES_CACHE;
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.TRAINERS_CACHE;
+
+/**
+ * Caches the responses of the public gym event and trainer lookups. Entries expire after the configured time
+ * and are evicted by every write that changes them; the evictions are deferred until the writing transaction
+ * commits, so a concurrent read cannot cache the state from before the commit for longer than one expiry.
+ * Without {@code response-cache.enabled=true} the cache annotations are ignored.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "response-cache.enabled", havingValue = "true")
+public class CacheConfig {
+
+    @Value("${response-cache.spec:maximumSize=10000,expireAfterWrite=30s}")
+    private String cacheSpec;
+
+    // the caches are created up front, so the actuator binds their hit and miss counts as cache_gets_total
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(GYM_EVENTS_CACHE, GYM_EVENT_PAGES_CACHE, TRAINERS_CACHE);
+        cacheManager.setCaffeine(Caffeine.from(cacheSpec).recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,12 @@
+package com.junior.company.fitness_studio_management.cache;
+
+public final class CacheConstants {
+
+    private CacheConstants() {
+    }
+
+    public static final String GYM_EVENTS_CACHE = "gym-events";
+    public static final String GYM_EVENT_PAGES_CACHE = "gym-event-pages";
+    public static final String TRAINERS_CACHE = "trainers";
+    public static final String ALL_TRAINERS_KEY = "'all'";
+}
@@ -1,11 +1,14 @@
 package com.junior.company.fitness_studio_management.controller;
 
 import com.junior.company.fitness_studio_management.dto.AppUserRequest;
+import com.junior.company.fitness_studio_management.dto.ExportFormat;
 import com.junior.company.fitness_studio_management.model.Response;
 import com.junior.company.fitness_studio_management.service.AppUserService;
+import com.junior.company.fitness_studio_management.service.ExportService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,10 +19,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -33,6 +39,7 @@ import static com.junior.company.fitness_studio_management.swagger.SwaggerConsta
 public class AppUserController {
 
     private final AppUserService appUserService;
+    private final ExportService exportService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -48,6 +55,19 @@ public class AppUserController {
                 .build());
     }
 
+    @GetMapping("export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Export all users", notes = "Available for ADMIN\n\n" +
+            "Streams all users with their roles ordered by id, as newline-delimited JSON (format=NDJSON, default) " +
+            "or as CSV with a header row (format=CSV). Rows are written while they are read from the database.")
+    public void exportUsers(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=users." + format.getFileExtension());
+        exportService.exportUsers(format, response.getOutputStream());
+    }
+
     @GetMapping("{userId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @ApiOperation(value = "Get an user by id", notes = "Available for ADMIN, USER\n\n" +
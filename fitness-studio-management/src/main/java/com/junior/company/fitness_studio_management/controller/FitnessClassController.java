@@ -2,10 +2,13 @@ package com.junior.company.fitness_studio_management.controller;
 
 import com.junior.company.fitness_studio_management.dto.FitnessClassRequest;
 import com.junior.company.fitness_studio_management.model.Response;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
 import com.junior.company.fitness_studio_management.service.FitnessClassService;
+import com.junior.company.fitness_studio_management.service.ResourceVersionService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -34,12 +38,20 @@ import static com.junior.company.fitness_studio_management.swagger.SwaggerConsta
 public class FitnessClassController {
 
     private final FitnessClassService fitnessClassService;
+    private final ResourceVersionService resourceVersionService;
 
     @GetMapping
     @ApiOperation(value = "Get a list of all fitness classes", notes = "Available for ADMIN\n\n" +
             "Allows to view a list of all fitness classes registered in the system.")
-    public ResponseEntity<Response> findAllFitnessClasses() {
-        return ResponseEntity.ok(Response.builder()
+    public ResponseEntity<Response> findAllFitnessClasses(WebRequest webRequest) {
+        String eTag = fitnessClassesETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(eTag)
+                    .build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
@@ -51,8 +63,15 @@ public class FitnessClassController {
     @GetMapping("{fitnessClassId}")
     @ApiOperation(value = "Get a fitness class by id", notes = "Available for ADMIN\n\n" +
             "Allows to view a fitness class by id.")
-    public ResponseEntity<Response> findFitnessClassById(@PathVariable Long fitnessClassId) {
-        return ResponseEntity.ok(Response.builder()
+    public ResponseEntity<Response> findFitnessClassById(@PathVariable Long fitnessClassId, WebRequest webRequest) {
+        String eTag = fitnessClassesETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(eTag)
+                    .build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
@@ -129,4 +148,8 @@ public class FitnessClassController {
                 .build());
     }
 
+    private String fitnessClassesETag() {
+        return String.format("\"fitness-classes-%s\"",
+                resourceVersionService.findVersion(VersionedResource.FITNESS_CLASSES));
+    }
 }
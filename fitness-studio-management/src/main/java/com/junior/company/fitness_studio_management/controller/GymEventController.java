@@ -1,11 +1,20 @@
 package com.junior.company.fitness_studio_management.controller;
 
+import com.junior.company.fitness_studio_management.dto.ExportFormat;
+import com.junior.company.fitness_studio_management.dto.GymEventPageResponse;
+import com.junior.company.fitness_studio_management.dto.GymEventRecurrenceRequest;
 import com.junior.company.fitness_studio_management.dto.GymEventRequest;
 import com.junior.company.fitness_studio_management.model.Response;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
+import com.junior.company.fitness_studio_management.service.ExportService;
 import com.junior.company.fitness_studio_management.service.GymEventService;
+import com.junior.company.fitness_studio_management.service.ResourceVersionService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,12 +24,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.GYM_EVENTS_API_TAG;
@@ -31,26 +46,72 @@ import static com.junior.company.fitness_studio_management.swagger.SwaggerConsta
 @Api(tags = {GYM_EVENTS_API_TAG})
 public class GymEventController {
 
+    private static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm";
+
     private final GymEventService gymEventService;
+    private final ExportService exportService;
+    private final ResourceVersionService resourceVersionService;
 
     @GetMapping
-    @ApiOperation(value = "Get a list of all gym events", notes = "Available for EVERYONE\n\n" +
-            "Allows to view a list of all gym events registered in the system sorted by their start time.")
-    public ResponseEntity<Response> findAllGymEvents() {
-        return ResponseEntity.ok(Response.builder()
+    @ApiOperation(value = "Get a page of gym events", notes = "Available for EVERYONE\n\n" +
+            "Allows to view gym events starting between 'from' (default: start of today) and 'to' " +
+            "(default: 28 days after 'from'), sorted by their start time. " +
+            "The next page is requested with the returned cursor (cursorStartTime and cursorId).")
+    public ResponseEntity<Response> findAllGymEvents(
+            @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_PATTERN) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_PATTERN) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_PATTERN) LocalDateTime cursorStartTime,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        String eTag = gymEventPageETag(from);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(eTag)
+                    .build();
+        }
+
+        GymEventPageResponse gymEventPage = gymEventService.findAllGymEvents(from, to, cursorStartTime, cursorId, size);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("gym_events", gymEventPage.getGymEvents());
+        if (gymEventPage.getNextCursor() != null) {
+            data.put("next_cursor", gymEventPage.getNextCursor());
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(eTag).body(Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
-                .message("Retrieved list of gym events")
-                .data(Map.of("gym_events", gymEventService.findAllGymEvents()))
+                .message("Retrieved page of gym events")
+                .data(data)
                 .build());
     }
 
+    @GetMapping("export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Export all gym events", notes = "Available for ADMIN\n\n" +
+            "Streams all gym events ordered by id, as newline-delimited JSON (format=NDJSON, default) " +
+            "or as CSV with a header row (format=CSV). Rows are written while they are read from the database.")
+    public void exportGymEvents(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=gym-events." + format.getFileExtension());
+        exportService.exportGymEvents(format, response.getOutputStream());
+    }
+
     @GetMapping("{gymEventId}")
     @ApiOperation(value = "Get a gym event by id", notes = "Available for EVERYONE\n\n" +
             "Allows to view a gym event by id.")
-    public ResponseEntity<Response> findGymEventById(@PathVariable Long gymEventId) {
-        return ResponseEntity.ok(Response.builder()
+    public ResponseEntity<Response> findGymEventById(@PathVariable Long gymEventId, WebRequest webRequest) {
+        String eTag = gymEventsETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(eTag)
+                    .build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(eTag).body(Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
@@ -89,6 +150,25 @@ public class GymEventController {
                 .build());
     }
 
+    @PostMapping("recurring")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Create a weekly schedule of gym events", notes = "Available for ADMIN\n\n" +
+            "Allows to register one gym event on every selected day of the week between the first and the last day, " +
+            "all at the same time and of the same fitness class. The first event cannot be in the past. " +
+            "Returns the number of created gym events with the start times of the first and the last one.")
+    public ResponseEntity<Response> createRecurringGymEvents(
+            @Valid @RequestBody GymEventRecurrenceRequest recurrenceRequest) {
+        URI uri = URI.create(ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/gym-events").toUriString());
+        return ResponseEntity.created(uri).body(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CREATED)
+                .statusCode(HttpStatus.CREATED.value())
+                .message("Created recurring gym events")
+                .data(Map.of("recurrence", gymEventService.createRecurringGymEvents(recurrenceRequest)))
+                .build());
+    }
+
     @DeleteMapping("{gymEventId}")
     @PreAuthorize("hasRole('ADMIN')")
     @ApiOperation(value = "Delete an existing gym event by id", notes = "Available for ADMIN\n\n" +
@@ -132,4 +212,46 @@ public class GymEventController {
                 .data(Map.of("is_disenrolled", gymEventService.disenrollUser(gymEventId)))
                 .build());
     }
+
+    @PostMapping("waitlist/{gymEventId}")
+    @PreAuthorize("hasRole('USER')")
+    @ApiOperation(value = "Join the waitlist of a gym event", notes = "Available for USER\n\n" +
+            "Allows the current logged user to queue for a seat in a full gym event that has not started. " +
+            "When an enrolled user disenrolls, the first user on the waitlist is enrolled in their place. " +
+            "Returns the position on the waitlist, starting from 1.")
+    public ResponseEntity<Response> joinWaitlist(@PathVariable Long gymEventId) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Joined waitlist of event")
+                .data(Map.of("waitlist_position", gymEventService.joinWaitlist(gymEventId)))
+                .build());
+    }
+
+    @GetMapping("waitlist/{gymEventId}")
+    @PreAuthorize("hasRole('USER')")
+    @ApiOperation(value = "Get the waitlist position in a gym event", notes = "Available for USER\n\n" +
+            "Allows the current logged user to view their position on the waitlist of a gym event, starting from 1.")
+    public ResponseEntity<Response> findWaitlistPosition(@PathVariable Long gymEventId) {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved waitlist position in event with id: %s", gymEventId))
+                .data(Map.of("waitlist_position", gymEventService.findWaitlistPosition(gymEventId)))
+                .build());
+    }
+
+    private String gymEventsETag() {
+        return String.format("\"gym-events-%s\"", resourceVersionService.findVersion(VersionedResource.GYM_EVENTS));
+    }
+
+    // without 'from' the window starts today, so the same request lists other gym events the next day
+    private String gymEventPageETag(LocalDateTime from) {
+        return from != null
+                ? gymEventsETag()
+                : String.format("\"gym-events-%s-%s\"",
+                resourceVersionService.findVersion(VersionedResource.GYM_EVENTS), LocalDate.now());
+    }
 }
@@ -0,0 +1,83 @@
+package com.junior.company.fitness_studio_management.controller;
+
+import com.junior.company.fitness_studio_management.model.Response;
+import com.junior.company.fitness_studio_management.service.OccupancyService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.REPORTS_API_TAG;
+
+@RestController
+@RequestMapping("api/v1/reports/occupancy")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Api(tags = {REPORTS_API_TAG})
+public class ReportController {
+
+    private final OccupancyService occupancyService;
+
+    @GetMapping("fitness-classes")
+    @ApiOperation(value = "Get occupancy of fitness classes", notes = "Available for ADMIN\n\n" +
+            "Allows to view the number of gym events, offered seats, taken seats and fill rate of every fitness class. " +
+            "The totals are updated shortly after each change.")
+    public ResponseEntity<Response> findOccupancyByFitnessClass() {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved occupancy of fitness classes")
+                .data(Map.of("occupancy", occupancyService.findOccupancyByFitnessClass()))
+                .build());
+    }
+
+    @GetMapping("trainers")
+    @ApiOperation(value = "Get occupancy of trainers", notes = "Available for ADMIN\n\n" +
+            "Allows to view the occupancy of the gym events of the fitness classes each trainer is currently assigned to.")
+    public ResponseEntity<Response> findOccupancyByTrainer() {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved occupancy of trainers")
+                .data(Map.of("occupancy", occupancyService.findOccupancyByTrainer()))
+                .build());
+    }
+
+    @GetMapping("time-slots")
+    @ApiOperation(value = "Get occupancy of time slots", notes = "Available for ADMIN\n\n" +
+            "Allows to view the occupancy of gym events grouped by the day of the week (1 is Monday) and hour they start at.")
+    public ResponseEntity<Response> findOccupancyByTimeSlot() {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved occupancy of time slots")
+                .data(Map.of("occupancy", occupancyService.findOccupancyByTimeSlot()))
+                .build());
+    }
+
+    @PostMapping("rebuild")
+    @ApiOperation(value = "Rebuild occupancy totals", notes = "Available for ADMIN\n\n" +
+            "Recomputes the occupancy totals from all gym events, e.g. after a failed update or a data migration. " +
+            "Returns the number of processed gym events.")
+    public ResponseEntity<Response> rebuildOccupancy() {
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Rebuilt occupancy totals")
+                .data(Map.of("processed_gym_events", occupancyService.rebuildOccupancy()))
+                .build());
+    }
+}
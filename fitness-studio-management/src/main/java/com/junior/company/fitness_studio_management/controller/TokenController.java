@@ -0,0 +1,68 @@
+package com.junior.company.fitness_studio_management.controller;
+
+import com.junior.company.fitness_studio_management.dto.RefreshTokenRequest;
+import com.junior.company.fitness_studio_management.model.Response;
+import com.junior.company.fitness_studio_management.security.JwtTokenService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.TOKENS_API_TAG;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+@RestController
+@RequestMapping("api/v1/token")
+@RequiredArgsConstructor
+@Api(tags = {TOKENS_API_TAG})
+public class TokenController {
+
+    private final JwtTokenService jwtTokenService;
+
+    @PostMapping("refresh")
+    @ApiOperation(value = "Refresh access token", notes = "Available for EVERYONE\n\n" +
+            "Allows to obtain a new access token with the refresh token returned by the login, " +
+            "without sending the password again. The refresh token must be valid and not revoked.")
+    public ResponseEntity<Response> refreshAccessToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest,
+                                                       HttpServletRequest request) {
+        String accessToken = jwtTokenService.refreshAccessToken(
+                refreshTokenRequest.getRefreshToken(), request.getRequestURL().toString());
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Refreshed access token")
+                .data(Map.of(
+                        "access_token", accessToken,
+                        "expires_in", jwtTokenService.getAccessTokenTtl().getSeconds()))
+                .build());
+    }
+
+    @PostMapping("revoke")
+    @ApiOperation(value = "Revoke tokens", notes = "Available for ADMIN, USER\n\n" +
+            "Allows to log out by revoking the given refresh token and the access token of the request. " +
+            "Both are rejected from then on until they expire.")
+    public ResponseEntity<Response> revokeTokens(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest,
+                                                 @RequestHeader(AUTHORIZATION) String authorizationHeader) {
+        jwtTokenService.revokeToken(refreshTokenRequest.getRefreshToken());
+        jwtTokenService.revokeToken(authorizationHeader.substring("Bearer ".length()));
+        return ResponseEntity.ok(Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Revoked tokens")
+                .data(Map.of("is_revoked", true))
+                .build());
+    }
+}
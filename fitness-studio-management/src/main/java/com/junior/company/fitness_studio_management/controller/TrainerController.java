@@ -2,10 +2,13 @@ package com.junior.company.fitness_studio_management.controller;
 
 import com.junior.company.fitness_studio_management.dto.TrainerRequest;
 import com.junior.company.fitness_studio_management.model.Response;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
+import com.junior.company.fitness_studio_management.service.ResourceVersionService;
 import com.junior.company.fitness_studio_management.service.TrainerService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -33,12 +37,20 @@ import static com.junior.company.fitness_studio_management.swagger.SwaggerConsta
 public class TrainerController {
 
     private final TrainerService trainerService;
+    private final ResourceVersionService resourceVersionService;
 
     @GetMapping
     @ApiOperation(value = "Get a list of all trainers", notes = "Available for EVERYONE\n\n" +
             "Allows to view a list of all trainers registered in the system.")
-    public ResponseEntity<Response> findAllTrainers() {
-        return ResponseEntity.ok(Response.builder()
+    public ResponseEntity<Response> findAllTrainers(WebRequest webRequest) {
+        String eTag = trainersETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(eTag)
+                    .build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(eTag).body(Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
@@ -51,8 +63,15 @@ public class TrainerController {
     @GetMapping("{trainerId}")
     @ApiOperation(value = "Get a trainer by id", notes = "Available for EVERYONE\n\n" +
             "Allows to view a trainer by id.")
-    public ResponseEntity<Response> findTrainerById(@PathVariable Long trainerId) {
-        return ResponseEntity.ok(Response.builder()
+    public ResponseEntity<Response> findTrainerById(@PathVariable Long trainerId, WebRequest webRequest) {
+        String eTag = trainersETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(eTag)
+                    .build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(eTag).body(Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
@@ -105,4 +124,8 @@ public class TrainerController {
                 .data(Map.of("is_deleted", trainerService.deleteTrainerById(trainerId)))
                 .build());
     }
+
+    private String trainersETag() {
+        return String.format("\"trainers-%s\"", resourceVersionService.findVersion(VersionedResource.TRAINERS));
+    }
 }
@@ -0,0 +1,14 @@
+package com.junior.company.fitness_studio_management.dto;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@Getter
+@SuperBuilder
+public class GymEventPageResponse {
+
+    private List<GymEventResponse> gymEvents;
+    private GymEventCursor nextCursor;
+}
@@ -0,0 +1,58 @@
+package com.junior.company.fitness_studio_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * Weekly schedule of a fitness class, e.g. every Monday, Wednesday and Friday from 18:00 to 19:00
+ * between two dates, which is expanded into one gym event per matching day.
+ */
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class GymEventRecurrenceRequest {
+
+    @NotNull(message = "Cannot be empty")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    @ApiModelProperty(notes = "First day of the schedule (yyyy-MM-dd)", example = "2022-12-01")
+    private LocalDate firstDay;
+
+    @NotNull(message = "Cannot be empty")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    @ApiModelProperty(notes = "Last day of the schedule, inclusive (yyyy-MM-dd)", example = "2023-05-31")
+    private LocalDate lastDay;
+
+    @NotEmpty(message = "Cannot be empty")
+    @ApiModelProperty(notes = "Days of the week on which events take place", example = "[\"MONDAY\", \"WEDNESDAY\", \"FRIDAY\"]")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "Cannot be empty")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    @ApiModelProperty(notes = "Start time of each event (HH:mm)", example = "18:00")
+    private LocalTime startTime;
+
+    @NotNull(message = "Cannot be empty")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    @ApiModelProperty(notes = "End time of each event (HH:mm)", example = "19:00")
+    private LocalTime endTime;
+
+    @Min(value = 1, message = "Must be min 1")
+    @NotNull(message = "Cannot be empty")
+    @ApiModelProperty(notes = "Limit of participants of each event", example = "20")
+    private int participantsLimit;
+
+    @NotNull(message = "Cannot be empty")
+    @ApiModelProperty(notes = "Id of fitness class involved in the events", example = "5")
+    private Long fitnessClassId;
+}
@@ -0,0 +1,25 @@
+package com.junior.company.fitness_studio_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Occupancy of one fitness class, trainer or time slot. Only the fields identifying the grouping are set,
+ * the fill rate is the share of seats taken and is missing when no seats were offered.
+ */
+@Getter
+@SuperBuilder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OccupancyResponse {
+
+    private Long fitnessClassId;
+    private Long trainerId;
+    private String name;
+    private Integer dayOfWeek;
+    private Integer startHour;
+    private long eventCount;
+    private long seatsTotal;
+    private long seatsTaken;
+    private Double fillRate;
+}
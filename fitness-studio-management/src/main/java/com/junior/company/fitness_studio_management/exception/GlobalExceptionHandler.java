@@ -1,6 +1,8 @@
 package com.junior.company.fitness_studio_management.exception;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.junior.company.fitness_studio_management.model.Response;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -71,6 +73,18 @@ public class GlobalExceptionHandler {
 
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Response> handleTrainerConflictException(TrainerConflictException tce) {
+
+        Response error = Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT)
+                .statusCode(HttpStatus.CONFLICT.value())
+                .message(tce.getMessage())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler
     public ResponseEntity<Response> handleNoPermissionException(PermissionDeniedException npe) {
 
@@ -82,4 +96,44 @@ public class GlobalExceptionHandler {
                 .build();
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler
+    public ResponseEntity<Response> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException phue) {
+
+        Response error = Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(phue.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(phue.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Response> handleTokenIssuingUnavailableException(TokenIssuingUnavailableException tiue) {
+
+        Response error = Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(tiue.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(tiue.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Response> handleJWTVerificationException(JWTVerificationException jve) {
+
+        Response error = Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNAUTHORIZED)
+                .statusCode(HttpStatus.UNAUTHORIZED.value())
+                .message(jve.getMessage())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
+    }
 }
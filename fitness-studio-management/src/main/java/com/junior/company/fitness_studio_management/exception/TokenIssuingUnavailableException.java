@@ -0,0 +1,15 @@
+package com.junior.company.fitness_studio_management.exception;
+
+public class TokenIssuingUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TokenIssuingUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
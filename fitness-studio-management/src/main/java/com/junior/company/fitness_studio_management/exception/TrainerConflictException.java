@@ -0,0 +1,8 @@
+package com.junior.company.fitness_studio_management.exception;
+
+public class TrainerConflictException extends RuntimeException {
+
+    public TrainerConflictException(String message) {
+        super(message);
+    }
+}
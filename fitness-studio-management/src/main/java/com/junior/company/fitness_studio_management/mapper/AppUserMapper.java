@@ -46,20 +46,24 @@ public class AppUserMapper {
                 .build();
     }
 
+    public static AppUserResponse mapAppUserToAppUserResponseMng(AppUser appUser) {
+
+        return AppUserResponse.builder()
+                .id(appUser.getId())
+                .username(appUser.getUsername())
+                .roles(appUser.getRoles())
+                .firstName(appUser.getFirstName())
+                .lastName(appUser.getLastName())
+                .email(appUser.getEmail())
+                .dob(appUser.getDob())
+                .isEnabled(appUser.isEnabled())
+                .build();
+    }
+
     public static List<AppUserResponse> mapAppUserListToAppUserResponseList(List<AppUser> appUsers) {
 
         return appUsers.stream()
-                .map((appUser) ->
-                        AppUserResponse.builder()
-                                .id(appUser.getId())
-                                .username(appUser.getUsername())
-                                .roles(appUser.getRoles())
-                                .firstName(appUser.getFirstName())
-                                .lastName(appUser.getLastName())
-                                .email(appUser.getEmail())
-                                .dob(appUser.getDob())
-                                .isEnabled(appUser.isEnabled())
-                                .build())
+                .map(AppUserMapper::mapAppUserToAppUserResponseMng)
                 .collect(Collectors.toList());
     }
 
@@ -47,6 +47,19 @@ public class GymEventMapper {
                 .build();
     }
 
+    public static GymEventResponse mapGymEventToGymEventResponseWithId(GymEvent gymEvent) {
+
+        return GymEventResponse.builder()
+                .id(gymEvent.getId())
+                .startTime(gymEvent.getStartTime())
+                .endTime(gymEvent.getEndTime())
+                .duration(gymEvent.getDuration())
+                .participantsLimit(gymEvent.getParticipantsLimit())
+                .currentParticipantsNumber(gymEvent.getCurrentParticipantsNumber())
+                .fitnessClass(gymEvent.getFitnessClass())
+                .build();
+    }
+
     public static GymEventResponse mapGymEventToGymEventResponseMng(GymEvent gymEvent) {
 
         return GymEventResponse.builder()
@@ -4,7 +4,11 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -13,11 +17,14 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.util.List;
 
 @Entity
 @Table(name = "fitness_class")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuperBuilder
 @Getter
 @NoArgsConstructor
@@ -25,7 +32,8 @@ import java.util.List;
 public class FitnessClass {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fitness_class_seq")
+    @SequenceGenerator(name = "fitness_class_seq", sequenceName = "fitness_class_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -42,6 +50,8 @@ public class FitnessClass {
     @JoinTable(name = "fitness_class_trainer",
             joinColumns = @JoinColumn(name = "fitness_class_id"),
             inverseJoinColumns = @JoinColumn(name = "trainer_id"))
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Trainer> trainers;
 
 
@@ -0,0 +1,61 @@
+package com.junior.company.fitness_studio_management.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+/**
+ * Running totals of the gym events of a fitness class that start on the same day of the week at the same hour.
+ * Reports are summed from these rows, so their cost does not depend on the number of gym events.
+ */
+@Entity
+@Table(name = "fitness_class_occupancy",
+        uniqueConstraints = @UniqueConstraint(name = "UQ_fitness_class_occupancy_slot",
+                columnNames = {"fitness_class_id", "day_of_week", "start_hour"}))
+@SuperBuilder
+@Getter
+@NoArgsConstructor
+public class FitnessClassOccupancy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "fitness_class_id")
+    private Long fitnessClassId;
+
+    // ISO numbering, 1 is Monday
+    @Column(name = "day_of_week")
+    private int dayOfWeek;
+
+    @Column(name = "start_hour")
+    private int startHour;
+
+    @Column(name = "event_count")
+    private long eventCount;
+
+    @Column(name = "seats_total")
+    private long seatsTotal;
+
+    @Column(name = "seats_taken")
+    private long seatsTaken;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "fitness_class_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private FitnessClass fitnessClass;
+}
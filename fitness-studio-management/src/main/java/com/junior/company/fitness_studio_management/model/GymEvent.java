@@ -1,5 +1,6 @@
 package com.junior.company.fitness_studio_management.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -10,25 +11,32 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "gym_event")
+@Table(name = "gym_event",
+        indexes = {
+                @Index(name = "IX_gym_event_start_time_id", columnList = "start_time, id"),
+                @Index(name = "IX_gym_event_fitness_class_start_time", columnList = "fitness_class_id, start_time")})
 @SuperBuilder
 @Getter
 @NoArgsConstructor
 public class GymEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gym_event_seq")
+    @SequenceGenerator(name = "gym_event_seq", sequenceName = "gym_event_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -48,10 +56,16 @@ public class GymEvent {
     @Column(name = "current_participants_number")
     private int currentParticipantsNumber = 0;
 
+    // last waitlist ticket issued for this event, incremented under the row lock of the event
+    @Column(name = "waitlist_tail")
+    @Getter(AccessLevel.NONE)
+    private long waitlistTail;
+
     @ManyToMany
     @JoinTable(name = "event_user",
             joinColumns = @JoinColumn(name = "gym_event_id"),
-            inverseJoinColumns = @JoinColumn(name = "app_user_id"))
+            inverseJoinColumns = @JoinColumn(name = "app_user_id"),
+            uniqueConstraints = @UniqueConstraint(columnNames = {"gym_event_id", "app_user_id"}))
     private List<AppUser> enrolledParticipants;
 
     @ManyToOne
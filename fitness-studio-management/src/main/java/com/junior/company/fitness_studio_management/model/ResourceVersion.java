@@ -0,0 +1,32 @@
+package com.junior.company.fitness_studio_management.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Modification counter of a resource, incremented in the same transaction as every change to it.
+ * The counter is the version stamp of the resource's ETags.
+ */
+@Entity
+@Table(name = "resource_version")
+@SuperBuilder
+@Getter
+@NoArgsConstructor
+public class ResourceVersion {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource")
+    private VersionedResource resource;
+
+    @Column(name = "version")
+    private long version;
+}
@@ -0,0 +1,7 @@
+package com.junior.company.fitness_studio_management.model;
+
+public enum VersionedResource {
+    GYM_EVENTS,
+    TRAINERS,
+    FITNESS_CLASSES
+}
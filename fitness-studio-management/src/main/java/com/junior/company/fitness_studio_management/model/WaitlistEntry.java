@@ -0,0 +1,65 @@
+package com.junior.company.fitness_studio_management.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+
+/**
+ * A user waiting for a seat in a full gym event. Tickets are numbered per gym event in joining order,
+ * and the position of an entry is its ticket minus the lowest ticket still waiting, plus one.
+ * Tickets can have gaps: deleting a user or enrolling them in a freed seat removes their entry from the
+ * middle of the queue, and a ticket issued to a duplicate join is never used. A position is therefore an upper bound, exact
+ * while no entry behind the head has left the queue.
+ */
+@Entity
+@Table(name = "waitlist_entry",
+        uniqueConstraints = @UniqueConstraint(name = "UQ_waitlist_entry_gym_event_app_user",
+                columnNames = {"gym_event_id", "app_user_id"}),
+        indexes = @Index(name = "IX_waitlist_entry_gym_event_ticket", columnList = "gym_event_id, ticket"))
+@SuperBuilder
+@Getter
+@NoArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "gym_event_id")
+    private Long gymEventId;
+
+    @Column(name = "app_user_id")
+    private Long appUserId;
+
+    @Column(name = "ticket")
+    private long ticket;
+
+    @Column(name = "joined_at")
+    private LocalDateTime joinedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "gym_event_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private GymEvent gymEvent;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "app_user_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private AppUser appUser;
+}
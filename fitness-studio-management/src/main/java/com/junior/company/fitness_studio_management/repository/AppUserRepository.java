@@ -1,10 +1,22 @@
 package com.junior.company.fitness_studio_management.repository;
 
 import com.junior.company.fitness_studio_management.model.AppUser;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
@@ -12,4 +24,21 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     Optional<AppUser> findByUsername(String username);
 
     Optional<AppUser> findByEmail(String email);
+
+    @Modifying
+    @Query("UPDATE AppUser u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT DISTINCT u FROM AppUser u")
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<AppUser> findAllWithRoles();
+
+    // ordered by id, so the scrolled rows of one user and their roles are adjacent and come out as one entity
+    @Query("SELECT u FROM AppUser u LEFT JOIN FETCH u.roles ORDER BY u.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<AppUser> streamAllWithRoles();
+
+    @EntityGraph(attributePaths = {"gymEvents", "gymEvents.fitnessClass"})
+    Optional<AppUser> findWithGymEventsById(Long appUserId);
 }
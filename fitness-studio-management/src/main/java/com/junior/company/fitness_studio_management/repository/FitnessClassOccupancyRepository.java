@@ -0,0 +1,45 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import com.junior.company.fitness_studio_management.model.FitnessClassOccupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FitnessClassOccupancyRepository extends JpaRepository<FitnessClassOccupancy, Long>,
+        FitnessClassOccupancyRepositoryCustom {
+
+    @Modifying
+    @Query("UPDATE FitnessClassOccupancy o SET o.eventCount = o.eventCount + :eventCountDelta, " +
+            "o.seatsTotal = o.seatsTotal + :seatsTotalDelta, o.seatsTaken = o.seatsTaken + :seatsTakenDelta " +
+            "WHERE o.fitnessClassId = :fitnessClassId AND o.dayOfWeek = :dayOfWeek AND o.startHour = :startHour")
+    int addToSlot(@Param("fitnessClassId") Long fitnessClassId,
+                  @Param("dayOfWeek") int dayOfWeek,
+                  @Param("startHour") int startHour,
+                  @Param("eventCountDelta") long eventCountDelta,
+                  @Param("seatsTotalDelta") long seatsTotalDelta,
+                  @Param("seatsTakenDelta") long seatsTakenDelta);
+
+    @Query("SELECT o.fitnessClassId AS fitnessClassId, f.name AS name, SUM(o.eventCount) AS eventCount, " +
+            "SUM(o.seatsTotal) AS seatsTotal, SUM(o.seatsTaken) AS seatsTaken " +
+            "FROM FitnessClassOccupancy o JOIN o.fitnessClass f " +
+            "GROUP BY o.fitnessClassId, f.name ORDER BY o.fitnessClassId")
+    List<OccupancyTotals> sumByFitnessClass();
+
+    // attributed through the current trainer assignments of each fitness class
+    @Query("SELECT t.id AS trainerId, CONCAT(t.firstName, ' ', t.lastName) AS name, SUM(o.eventCount) AS eventCount, " +
+            "SUM(o.seatsTotal) AS seatsTotal, SUM(o.seatsTaken) AS seatsTaken " +
+            "FROM FitnessClassOccupancy o JOIN o.fitnessClass f JOIN f.trainers t " +
+            "GROUP BY t.id, t.firstName, t.lastName ORDER BY t.id")
+    List<OccupancyTotals> sumByTrainer();
+
+    @Query("SELECT o.dayOfWeek AS dayOfWeek, o.startHour AS startHour, SUM(o.eventCount) AS eventCount, " +
+            "SUM(o.seatsTotal) AS seatsTotal, SUM(o.seatsTaken) AS seatsTaken " +
+            "FROM FitnessClassOccupancy o " +
+            "GROUP BY o.dayOfWeek, o.startHour ORDER BY o.dayOfWeek, o.startHour")
+    List<OccupancyTotals> sumByTimeSlot();
+}
@@ -0,0 +1,7 @@
+package com.junior.company.fitness_studio_management.repository;
+
+public interface FitnessClassOccupancyRepositoryCustom {
+
+    int insertSlot(Long fitnessClassId, int dayOfWeek, int startHour,
+                   long eventCount, long seatsTotal, long seatsTaken);
+}
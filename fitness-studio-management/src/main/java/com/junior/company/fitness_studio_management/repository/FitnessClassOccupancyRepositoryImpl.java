@@ -0,0 +1,25 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+
+@RequiredArgsConstructor
+public class FitnessClassOccupancyRepositoryImpl implements FitnessClassOccupancyRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Plain JDBC, as the totals are written in the transaction of the change: a slot inserted concurrently only
+    // fails this statement, so the caller can add to that row instead of rolling the change back.
+    @Override
+    public int insertSlot(Long fitnessClassId, int dayOfWeek, int startHour,
+                          long eventCount, long seatsTotal, long seatsTaken) {
+        entityManager.flush();
+        return jdbcTemplate.update("INSERT INTO fitness_class_occupancy " +
+                        "(fitness_class_id, day_of_week, start_hour, event_count, seats_total, seats_taken) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                fitnessClassId, dayOfWeek, startHour, eventCount, seatsTotal, seatsTaken);
+    }
+}
@@ -1,9 +1,34 @@
 package com.junior.company.fitness_studio_management.repository;
 
 import com.junior.company.fitness_studio_management.model.FitnessClass;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+
 @Repository
 public interface FitnessClassRepository extends JpaRepository<FitnessClass, Long> {
+
+    @EntityGraph(attributePaths = "trainers")
+    @Query("SELECT DISTINCT f FROM FitnessClass f")
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<FitnessClass> findAllWithTrainers();
+
+    @EntityGraph(attributePaths = "trainers")
+    Optional<FitnessClass> findWithTrainersById(Long fitnessClassId);
+
+    // held until the transaction ends, so new gym events and new trainers of a fitness class are checked one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FitnessClass f WHERE f.id = :fitnessClassId")
+    Optional<FitnessClass> lockById(@Param("fitnessClassId") Long fitnessClassId);
 }
@@ -0,0 +1,8 @@
+package com.junior.company.fitness_studio_management.repository;
+
+public interface GymEventOccupancy extends GymEventSlot {
+
+    int getParticipantsLimit();
+
+    int getSeatsTaken();
+}
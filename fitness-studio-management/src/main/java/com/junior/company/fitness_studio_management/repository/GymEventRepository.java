@@ -1,9 +1,120 @@
 package com.junior.company.fitness_studio_management.repository;
 
 import com.junior.company.fitness_studio_management.model.GymEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
-public interface GymEventRepository extends JpaRepository<GymEvent, Long> {
+public interface GymEventRepository extends JpaRepository<GymEvent, Long>, GymEventRepositoryCustom {
+
+    @EntityGraph(attributePaths = {"fitnessClass", "fitnessClass.trainers"})
+    Optional<GymEvent> findWithFitnessClassById(Long gymEventId);
+
+    @EntityGraph(attributePaths = {"fitnessClass", "enrolledParticipants"})
+    Optional<GymEvent> findWithParticipantsById(Long gymEventId);
+
+    @EntityGraph(attributePaths = "fitnessClass")
+    @Query("SELECT g FROM GymEvent g " +
+            "WHERE g.startTime >= :from AND g.startTime < :to " +
+            "ORDER BY g.startTime, g.id")
+    List<GymEvent> findFirstPage(@Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 Pageable pageable);
+
+    @EntityGraph(attributePaths = "fitnessClass")
+    @Query("SELECT g FROM GymEvent g " +
+            "WHERE g.startTime >= :from AND g.startTime < :to " +
+            "AND (g.startTime > :cursorStartTime OR (g.startTime = :cursorStartTime AND g.id > :cursorId)) " +
+            "ORDER BY g.startTime, g.id")
+    List<GymEvent> findPageAfter(@Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 @Param("cursorStartTime") LocalDateTime cursorStartTime,
+                                 @Param("cursorId") Long cursorId,
+                                 Pageable pageable);
+
+    // forward-only cursor read in chunks of the fetch size, the caller detaches each event once it is written out
+    @Query("SELECT g FROM GymEvent g LEFT JOIN FETCH g.fitnessClass ORDER BY g.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<GymEvent> streamAllWithFitnessClass();
+
+    @Query("SELECT g.fitnessClass.id AS fitnessClassId, g.startTime AS startTime FROM GymEvent g WHERE g.id = :gymEventId")
+    Optional<GymEventSlot> findSlotById(@Param("gymEventId") Long gymEventId);
+
+    @Query("SELECT g.fitnessClass.id AS fitnessClassId, g.startTime AS startTime, " +
+            "g.participantsLimit AS participantsLimit, g.currentParticipantsNumber AS seatsTaken " +
+            "FROM GymEvent g WHERE g.fitnessClass IS NOT NULL")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<GymEventOccupancy> streamOccupancy();
+
+    List<GymEvent> findByFitnessClassIdAndStartTimeAfter(Long fitnessClassId, LocalDateTime startTime);
+
+    // the lower bound on start time keeps the (fitness_class_id, start_time) index scan bounded on both sides
+    @Query("SELECT DISTINCT t.id AS trainerId, g.id AS gymEventId, g.startTime AS startTime, g.endTime AS endTime " +
+            "FROM GymEvent g JOIN g.fitnessClass f JOIN f.trainers t " +
+            "WHERE t.id IN :trainerIds " +
+            "AND g.startTime > :earliestStart AND g.startTime < :end AND g.endTime > :start " +
+            "ORDER BY g.startTime")
+    List<TrainerBooking> findTrainerBookings(@Param("trainerIds") Collection<Long> trainerIds,
+                                             @Param("start") LocalDateTime start,
+                                             @Param("end") LocalDateTime end,
+                                             @Param("earliestStart") LocalDateTime earliestStart);
+
+    @Query(value = "SELECT COUNT(*) FROM event_user " +
+            "WHERE gym_event_id = :gymEventId AND app_user_id = :appUserId", nativeQuery = true)
+    long countParticipant(@Param("gymEventId") Long gymEventId, @Param("appUserId") Long appUserId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GymEvent g SET g.currentParticipantsNumber = g.currentParticipantsNumber + 1 " +
+            "WHERE g.id = :gymEventId " +
+            "AND g.currentParticipantsNumber < g.participantsLimit " +
+            "AND g.startTime > :now")
+    int claimSeat(@Param("gymEventId") Long gymEventId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GymEvent g SET g.currentParticipantsNumber = g.currentParticipantsNumber - 1 " +
+            "WHERE g.id = :gymEventId " +
+            "AND g.currentParticipantsNumber > 0")
+    int releaseSeat(@Param("gymEventId") Long gymEventId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GymEvent g SET g.waitlistTail = g.waitlistTail + 1 " +
+            "WHERE g.id = :gymEventId " +
+            "AND g.currentParticipantsNumber >= g.participantsLimit " +
+            "AND g.startTime > :now")
+    int issueWaitlistTicket(@Param("gymEventId") Long gymEventId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT g.waitlistTail FROM GymEvent g WHERE g.id = :gymEventId")
+    long findWaitlistTail(@Param("gymEventId") Long gymEventId);
+
+    // ordered by id, so concurrent releases lock the gym events in the same order
+    @Query(value = "SELECT eu.gym_event_id FROM event_user eu JOIN gym_event g ON g.id = eu.gym_event_id " +
+            "WHERE eu.app_user_id = :appUserId AND g.start_time > :now ORDER BY eu.gym_event_id", nativeQuery = true)
+    List<Long> findUpcomingGymEventIdsByParticipant(@Param("appUserId") Long appUserId,
+                                                    @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM event_user " +
+            "WHERE gym_event_id = :gymEventId AND app_user_id = :appUserId " +
+            "AND EXISTS (SELECT 1 FROM gym_event WHERE id = :gymEventId AND start_time > :now)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = "event_user"))
+    int deleteParticipant(@Param("gymEventId") Long gymEventId,
+                          @Param("appUserId") Long appUserId,
+                          @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,6 @@
+package com.junior.company.fitness_studio_management.repository;
+
+public interface GymEventRepositoryCustom {
+
+    int insertParticipant(Long gymEventId, Long appUserId);
+}
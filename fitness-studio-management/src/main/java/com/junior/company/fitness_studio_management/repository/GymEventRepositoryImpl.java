@@ -0,0 +1,22 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+
+@RequiredArgsConstructor
+public class GymEventRepositoryImpl implements GymEventRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Plain JDBC for the same reason as the waitlist insert: a duplicate participant only fails this statement,
+    // so the caller can undo its seat claim and answer instead of having the whole transaction marked rollback-only.
+    @Override
+    public int insertParticipant(Long gymEventId, Long appUserId) {
+        entityManager.flush();
+        return jdbcTemplate.update(
+                "INSERT INTO event_user (gym_event_id, app_user_id) VALUES (?, ?)", gymEventId, appUserId);
+    }
+}
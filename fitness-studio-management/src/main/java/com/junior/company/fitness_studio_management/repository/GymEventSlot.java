@@ -0,0 +1,10 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import java.time.LocalDateTime;
+
+public interface GymEventSlot {
+
+    Long getFitnessClassId();
+
+    LocalDateTime getStartTime();
+}
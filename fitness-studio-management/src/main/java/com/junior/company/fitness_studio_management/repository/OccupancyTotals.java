@@ -0,0 +1,23 @@
+package com.junior.company.fitness_studio_management.repository;
+
+/**
+ * Occupancy summed over one fitness class, trainer or time slot. Only the key of the grouping is set.
+ */
+public interface OccupancyTotals {
+
+    Long getFitnessClassId();
+
+    Long getTrainerId();
+
+    String getName();
+
+    Integer getDayOfWeek();
+
+    Integer getStartHour();
+
+    long getEventCount();
+
+    long getSeatsTotal();
+
+    long getSeatsTaken();
+}
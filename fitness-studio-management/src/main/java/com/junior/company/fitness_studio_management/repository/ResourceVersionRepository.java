@@ -0,0 +1,22 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import com.junior.company.fitness_studio_management.model.ResourceVersion;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, VersionedResource> {
+
+    @Query("SELECT r.version FROM ResourceVersion r WHERE r.resource = :resource")
+    Optional<Long> findVersion(@Param("resource") VersionedResource resource);
+
+    @Modifying
+    @Query("UPDATE ResourceVersion r SET r.version = r.version + 1 WHERE r.resource = :resource")
+    int incrementVersion(@Param("resource") VersionedResource resource);
+}
@@ -0,0 +1,17 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A gym event a trainer already teaches, as a trainer assigned to the fitness class of the event.
+ */
+public interface TrainerBooking {
+
+    Long getTrainerId();
+
+    Long getGymEventId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
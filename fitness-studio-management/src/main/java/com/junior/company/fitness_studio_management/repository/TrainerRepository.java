@@ -2,8 +2,28 @@ package com.junior.company.fitness_studio_management.repository;
 
 import com.junior.company.fitness_studio_management.model.Trainer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
 public interface TrainerRepository extends JpaRepository<Trainer, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Trainer> findAll();
+
+    // ordered by id, so transactions locking overlapping sets of trainers take the locks in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Trainer t WHERE t.id IN :trainerIds ORDER BY t.id")
+    List<Trainer> lockAllByIdIn(@Param("trainerIds") Collection<Long> trainerIds);
 }
@@ -0,0 +1,38 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import com.junior.company.fitness_studio_management.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long>, WaitlistEntryRepositoryCustom {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<WaitlistEntry> findFirstByGymEventIdOrderByTicket(Long gymEventId);
+
+    @Query("SELECT w.ticket FROM WaitlistEntry w " +
+            "WHERE w.gymEventId = :gymEventId AND w.appUserId = :appUserId")
+    Optional<Long> findTicket(@Param("gymEventId") Long gymEventId, @Param("appUserId") Long appUserId);
+
+    @Query("SELECT MIN(w.ticket) FROM WaitlistEntry w WHERE w.gymEventId = :gymEventId")
+    Long findHeadTicket(@Param("gymEventId") Long gymEventId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :waitlistEntryId")
+    int deleteEntry(@Param("waitlistEntryId") Long waitlistEntryId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.gymEventId = :gymEventId AND w.appUserId = :appUserId")
+    int deleteEntry(@Param("gymEventId") Long gymEventId, @Param("appUserId") Long appUserId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.appUserId = :appUserId")
+    int deleteEntries(@Param("appUserId") Long appUserId);
+}
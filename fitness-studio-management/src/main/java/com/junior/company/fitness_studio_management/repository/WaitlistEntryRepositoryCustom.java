@@ -0,0 +1,8 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import java.time.LocalDateTime;
+
+public interface WaitlistEntryRepositoryCustom {
+
+    int insertEntry(Long gymEventId, Long appUserId, long ticket, LocalDateTime joinedAt);
+}
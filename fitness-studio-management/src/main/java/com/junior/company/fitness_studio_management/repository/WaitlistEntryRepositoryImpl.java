@@ -0,0 +1,24 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class WaitlistEntryRepositoryImpl implements WaitlistEntryRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Plain JDBC on the transaction's connection: a duplicate entry only fails this statement, while a failed JPA
+    // query would mark the whole transaction rollback-only and the caller could not answer with the existing entry.
+    @Override
+    public int insertEntry(Long gymEventId, Long appUserId, long ticket, LocalDateTime joinedAt) {
+        entityManager.flush();
+        return jdbcTemplate.update(
+                "INSERT INTO waitlist_entry (gym_event_id, app_user_id, ticket, joined_at) VALUES (?, ?, ?, ?)",
+                gymEventId, appUserId, ticket, joinedAt);
+    }
+}
@@ -27,6 +27,15 @@ public class AppUserDetails implements UserDetails {
                 .collect(Collectors.toList());
     }
 
+    AppUserDetails withPassword(String password) {
+        AppUserDetails appUserDetails = new AppUserDetails();
+        appUserDetails.username = username;
+        appUserDetails.password = password;
+        appUserDetails.enabled = enabled;
+        appUserDetails.authorities = authorities;
+        return appUserDetails;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -5,14 +5,17 @@ import com.junior.company.fitness_studio_management.repository.AppUserRepository
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AppUserRepository appUserRepository;
 
@@ -25,4 +28,12 @@ public class AppUserDetailsService implements UserDetailsService {
         return new AppUserDetails(appUser);
     }
 
+    // Called by DaoAuthenticationProvider after a successful login whose stored hash uses an outdated cost or algorithm
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Upgrading password hash of user with username: {}", user.getUsername());
+        appUserRepository.updatePassword(user.getUsername(), newPassword);
+        return ((AppUserDetails) user).withPassword(newPassword);
+    }
 }
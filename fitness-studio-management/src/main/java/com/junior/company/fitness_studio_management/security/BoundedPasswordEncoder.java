@@ -0,0 +1,123 @@
+package com.junior.company.fitness_studio_management.security;
+
+import com.junior.company.fitness_studio_management.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the hashing and verification of a delegate encoder on a fixed pool of threads with a bounded queue.
+ * Once the queue is full, or a queued hash is not done within {@code timeout}, the caller gets a
+ * {@link PasswordHashingUnavailableException} instead of waiting for CPU time held by other logins.
+ * <p>
+ * The timeout only frees the caller. A timed out hash that is still queued is dropped from the queue, but one
+ * that has started keeps its pool thread until it is done, as BCrypt does not react to interrupts. The queue
+ * should therefore hold no more hashes than the pool finishes within the timeout, about
+ * {@code threads * timeout / time per hash}, otherwise every hash at its tail times out after using a thread.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    static final String EXECUTOR_NAME = "password.hashing";
+    static final String REJECTIONS_METRIC = "security.password.hashing.rejections";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final long retryAfterSeconds;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  Duration timeout, long retryAfterSeconds, MeterRegistry meterRegistry) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Password hashing threads and queue capacity must be positive");
+        }
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+        this.queueFullCounter = meterRegistry.counter(REJECTIONS_METRIC, "reason", "queue_full");
+        this.timeoutCounter = meterRegistry.counter(REJECTIONS_METRIC, "reason", "timeout");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // A rehash costs as much as the login itself, so it is left to a later login while other hashes are queued.
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return executor.getQueue().isEmpty() && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new PasswordHashingUnavailableException(
+                    "Too many concurrent logins, try again later", retryAfterSeconds);
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // frees the queue slot of a hash that has not started, a running one cannot be stopped
+            executor.remove((Runnable) future);
+            future.cancel(false);
+            timeoutCounter.increment();
+            log.warn("Password hashing did not finish within {} ms, rejecting request", timeout.toMillis());
+            throw new PasswordHashingUnavailableException(
+                    "Too many concurrent logins, try again later", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException(
+                    "Interrupted while waiting for password hashing", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
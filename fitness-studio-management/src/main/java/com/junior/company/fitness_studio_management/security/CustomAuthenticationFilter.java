@@ -1,12 +1,12 @@
 package com.junior.company.fitness_studio_management.security;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.junior.company.fitness_studio_management.exception.PasswordHashingUnavailableException;
+import com.junior.company.fitness_studio_management.exception.TokenIssuingUnavailableException;
 import com.junior.company.fitness_studio_management.model.Response;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,29 +17,51 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static com.junior.company.fitness_studio_management.security.SecurityConstant.ACCESS_TOKEN_EXPIRES_TIME;
-import static com.junior.company.fitness_studio_management.security.SecurityConstant.getSecretKey;
-
 @RequiredArgsConstructor
 @Slf4j
 public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
+    static final String LOGINS_METRIC = "security.logins";
+    static final String USERNAME_ATTRIBUTE = CustomAuthenticationFilter.class.getName() + ".username";
+
     private final AuthenticationManager authenticationManager;
+    private final JwtTokenService jwtTokenService;
+    private final MeterRegistry meterRegistry;
+    private final LoginThrottle loginThrottle;
 
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request,
                                                 HttpServletResponse response) throws AuthenticationException {
         try {
-            AppUserDetails credentials = new ObjectMapper().readValue(request.getInputStream(), AppUserDetails.class);
-            return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-                    credentials.getUsername(), credentials.getPassword()));
+            AppUserDetails credentials = jwtTokenService.readCredentials(request.getInputStream());
+            // blank usernames would all share one throttle bucket, so they are turned away before it
+            if (isBlank(credentials.getUsername()) || isBlank(credentials.getPassword())) {
+                rejectLogin(response, HttpStatus.BAD_REQUEST, "invalid", "Username and password must not be blank");
+                return null;
+            }
+            long retryAfterSeconds = loginThrottle.getRetryAfterSeconds(credentials.getUsername(), request.getRemoteAddr());
+            if (retryAfterSeconds > 0) {
+                rejectLogin(response, HttpStatus.TOO_MANY_REQUESTS, "throttled",
+                        "Too many failed logins, try again later", retryAfterSeconds);
+                return null;
+            }
+            request.setAttribute(USERNAME_ATTRIBUTE, credentials.getUsername());
+            try {
+                return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                        credentials.getUsername(), credentials.getPassword()));
+            } catch (PasswordHashingUnavailableException e) {
+                rejectLogin(response, HttpStatus.SERVICE_UNAVAILABLE, "rejected", e.getMessage(), e.getRetryAfterSeconds());
+                return null;
+            }
 
         } catch (IOException e) {
             log.info("IOException occurred while getting credentials: " + e.getMessage());
@@ -54,27 +76,80 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
                                             Authentication authResult) throws IOException {
 
         AppUserDetails user = (AppUserDetails) authResult.getPrincipal();
-        Algorithm algorithm = Algorithm.HMAC256(getSecretKey());
-
-        String accessToken = JWT.create()
-                .withSubject(user.getUsername())
-                .withClaim("roles", user.getAuthorities().stream()
-                        .map((GrantedAuthority::getAuthority)).collect(Collectors.toList()))
-                .withExpiresAt(ACCESS_TOKEN_EXPIRES_TIME)
-                .withIssuer(request.getRequestURL().toString())
-                .sign(algorithm);
+        loginThrottle.recordSuccess(user.getUsername());
+        List<String> roles = user.getAuthorities().stream()
+                .map((GrantedAuthority::getAuthority)).collect(Collectors.toList());
+        String issuer = request.getRequestURL().toString();
+        String accessToken;
+        String refreshToken;
+        try {
+            accessToken = jwtTokenService.createAccessToken(user.getUsername(), roles, issuer);
+            refreshToken = jwtTokenService.createRefreshToken(user.getUsername(), roles, issuer);
+        } catch (TokenIssuingUnavailableException e) {
+            rejectLogin(response, HttpStatus.SERVICE_UNAVAILABLE, "rejected", e.getMessage(), e.getRetryAfterSeconds());
+            return;
+        }
+        meterRegistry.counter(LOGINS_METRIC, "outcome", "success").increment();
 
         Response customResponse = Response.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
                 .message("Retrieved access token")
-                .data(Map.of("access_token", accessToken))
+                .data(Map.of(
+                        "access_token", accessToken,
+                        "refresh_token", refreshToken,
+                        "expires_in", jwtTokenService.getAccessTokenTtl().getSeconds()))
                 .build();
 
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        new ObjectMapper().registerModule(new JavaTimeModule())
-                .writeValue(response.getOutputStream(), customResponse);
+        jwtTokenService.writeValue(response.getOutputStream(), customResponse);
     }
-}
 
+    @Override
+    protected void unsuccessfulAuthentication(HttpServletRequest request,
+                                              HttpServletResponse response,
+                                              AuthenticationException failed) throws IOException, ServletException {
+        // DaoAuthenticationProvider wraps what the encoder throws while preparing its timing attack protection
+        if (failed.getCause() instanceof PasswordHashingUnavailableException) {
+            PasswordHashingUnavailableException phue = (PasswordHashingUnavailableException) failed.getCause();
+            rejectLogin(response, HttpStatus.SERVICE_UNAVAILABLE, "rejected", phue.getMessage(), phue.getRetryAfterSeconds());
+            return;
+        }
+        meterRegistry.counter(LOGINS_METRIC, "outcome", "failure").increment();
+        loginThrottle.recordFailure((String) request.getAttribute(USERNAME_ATTRIBUTE), request.getRemoteAddr());
+        super.unsuccessfulAuthentication(request, response, failed);
+    }
+
+    private void rejectLogin(HttpServletResponse response,
+                             HttpStatus status,
+                             String outcome,
+                             String message,
+                             long retryAfterSeconds) throws IOException {
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        rejectLogin(response, status, outcome, message);
+    }
+
+    private void rejectLogin(HttpServletResponse response,
+                             HttpStatus status,
+                             String outcome,
+                             String message) throws IOException {
+
+        meterRegistry.counter(LOGINS_METRIC, "outcome", outcome).increment();
+        Response customResponse = Response.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status)
+                .statusCode(status.value())
+                .message(message)
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jwtTokenService.writeValue(response.getOutputStream(), customResponse);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
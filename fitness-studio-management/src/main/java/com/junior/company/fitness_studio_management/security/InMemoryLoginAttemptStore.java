@@ -0,0 +1,98 @@
+package com.junior.company.fitness_studio_management.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts failed logins in a sliding window split into {@value #SLOTS} time slots per key. Every slot packs the number
+ * of its time slot and its count into one long, so recording and counting are lock-free compare-and-set loops and
+ * keys only contend within their bin of the concurrent map. Keys without recent failures or an active lockout are
+ * swept every {@value #SWEEP_INTERVAL} recorded failures.
+ */
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private static final int SLOTS = 10;
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final long slotMillis;
+    private final Map<String, Attempts> entries = new ConcurrentHashMap<>();
+    private final AtomicLong recordedFailures = new AtomicLong();
+
+    public InMemoryLoginAttemptStore(Duration window) {
+        if (window.toMillis() < SLOTS) {
+            throw new IllegalArgumentException("Login attempt window must be at least " + SLOTS + " ms");
+        }
+        this.slotMillis = window.toMillis() / SLOTS;
+    }
+
+    @Override
+    public long recordFailure(String key, long nowMillis) {
+        if (recordedFailures.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            sweep(nowMillis);
+        }
+        long slot = nowMillis / slotMillis;
+        Attempts attempts = entries.computeIfAbsent(key, k -> new Attempts());
+        attempts.increment(slot);
+        return attempts.count(slot);
+    }
+
+    @Override
+    public void lock(String key, long lockedUntilMillis) {
+        entries.computeIfAbsent(key, k -> new Attempts()).lockedUntil.accumulateAndGet(lockedUntilMillis, Math::max);
+    }
+
+    @Override
+    public long getLockedUntil(String key) {
+        Attempts attempts = entries.get(key);
+        return attempts == null ? 0 : attempts.lockedUntil.get();
+    }
+
+    @Override
+    public void reset(String key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // A failure recorded while its key is being swept may be lost, which only makes the limit slightly more lenient.
+    void sweep(long nowMillis) {
+        long slot = nowMillis / slotMillis;
+        entries.values().removeIf(attempts -> attempts.count(slot) == 0 && attempts.lockedUntil.get() <= nowMillis);
+    }
+
+    private static class Attempts {
+
+        private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+        private final AtomicLong lockedUntil = new AtomicLong();
+
+        void increment(long slot) {
+            int index = (int) (slot % SLOTS);
+            long current;
+            long updated;
+            do {
+                current = slots.get(index);
+                updated = (current >>> COUNT_BITS) == slot
+                        ? Math.min(current + 1, (slot << COUNT_BITS) | COUNT_MASK)
+                        : (slot << COUNT_BITS) | 1;
+            } while (!slots.compareAndSet(index, current, updated));
+        }
+
+        long count(long slot) {
+            long count = 0;
+            for (int i = 0; i < SLOTS; i++) {
+                long value = slots.get(i);
+                if (slot - (value >>> COUNT_BITS) < SLOTS) {
+                    count += value & COUNT_MASK;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.junior.company.fitness_studio_management.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.exceptions.InvalidClaimException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.junior.company.fitness_studio_management.exception.TokenIssuingUnavailableException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Signs and verifies access and refresh tokens and (de)serializes the security filters' JSON bodies.
+ * The signing keys with their verifiers and the Jackson reader/writer are immutable and thread-safe,
+ * so one instance is built at startup and shared by every request.
+ * Every token carries its own expiry, the id of the key it was signed with (kid) and a unique id (jti)
+ * that can be put on the {@link TokenRevocationList}. No token is issued while that list is full, so a revocation
+ * never has to be dropped. The {@link SigningKeys} can be replaced at runtime.
+ * A refresh token carries the roles of its user, so a new access token is minted without loading the user.
+ * When a {@link VerifiedTokenCache} is supplied, the signature of a replayed access token is verified only once;
+ * its jti and kid are still checked against the revocation list and the current signing keys on every request.
+ */
+public class JwtTokenService {
+
+    public static final Duration DEFAULT_ACCESS_TOKEN_TTL = Duration.ofMinutes(15);
+    public static final Duration DEFAULT_REFRESH_TOKEN_TTL = Duration.ofDays(7);
+    public static final int DEFAULT_REVOCATION_LIST_MAX_SIZE = 100_000;
+
+    private static final String ROLES_CLAIM = "roles";
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+    private static final String UNKNOWN_KEY_MESSAGE = "The Token was signed with an unknown key.";
+
+    private volatile SigningKeys signingKeys;
+    private final ObjectReader credentialsReader;
+    private final ObjectWriter objectWriter;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public JwtTokenService(String secretKey) {
+        this(secretKey, null);
+    }
+
+    public JwtTokenService(String secretKey, VerifiedTokenCache verifiedTokenCache) {
+        this(secretKey, DEFAULT_ACCESS_TOKEN_TTL, DEFAULT_REFRESH_TOKEN_TTL, verifiedTokenCache,
+                new TokenRevocationList(DEFAULT_REVOCATION_LIST_MAX_SIZE));
+    }
+
+    public JwtTokenService(String secretKey, Duration accessTokenTtl, Duration refreshTokenTtl,
+                           VerifiedTokenCache verifiedTokenCache, TokenRevocationList tokenRevocationList) {
+        this(SigningKeys.of(secretKey), accessTokenTtl, refreshTokenTtl, verifiedTokenCache, tokenRevocationList);
+    }
+
+    public JwtTokenService(SigningKeys signingKeys, Duration accessTokenTtl, Duration refreshTokenTtl,
+                           VerifiedTokenCache verifiedTokenCache, TokenRevocationList tokenRevocationList) {
+        this.signingKeys = signingKeys;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        this.credentialsReader = objectMapper.readerFor(AppUserDetails.class);
+        this.objectWriter = objectMapper.writer();
+    }
+
+    public String createAccessToken(String username, List<String> roles, String issuer) {
+        checkRevocationListNotFull();
+        SigningKeys keys = signingKeys;
+        Instant now = Instant.now();
+        return JWT.create()
+                .withKeyId(keys.getActiveKeyId())
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(username)
+                .withClaim(ROLES_CLAIM, roles)
+                .withIssuedAt(Date.from(now))
+                .withExpiresAt(Date.from(now.plus(accessTokenTtl)))
+                .withIssuer(issuer)
+                .sign(keys.getActiveAlgorithm());
+    }
+
+    public String createRefreshToken(String username, List<String> roles, String issuer) {
+        checkRevocationListNotFull();
+        SigningKeys keys = signingKeys;
+        Instant now = Instant.now();
+        return JWT.create()
+                .withKeyId(keys.getActiveKeyId())
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(username)
+                .withClaim(ROLES_CLAIM, roles)
+                .withClaim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .withIssuedAt(Date.from(now))
+                .withExpiresAt(Date.from(now.plus(refreshTokenTtl)))
+                .withIssuer(issuer)
+                .sign(keys.getActiveAlgorithm());
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    public String refreshAccessToken(String refreshToken, String issuer) {
+        DecodedJWT decodedJWT = verify(refreshToken, true);
+        return createAccessToken(decodedJWT.getSubject(), decodedJWT.getClaim(ROLES_CLAIM).asList(String.class), issuer);
+    }
+
+    /**
+     * Revokes an access or refresh token signed by this service until it expires. An expired token is ignored.
+     */
+    public void revokeToken(String token) {
+        DecodedJWT decodedJWT;
+        try {
+            decodedJWT = verifySignature(token);
+        } catch (TokenExpiredException e) {
+            return;
+        }
+        if (decodedJWT.getId() != null && decodedJWT.getExpiresAt() != null) {
+            tokenRevocationList.revoke(decodedJWT.getId(), decodedJWT.getExpiresAt().toInstant());
+        }
+        if (verifiedTokenCache != null) {
+            verifiedTokenCache.remove(token);
+        }
+    }
+
+    public UsernamePasswordAuthenticationToken verifyAccessToken(String token) {
+        if (verifiedTokenCache == null) {
+            return decodeAccessToken(verify(token, false));
+        }
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(token);
+        if (verifiedToken != null) {
+            checkNotRevoked(verifiedToken.getTokenId());
+            if (signingKeys.getVerifier(verifiedToken.getKeyId()) == null) {
+                verifiedTokenCache.remove(token);
+                throw new JWTVerificationException(UNKNOWN_KEY_MESSAGE);
+            }
+            return verifiedToken.toAuthenticationToken();
+        }
+        DecodedJWT decodedJWT = verify(token, false);
+        UsernamePasswordAuthenticationToken authenticationToken = decodeAccessToken(decodedJWT);
+        if (decodedJWT.getExpiresAt() != null) {
+            verifiedTokenCache.put(token, authenticationToken, decodedJWT.getId(), decodedJWT.getKeyId(),
+                    decodedJWT.getExpiresAt().toInstant());
+        }
+        return authenticationToken;
+    }
+
+    public SigningKeys getSigningKeys() {
+        return signingKeys;
+    }
+
+    /**
+     * Replaces the signing keys. Verified tokens are forgotten once a key is retired, so they are verified again.
+     */
+    public void setSigningKeys(SigningKeys signingKeys) {
+        boolean keyRetired = !signingKeys.getKeyIds().containsAll(this.signingKeys.getKeyIds());
+        this.signingKeys = signingKeys;
+        if (keyRetired && verifiedTokenCache != null) {
+            verifiedTokenCache.clear();
+        }
+    }
+
+    public Optional<VerifiedTokenCache> getVerifiedTokenCache() {
+        return Optional.ofNullable(verifiedTokenCache);
+    }
+
+    public TokenRevocationList getTokenRevocationList() {
+        return tokenRevocationList;
+    }
+
+    public AppUserDetails readCredentials(InputStream inputStream) throws IOException {
+        return credentialsReader.readValue(inputStream);
+    }
+
+    public void writeValue(OutputStream outputStream, Object value) throws IOException {
+        objectWriter.writeValue(outputStream, value);
+    }
+
+    private DecodedJWT verifySignature(String token) {
+        DecodedJWT decodedJWT = JWT.decode(token);
+        JWTVerifier verifier = signingKeys.getVerifier(decodedJWT.getKeyId());
+        if (verifier == null) {
+            throw new JWTVerificationException(UNKNOWN_KEY_MESSAGE);
+        }
+        return verifier.verify(decodedJWT);
+    }
+
+    private DecodedJWT verify(String token, boolean refreshToken) {
+        DecodedJWT decodedJWT = verifySignature(token);
+        if (REFRESH_TOKEN_TYPE.equals(decodedJWT.getClaim(TOKEN_TYPE_CLAIM).asString()) != refreshToken) {
+            throw new InvalidClaimException(refreshToken
+                    ? "The Token is not a refresh token."
+                    : "A refresh token cannot be used as access token.");
+        }
+        checkNotRevoked(decodedJWT.getId());
+        return decodedJWT;
+    }
+
+    private void checkRevocationListNotFull() {
+        if (tokenRevocationList.isFull()) {
+            throw new TokenIssuingUnavailableException("Too many revoked tokens, try again later",
+                    tokenRevocationList.getSecondsUntilNextExpiry());
+        }
+    }
+
+    private void checkNotRevoked(String tokenId) {
+        if (tokenId != null && tokenRevocationList.isRevoked(tokenId)) {
+            throw new TokenRevokedException("The Token has been revoked.");
+        }
+    }
+
+    private static UsernamePasswordAuthenticationToken decodeAccessToken(DecodedJWT decodedJWT) {
+        String[] roles = decodedJWT.getClaim(ROLES_CLAIM).asArray(String.class);
+        Collection<SimpleGrantedAuthority> authorities = new ArrayList<>(roles.length);
+        for (String role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role));
+        }
+        return new UsernamePasswordAuthenticationToken(decodedJWT.getSubject(), null, authorities);
+    }
+}
@@ -0,0 +1,22 @@
+package com.junior.company.fitness_studio_management.security;
+
+/**
+ * Failed logins and lockouts per key. The default {@link InMemoryLoginAttemptStore} only sees the logins of its own
+ * node; a store shared by all nodes (e.g. backed by Redis) can be plugged in by declaring it as a bean.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Records a failed login of {@code key} and returns the number of its failed logins within the store's window.
+     */
+    long recordFailure(String key, long nowMillis);
+
+    void lock(String key, long lockedUntilMillis);
+
+    /**
+     * Returns the epoch millisecond until which {@code key} is locked out, or 0 if it never was.
+     */
+    long getLockedUntil(String key);
+
+    void reset(String key);
+}
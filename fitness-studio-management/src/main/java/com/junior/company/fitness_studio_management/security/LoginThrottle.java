@@ -0,0 +1,73 @@
+package com.junior.company.fitness_studio_management.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Locks a username or a client IP address out for {@code lockout} once it reached its limit of failed logins
+ * within the store's window. Locked out logins are rejected before their password is verified.
+ */
+@Slf4j
+public class LoginThrottle {
+
+    static final String LOCKOUTS_METRIC = "security.login.lockouts";
+    private static final String USERNAME_KEY_PREFIX = "username:";
+    private static final String IP_KEY_PREFIX = "ip:";
+
+    private final LoginAttemptStore loginAttemptStore;
+    private final int maxFailuresPerUsername;
+    private final int maxFailuresPerIp;
+    private final Duration lockout;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    public LoginThrottle(LoginAttemptStore loginAttemptStore, int maxFailuresPerUsername, int maxFailuresPerIp,
+                         Duration lockout, MeterRegistry meterRegistry) {
+        this(loginAttemptStore, maxFailuresPerUsername, maxFailuresPerIp, lockout, meterRegistry, Clock.systemUTC());
+    }
+
+    LoginThrottle(LoginAttemptStore loginAttemptStore, int maxFailuresPerUsername, int maxFailuresPerIp,
+                  Duration lockout, MeterRegistry meterRegistry, Clock clock) {
+        if (maxFailuresPerUsername <= 0 || maxFailuresPerIp <= 0) {
+            throw new IllegalArgumentException("Maximum number of failed logins must be positive");
+        }
+        this.loginAttemptStore = loginAttemptStore;
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.lockout = lockout;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the number of seconds until the username and the client IP address may log in again, or 0 if they may now.
+     */
+    public long getRetryAfterSeconds(String username, String clientIp) {
+        long now = clock.millis();
+        long lockedUntil = Math.max(
+                loginAttemptStore.getLockedUntil(USERNAME_KEY_PREFIX + username),
+                loginAttemptStore.getLockedUntil(IP_KEY_PREFIX + clientIp));
+        return lockedUntil > now ? Duration.ofMillis(lockedUntil - now + 999).getSeconds() : 0;
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        long now = clock.millis();
+        recordFailure(USERNAME_KEY_PREFIX + username, maxFailuresPerUsername, "username", now);
+        recordFailure(IP_KEY_PREFIX + clientIp, maxFailuresPerIp, "ip", now);
+    }
+
+    public void recordSuccess(String username) {
+        loginAttemptStore.reset(USERNAME_KEY_PREFIX + username);
+    }
+
+    private void recordFailure(String key, int maxFailures, String keyType, long now) {
+        if (loginAttemptStore.recordFailure(key, now) >= maxFailures) {
+            loginAttemptStore.lock(key, now + lockout.toMillis());
+            meterRegistry.counter(LOCKOUTS_METRIC, "key", keyType).increment();
+            log.warn("Locking out {} for {} seconds after {} failed logins", key, lockout.getSeconds(), maxFailures);
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.junior.company.fitness_studio_management.security;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -11,12 +19,23 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static com.junior.company.fitness_studio_management.security.SecurityConstant.HEALTH_URL;
 import static com.junior.company.fitness_studio_management.security.SecurityConstant.LOGIN_URL;
+import static com.junior.company.fitness_studio_management.security.SecurityConstant.PROMETHEUS_URL;
+import static com.junior.company.fitness_studio_management.security.SecurityConstant.REFRESH_URL;
 import static com.junior.company.fitness_studio_management.security.SecurityConstant.SWAGGER_URL;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
@@ -27,18 +46,172 @@ import static org.springframework.http.HttpMethod.POST;
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final String SIGNING_KEYS_FILE_PROPERTY = "security.jwt.keys-file";
+
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<LoginAttemptStore> loginAttemptStoreProvider;
 
-    @Bean
+    @Value("${secret.key}")
+    private String secretKey;
+
+    @Value("${security.jwt.keys-file:}")
+    private String signingKeysFile;
+
+    @Value("${security.jwt.keys-file-poll-seconds:30}")
+    private long signingKeysFilePollSeconds;
+
+    @Value("${security.jwt.access-token-ttl-seconds:900}")
+    private long accessTokenTtlSeconds;
+
+    @Value("${security.jwt.refresh-token-ttl-seconds:604800}")
+    private long refreshTokenTtlSeconds;
+
+    @Value("${security.token-revocation.logouts-per-hour:1000}")
+    private int tokenRevocationLogoutsPerHour;
+
+    @Value("${security.token-revocation.max-size:0}")
+    private int tokenRevocationMaxSize;
+
+    @Value("${security.token-cache.enabled:false}")
+    private boolean tokenCacheEnabled;
+
+    @Value("${security.token-cache.max-size:10000}")
+    private int tokenCacheMaxSize;
+
+    @Value("${security.login-throttle.window-seconds:300}")
+    private long loginThrottleWindowSeconds;
+
+    @Value("${security.login-throttle.max-failures-per-username:5}")
+    private int loginThrottleMaxFailuresPerUsername;
+
+    @Value("${security.login-throttle.max-failures-per-ip:50}")
+    private int loginThrottleMaxFailuresPerIp;
+
+    @Value("${security.login-throttle.lockout-seconds:900}")
+    private long loginThrottleLockoutSeconds;
+
+    @Value("${security.password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password-hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${security.password-hashing.queue-capacity:100}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${security.password-hashing.timeout-ms:5000}")
+    private long passwordHashingTimeoutMs;
+
+    @Value("${security.password-hashing.retry-after-seconds:1}")
+    private long passwordHashingRetryAfterSeconds;
+
+    // Hashing is CPU bound, so by default the pool gets one thread per core.
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = passwordHashingThreads > 0
+                ? passwordHashingThreads
+                : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(bcryptStrength), threads, passwordHashingQueueCapacity,
+                Duration.ofMillis(passwordHashingTimeoutMs), passwordHashingRetryAfterSeconds, meterRegistry);
+    }
+
+    /**
+     * New hashes are written as {@code {bcrypt}$2a$<strength>$...}. Hashes stored without an algorithm prefix
+     * are verified as BCrypt; they and hashes of a lower strength are rehashed on the next successful login.
+     */
+    static PasswordEncoder delegatingPasswordEncoder(int bcryptStrength) {
+        BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder delegatingPasswordEncoder =
+                new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bCryptPasswordEncoder));
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bCryptPasswordEncoder);
+        return delegatingPasswordEncoder;
+    }
+
+    @Bean
+    public JwtTokenService jwtTokenService() {
+        VerifiedTokenCache verifiedTokenCache = null;
+        if (tokenCacheEnabled) {
+            verifiedTokenCache = new VerifiedTokenCache(tokenCacheMaxSize);
+            bindTokenCacheMetrics(verifiedTokenCache);
+        }
+        // without an explicit size, the list holds every token revoked within one refresh token lifetime
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(tokenRevocationMaxSize > 0
+                ? tokenRevocationMaxSize
+                : TokenRevocationList.sizeFor(tokenRevocationLogoutsPerHour, Duration.ofSeconds(refreshTokenTtlSeconds)));
+        Gauge.builder("security.token.revocations.size", tokenRevocationList, TokenRevocationList::size)
+                .register(meterRegistry);
+        return new JwtTokenService(signingKeys(), Duration.ofSeconds(accessTokenTtlSeconds),
+                Duration.ofSeconds(refreshTokenTtlSeconds), verifiedTokenCache, tokenRevocationList);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @Conditional(SigningKeysFileCondition.class)
+    public SigningKeyFileLoader signingKeyFileLoader() throws IOException {
+        SigningKeyFileLoader signingKeyFileLoader =
+                new SigningKeyFileLoader(Path.of(signingKeysFile), jwtTokenService(), meterRegistry);
+        signingKeyFileLoader.start(Duration.ofSeconds(signingKeysFilePollSeconds));
+        return signingKeyFileLoader;
+    }
+
+    // Without a key file the single secret.key is the active key.
+    private SigningKeys signingKeys() {
+        if (!hasSigningKeysFile(signingKeysFile)) {
+            return SigningKeys.of(secretKey);
+        }
+        try {
+            return SigningKeys.load(Path.of(signingKeysFile));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load signing keys from " + signingKeysFile, e);
+        }
+    }
+
+    private static boolean hasSigningKeysFile(String signingKeysFile) {
+        return signingKeysFile != null && !signingKeysFile.isBlank();
+    }
+
+    // Matches exactly when signingKeys() loads a key file, so an empty property means neither file nor loader.
+    static class SigningKeysFileCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return hasSigningKeysFile(context.getEnvironment().getProperty(SIGNING_KEYS_FILE_PROPERTY));
+        }
+    }
+
+    // Uses a LoginAttemptStore bean shared by all nodes if one is declared, otherwise counts the logins of this node.
+    private LoginThrottle loginThrottle() {
+        LoginAttemptStore loginAttemptStore = loginAttemptStoreProvider.getIfAvailable(() -> {
+            InMemoryLoginAttemptStore inMemoryLoginAttemptStore =
+                    new InMemoryLoginAttemptStore(Duration.ofSeconds(loginThrottleWindowSeconds));
+            Gauge.builder("security.login.throttle.keys", inMemoryLoginAttemptStore, InMemoryLoginAttemptStore::size)
+                    .register(meterRegistry);
+            return inMemoryLoginAttemptStore;
+        });
+        return new LoginThrottle(loginAttemptStore, loginThrottleMaxFailuresPerUsername, loginThrottleMaxFailuresPerIp,
+                Duration.ofSeconds(loginThrottleLockoutSeconds), meterRegistry);
+    }
+
+    private void bindTokenCacheMetrics(VerifiedTokenCache verifiedTokenCache) {
+        FunctionCounter.builder("security.token.cache.requests", verifiedTokenCache, VerifiedTokenCache::getHitCount)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.token.cache.requests", verifiedTokenCache, VerifiedTokenCache::getMissCount)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.token.cache.evictions", verifiedTokenCache, VerifiedTokenCache::getEvictionCount)
+                .register(meterRegistry);
+        Gauge.builder("security.token.cache.size", verifiedTokenCache, VerifiedTokenCache::size)
+                .register(meterRegistry);
     }
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
 
         CustomAuthenticationFilter customAuthenticationFilter =
-                new CustomAuthenticationFilter(authenticationManagerBean());
+                new CustomAuthenticationFilter(authenticationManagerBean(), jwtTokenService(), meterRegistry, loginThrottle());
         customAuthenticationFilter.setFilterProcessesUrl(LOGIN_URL);
 
         http.csrf().disable()
@@ -46,14 +219,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .and()
                 .authorizeRequests()
                 .antMatchers(POST, "/api/v1/users").permitAll()
+                .antMatchers(POST, REFRESH_URL).permitAll()
                 .antMatchers(GET, "/api/v1/gym-events/**").permitAll()
                 .antMatchers(GET, "/api/v1/trainers/**").permitAll()
                 .antMatchers(SWAGGER_URL).permitAll()
+                .antMatchers(GET, HEALTH_URL).permitAll()
+                .antMatchers(GET, PROMETHEUS_URL).hasRole("ADMIN")
                 .anyRequest().authenticated()
                 .and()
                 .formLogin()
                 .and()
-                .addFilterBefore(new CustomAuthorizationFilter(), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new CustomAuthorizationFilter(jwtTokenService(), meterRegistry), UsernamePasswordAuthenticationFilter.class)
                 .addFilter(customAuthenticationFilter);
     }
 
@@ -62,6 +238,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setPasswordEncoder(passwordEncoder());
         provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
         return provider;
     }
 
@@ -1,27 +1,10 @@
 package com.junior.company.fitness_studio_management.security;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
-
-import java.util.Date;
-
-@Component
 public class SecurityConstant {
 
     private SecurityConstant(){
     }
 
-    private static String SECRET_KEY;
-    @Value("${secret.key}")
-    private void setSecretKey(String secretKey) {
-        SECRET_KEY = secretKey;
-    }
-    public static String getSecretKey() {
-        return SECRET_KEY;
-    }
-
-    public static final Date ACCESS_TOKEN_EXPIRES_TIME = new Date(System.currentTimeMillis() + 60 * 60 * 1000);
-
     public static final String[] SWAGGER_URL = {
             "/v2/api-docs",
             "/swagger-resources/**",
@@ -30,5 +13,11 @@ public class SecurityConstant {
             "favicon.ico"
     };
 
+    public static final String HEALTH_URL = "/actuator/health";
+
+    public static final String PROMETHEUS_URL = "/actuator/prometheus";
+
     public static final String LOGIN_URL = "/api/v1/login";
+
+    public static final String REFRESH_URL = "/api/v1/token/refresh";
 }
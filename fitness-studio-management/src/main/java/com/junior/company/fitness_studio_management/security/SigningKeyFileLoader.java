@@ -0,0 +1,73 @@
+package com.junior.company.fitness_studio_management.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the {@link SigningKeys} of a {@link JwtTokenService} whenever the modification time of their file changes,
+ * so keys can be added, activated and retired without a restart. The file is polled rather than watched, because
+ * mounted secrets are usually replaced through symlinks that file watchers do not report. A file that fails to load
+ * leaves the current keys in place.
+ */
+@Slf4j
+public class SigningKeyFileLoader {
+
+    static final String RELOADS_METRIC = "security.signing.keys.reloads";
+
+    private final Path file;
+    private final JwtTokenService jwtTokenService;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService executor;
+    private FileTime lastModified;
+
+    public SigningKeyFileLoader(Path file, JwtTokenService jwtTokenService, MeterRegistry meterRegistry) throws IOException {
+        this.file = file;
+        this.jwtTokenService = jwtTokenService;
+        this.meterRegistry = meterRegistry;
+        this.lastModified = Files.getLastModifiedTime(file);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "signing-key-file-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(Duration pollInterval) {
+        executor.scheduleWithFixedDelay(this::reloadIfModified,
+                pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    synchronized boolean reloadIfModified() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return false;
+            }
+            // remembered before loading, so a broken file is reported once and not on every poll
+            lastModified = modified;
+            SigningKeys signingKeys = SigningKeys.load(file);
+            jwtTokenService.setSigningKeys(signingKeys);
+            meterRegistry.counter(RELOADS_METRIC, "outcome", "success").increment();
+            log.info("Reloaded signing keys {} from {}, active key: {}",
+                    signingKeys.getKeyIds(), file, signingKeys.getActiveKeyId());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            meterRegistry.counter(RELOADS_METRIC, "outcome", "failure").increment();
+            log.warn("Keeping current signing keys, could not load {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+}
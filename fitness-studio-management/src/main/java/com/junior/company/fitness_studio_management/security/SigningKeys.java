@@ -0,0 +1,90 @@
+package com.junior.company.fitness_studio_management.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Immutable set of HMAC signing keys by key id (kid). New tokens are signed with the active key and carry its id;
+ * every key keeps a pre-built verifier, so the kid of a token selects its verifier with one map lookup.
+ * A key file lists the active key id and one secret per key id:
+ * <pre>
+ * active-key-id=2026-10
+ * keys.2026-10=...
+ * keys.2026-04=...
+ * </pre>
+ */
+public class SigningKeys {
+
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private static final String ACTIVE_KEY_ID_PROPERTY = "active-key-id";
+    private static final String KEY_PROPERTY_PREFIX = "keys.";
+
+    private final String activeKeyId;
+    private final Algorithm activeAlgorithm;
+    private final Map<String, JWTVerifier> verifiers;
+
+    public SigningKeys(String activeKeyId, Map<String, String> secretsByKeyId) {
+        if (activeKeyId == null || !secretsByKeyId.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException(String.format("Active signing key %s is not defined", activeKeyId));
+        }
+        Map<String, JWTVerifier> verifiersByKeyId = new HashMap<>();
+        secretsByKeyId.forEach((keyId, secret) -> {
+            if (secret == null || secret.isBlank()) {
+                throw new IllegalArgumentException(String.format("Signing key %s is empty", keyId));
+            }
+            verifiersByKeyId.put(keyId, JWT.require(Algorithm.HMAC256(secret)).build());
+        });
+        this.activeKeyId = activeKeyId;
+        this.activeAlgorithm = Algorithm.HMAC256(secretsByKeyId.get(activeKeyId));
+        this.verifiers = Map.copyOf(verifiersByKeyId);
+    }
+
+    public static SigningKeys of(String secretKey) {
+        return new SigningKeys(DEFAULT_KEY_ID, Map.of(DEFAULT_KEY_ID, secretKey));
+    }
+
+    public static SigningKeys load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Map<String, String> secretsByKeyId = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(KEY_PROPERTY_PREFIX)) {
+                secretsByKeyId.put(name.substring(KEY_PROPERTY_PREFIX.length()), properties.getProperty(name).trim());
+            }
+        }
+        return new SigningKeys(properties.getProperty(ACTIVE_KEY_ID_PROPERTY), secretsByKeyId);
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public Algorithm getActiveAlgorithm() {
+        return activeAlgorithm;
+    }
+
+    /**
+     * Returns the verifier of the key, or null for an unknown key. Tokens issued without a key id predate key
+     * rotation and were signed with secret.key, so they map to {@link #DEFAULT_KEY_ID}.
+     */
+    public JWTVerifier getVerifier(String keyId) {
+        return verifiers.get(keyId == null ? DEFAULT_KEY_ID : keyId);
+    }
+
+    public Set<String> getKeyIds() {
+        return verifiers.keySet();
+    }
+}
@@ -0,0 +1,107 @@
+package com.junior.company.fitness_studio_management.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ids (jti) of revoked tokens, each kept until the token would expire anyway and never dropped before. Ids are
+ * stored as {@link UUID}s, so an entry costs two longs plus its expiry. A second set orders the ids by expiry, so
+ * every revocation purges the expired ids from its head without scanning the list. Once {@code maxSize} live ids
+ * are held the list is full: revocations are still recorded, but {@link JwtTokenService} stops issuing new tokens
+ * until enough revoked tokens have expired, so the list cannot grow without bound.
+ */
+public class TokenRevocationList {
+
+    private static final Comparator<Map.Entry<UUID, Instant>> BY_EXPIRY =
+            Map.Entry.<UUID, Instant>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<UUID, Instant> expiresAtByTokenId = new ConcurrentHashMap<>();
+    private final NavigableSet<Map.Entry<UUID, Instant>> tokenIdsByExpiry = new ConcurrentSkipListSet<>(BY_EXPIRY);
+
+    public TokenRevocationList(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    TokenRevocationList(int maxSize, Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Token revocation list size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a size that holds every token revoked within one refresh token lifetime, given that each logout
+     * revokes a refresh and an access token.
+     */
+    public static int sizeFor(int logoutsPerHour, Duration refreshTokenTtl) {
+        long hours = Math.max(1, (refreshTokenTtl.toMinutes() + 59) / 60);
+        return (int) Math.min(Integer.MAX_VALUE, 2L * logoutsPerHour * hours);
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        Instant now = clock.instant();
+        purgeExpired(now);
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        UUID id = UUID.fromString(tokenId);
+        Instant previous = expiresAtByTokenId.putIfAbsent(id, expiresAt);
+        if (previous == null) {
+            tokenIdsByExpiry.add(Map.entry(id, expiresAt));
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return expiresAtByTokenId.containsKey(UUID.fromString(tokenId));
+    }
+
+    /**
+     * Tells whether {@code maxSize} live ids are held, after purging the expired ones.
+     */
+    public boolean isFull() {
+        purgeExpired(clock.instant());
+        return expiresAtByTokenId.size() >= maxSize;
+    }
+
+    /**
+     * Seconds until the revoked token that expires soonest is purged, at least one.
+     */
+    public long getSecondsUntilNextExpiry() {
+        Instant now = clock.instant();
+        Map.Entry<UUID, Instant> head = firstOrNull();
+        if (head == null || !head.getValue().isAfter(now)) {
+            return 1;
+        }
+        return Math.max(1, Duration.between(now, head.getValue()).plusMillis(999).getSeconds());
+    }
+
+    public int size() {
+        return expiresAtByTokenId.size();
+    }
+
+    private void purgeExpired(Instant now) {
+        Map.Entry<UUID, Instant> head;
+        while ((head = firstOrNull()) != null && !head.getValue().isAfter(now)) {
+            if (tokenIdsByExpiry.remove(head)) {
+                expiresAtByTokenId.remove(head.getKey(), head.getValue());
+            }
+        }
+    }
+
+    // first() throws once a concurrent purge has emptied the set, the iterator does not
+    private Map.Entry<UUID, Instant> firstOrNull() {
+        Iterator<Map.Entry<UUID, Instant>> iterator = tokenIdsByExpiry.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.junior.company.fitness_studio_management.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+
+public class TokenRevokedException extends JWTVerificationException {
+
+    public TokenRevokedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,149 @@
+package com.junior.company.fitness_studio_management.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size-bounded cache of already verified access tokens, backed by a concurrent Caffeine cache. Entries are keyed
+ * by the SHA-256 hash of the raw token, live until the token's expiry and are evicted by Caffeine's size policy
+ * once {@code maxSize} is reached. Only the immutable username, authorities, token id (jti) and key id (kid) are
+ * cached; every hit gets its own authentication token, so requests never share a mutable object. The caller still
+ * checks the cached jti and kid against the current revocation list and signing keys on every hit.
+ */
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> entries;
+
+    public VerifiedTokenCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(int maxSize, Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Token cache size must be positive");
+        }
+        this.clock = clock;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.instant().toEpochMilli()))
+                // maintenance runs on the calling thread, so evictions are visible at once
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    public VerifiedToken get(String token) {
+        return entries.getIfPresent(hash(token));
+    }
+
+    public void put(String token, UsernamePasswordAuthenticationToken authenticationToken,
+                    String tokenId, String keyId, Instant expiresAt) {
+        if (expiresAt == null || !expiresAt.isAfter(clock.instant())) {
+            return;
+        }
+        entries.put(hash(token), new VerifiedToken(
+                authenticationToken.getName(), authenticationToken.getAuthorities(), tokenId, keyId, expiresAt));
+    }
+
+    public void remove(String token) {
+        entries.invalidate(hash(token));
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    public long getHitCount() {
+        return entries.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return entries.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return entries.stats().evictionCount();
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken entry, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), entry.expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    public static class VerifiedToken {
+
+        private final String username;
+        private final List<GrantedAuthority> authorities;
+        private final String tokenId;
+        private final String keyId;
+        private final Instant expiresAt;
+
+        private VerifiedToken(String username, Collection<? extends GrantedAuthority> authorities,
+                              String tokenId, String keyId, Instant expiresAt) {
+            this.username = username;
+            this.authorities = List.copyOf(authorities);
+            this.tokenId = tokenId;
+            this.keyId = keyId;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getTokenId() {
+            return tokenId;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public UsernamePasswordAuthenticationToken toAuthenticationToken() {
+            return new UsernamePasswordAuthenticationToken(username, null, authorities);
+        }
+    }
+}
@@ -8,15 +8,16 @@ import com.junior.company.fitness_studio_management.mapper.AppUserMapper;
 import com.junior.company.fitness_studio_management.model.AppUser;
 import com.junior.company.fitness_studio_management.model.Role;
 import com.junior.company.fitness_studio_management.repository.AppUserRepository;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
 import com.junior.company.fitness_studio_management.repository.RoleRepository;
+import com.junior.company.fitness_studio_management.repository.WaitlistEntryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -31,22 +32,27 @@ public class AppUserServiceImpl implements AppUserService {
     private final AppUserRepository appUserRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserResolver currentUserResolver;
+    private final GymEventRepository gymEventRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final GymEventReservationService gymEventReservationService;
 
     @Override
     public List<AppUserResponse> findAllUsers() {
         log.info("Retrieving list of users");
-        List<AppUser> appUsers = appUserRepository.findAll();
+        List<AppUser> appUsers = appUserRepository.findAllWithRoles();
         return AppUserMapper.mapAppUserListToAppUserResponseList(appUsers);
     }
 
     @Override
     public AppUserResponse findUserById(Long userId) {
         log.info("Retrieving user with id: {}", userId);
-        AppUser appUser = appUserRepository.findById(userId).orElseThrow(() ->
+        AppUser appUser = appUserRepository.findWithGymEventsById(userId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("User with id: %s not found", userId)));
-        for (Role role : getCurrentUser().getRoles()) {
+        AppUser currentUser = getCurrentUser();
+        for (Role role : currentUser.getRoles()) {
             if (Objects.equals(role.getName(), "ADMIN") ||
-                    Objects.equals(getCurrentUser().getId(), userId)) {
+                    Objects.equals(currentUser.getId(), userId)) {
                 return AppUserMapper.mapAppUserToAppUserResponse(appUser);
             }
         }
@@ -55,11 +61,7 @@ public class AppUserServiceImpl implements AppUserService {
 
     @Override
     public AppUser getCurrentUser() {
-        Principal principal = SecurityContextHolder
-                .getContext()
-                .getAuthentication();
-        return appUserRepository.findByUsername(principal.getName()).orElseThrow(() ->
-                new ResourceNotFoundException(String.format("User with username %s not found", principal.getName())));
+        return currentUserResolver.getCurrentUser();
     }
 
     @Override
@@ -87,7 +89,8 @@ public class AppUserServiceImpl implements AppUserService {
     @Override
     public boolean updateUser(AppUserRequest appUserRequest) {
         log.info("Registering user with username: {}", appUserRequest.getUsername());
-        if (!Objects.equals(appUserRequest.getId(), getCurrentUser().getId())) {
+        AppUser currentUser = getCurrentUser();
+        if (!Objects.equals(appUserRequest.getId(), currentUser.getId())) {
             throw new PermissionDeniedException("Permission denied");
         }
         Optional<AppUser> optionalAppUser = appUserRepository.findByEmail(appUserRequest.getEmail());
@@ -97,10 +100,10 @@ public class AppUserServiceImpl implements AppUserService {
                     String.format("Email %s is already taken", appUserRequest.getEmail()));
         }
         AppUser updatedAppUser = AppUserMapper.mapAppUserRequestToAppUserUpdate(appUserRequest);
-        updatedAppUser.setUsername(getCurrentUser().getUsername());
-        updatedAppUser.setEnabled(getCurrentUser().isEnabled());
+        updatedAppUser.setUsername(currentUser.getUsername());
+        updatedAppUser.setEnabled(currentUser.isEnabled());
         updatedAppUser.setPassword(passwordEncoder.encode(appUserRequest.getPassword()));
-        updatedAppUser.setRoles(getCurrentUser().getRoles());
+        updatedAppUser.setRoles(currentUser.getRoles());
         appUserRepository.save(updatedAppUser);
         return true;
     }
@@ -110,13 +113,24 @@ public class AppUserServiceImpl implements AppUserService {
         log.info("Deleting user with id: {}", userId);
         AppUser appUser = appUserRepository.findById(userId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("User with id: %s not found", userId)));
-        for (Role role : getCurrentUser().getRoles()) {
+        AppUser currentUser = getCurrentUser();
+        for (Role role : currentUser.getRoles()) {
             if (Objects.equals(role.getName(), "ADMIN") ||
-                    (Objects.equals(getCurrentUser().getId(), userId))) {
+                    (Objects.equals(currentUser.getId(), userId))) {
+                releaseUpcomingSeats(userId);
                 appUserRepository.delete(appUser);
                 return true;
             }
         }
         throw new PermissionDeniedException("Permission denied");
     }
+
+    // Frees the seats of the user the way disenrolling does, so seat counts, waitlists and occupancy totals follow
+    // the deletion. Started gym events keep counting the user, as a rebuild of the totals does.
+    private void releaseUpcomingSeats(Long userId) {
+        waitlistEntryRepository.deleteEntries(userId);
+        for (Long gymEventId : gymEventRepository.findUpcomingGymEventIdsByParticipant(userId, LocalDateTime.now())) {
+            gymEventReservationService.releaseSeat(gymEventId, userId);
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.repository.AppUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.security.Principal;
+
+/**
+ * Resolves the authenticated {@link AppUser} at most once per HTTP request,
+ * so services asking for the current user repeatedly share a single lookup.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+@Slf4j
+public class CurrentUserResolver {
+
+    private final AppUserRepository appUserRepository;
+
+    private AppUser currentUser;
+
+    public AppUser getCurrentUser() {
+        if (currentUser == null) {
+            Principal principal = SecurityContextHolder
+                    .getContext()
+                    .getAuthentication();
+            log.info("Resolving current user with username: {}", principal.getName());
+            currentUser = appUserRepository.findByUsername(principal.getName()).orElseThrow(() ->
+                    new ResourceNotFoundException(String.format("User with username %s not found", principal.getName())));
+        }
+        return currentUser;
+    }
+}
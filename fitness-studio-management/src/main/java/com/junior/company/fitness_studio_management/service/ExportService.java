@@ -0,0 +1,13 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    void exportGymEvents(ExportFormat format, OutputStream outputStream) throws IOException;
+
+    void exportUsers(ExportFormat format, OutputStream outputStream) throws IOException;
+}
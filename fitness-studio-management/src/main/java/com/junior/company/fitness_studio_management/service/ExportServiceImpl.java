@@ -0,0 +1,94 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.fitness_studio_management.dto.AppUserResponse;
+import com.junior.company.fitness_studio_management.dto.ExportFormat;
+import com.junior.company.fitness_studio_management.dto.GymEventResponse;
+import com.junior.company.fitness_studio_management.mapper.AppUserMapper;
+import com.junior.company.fitness_studio_management.mapper.GymEventMapper;
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Role;
+import com.junior.company.fitness_studio_management.repository.AppUserRepository;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<String> GYM_EVENT_CSV_HEADER = List.of("id", "start_time", "end_time", "duration",
+            "participants_limit", "current_participants_number", "fitness_class_id", "fitness_class_name");
+
+    private static final List<String> USER_CSV_HEADER = List.of("id", "username", "first_name", "last_name",
+            "email", "date_of_birth", "enabled", "roles");
+
+    private final GymEventRepository gymEventRepository;
+    private final AppUserRepository appUserRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportGymEvents(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Exporting gym events as {}", format);
+        try (Stream<GymEvent> gymEvents = gymEventRepository.streamAllWithFitnessClass();
+             ExportWriter<GymEventResponse> exportWriter = new ExportWriter<>(format, outputStream, objectMapper,
+                     GYM_EVENT_CSV_HEADER, ExportServiceImpl::toGymEventCsvRow)) {
+            gymEvents.forEach(gymEvent -> {
+                exportWriter.write(GymEventMapper.mapGymEventToGymEventResponseWithId(gymEvent));
+                // the fitness class stays managed, it is shared by many events
+                entityManager.detach(gymEvent);
+            });
+        }
+    }
+
+    @Override
+    public void exportUsers(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Exporting users as {}", format);
+        try (Stream<AppUser> appUsers = appUserRepository.streamAllWithRoles();
+             ExportWriter<AppUserResponse> exportWriter = new ExportWriter<>(format, outputStream, objectMapper,
+                     USER_CSV_HEADER, ExportServiceImpl::toUserCsvRow)) {
+            appUsers.forEach(appUser -> {
+                exportWriter.write(AppUserMapper.mapAppUserToAppUserResponseMng(appUser));
+                entityManager.detach(appUser);
+            });
+        }
+    }
+
+    private static List<Object> toGymEventCsvRow(GymEventResponse gymEvent) {
+        return Arrays.asList(
+                gymEvent.getId(),
+                gymEvent.getStartTime(),
+                gymEvent.getEndTime(),
+                gymEvent.getDuration(),
+                gymEvent.getParticipantsLimit(),
+                gymEvent.getCurrentParticipantsNumber(),
+                gymEvent.getFitnessClass() != null ? gymEvent.getFitnessClass().getId() : null,
+                gymEvent.getFitnessClass() != null ? gymEvent.getFitnessClass().getName() : null);
+    }
+
+    private static List<Object> toUserCsvRow(AppUserResponse appUser) {
+        return Arrays.asList(
+                appUser.getId(),
+                appUser.getUsername(),
+                appUser.getFirstName(),
+                appUser.getLastName(),
+                appUser.getEmail(),
+                appUser.getDob(),
+                appUser.isEnabled(),
+                appUser.getRoles().stream().map(Role::getName).collect(Collectors.joining(" ")));
+    }
+}
@@ -0,0 +1,88 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.junior.company.fitness_studio_management.dto.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes records to an output stream as soon as they are passed in, either as newline-delimited JSON
+ * or as CSV rows below a header, so an export never holds more than one record in memory.
+ */
+class ExportWriter<T> implements Closeable {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final ExportFormat format;
+    private final ObjectWriter objectWriter;
+    private final Function<T, List<Object>> csvRow;
+    private final Writer writer;
+
+    ExportWriter(ExportFormat format, OutputStream outputStream, ObjectMapper objectMapper,
+                 List<String> csvHeader, Function<T, List<Object>> csvRow) {
+        this.format = format;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.csvRow = csvRow;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(csvHeader);
+        }
+    }
+
+    void write(T record) {
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(csvRow.apply(record));
+            return;
+        }
+        try {
+            writer.write(objectWriter.writeValueAsString(record));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsvLine(List<?> values) {
+        try {
+            writer.write(values.stream()
+                    .map(ExportWriter::toCsvField)
+                    .collect(Collectors.joining(",")));
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof LocalDateTime
+                ? DATE_TIME_FORMATTER.format((LocalDateTime) value)
+                : value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    // flushes without closing, the output stream belongs to the caller
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
@@ -5,16 +5,22 @@ import com.junior.company.fitness_studio_management.exception.ResourceNotFoundEx
 import com.junior.company.fitness_studio_management.mapper.FitnessClassMapper;
 import com.junior.company.fitness_studio_management.model.FitnessClass;
 import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
 import com.junior.company.fitness_studio_management.repository.FitnessClassRepository;
 import com.junior.company.fitness_studio_management.repository.TrainerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Objects;
 
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.GYM_EVENTS_CACHE;
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.GYM_EVENT_PAGES_CACHE;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -23,54 +29,70 @@ public class FitnessClassServiceImpl implements FitnessClassService {
 
     private final FitnessClassRepository fitnessClassRepository;
     private final TrainerRepository trainerRepository;
+    private final TrainerScheduleService trainerScheduleService;
+    private final ResourceVersionService resourceVersionService;
 
     @Override
     public List<FitnessClass> findAllFitnessClasses() {
         log.info("Getting list of all fitness classes");
-        return fitnessClassRepository.findAll();
+        return fitnessClassRepository.findAllWithTrainers();
     }
 
     @Override
     public FitnessClass findFitnessClassById(Long fitnessClassId) {
         log.info("Getting fitness class by id: {}", fitnessClassId);
-        return fitnessClassRepository.findById(fitnessClassId).orElseThrow(() ->
+        return fitnessClassRepository.findWithTrainersById(fitnessClassId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Fitness class with id: %s not found", fitnessClassId)));
     }
 
     @Override
     public FitnessClass createFitnessClass(FitnessClassRequest fitnessClassRequest) {
         log.info("Creating fitness class");
-        FitnessClass fitnessClass = FitnessClassMapper.mapFitnessClassRequestToFitnessClassCreate(fitnessClassRequest);
-        return fitnessClassRepository.save(fitnessClass);
+        FitnessClass fitnessClass = fitnessClassRepository.save(
+                FitnessClassMapper.mapFitnessClassRequestToFitnessClassCreate(fitnessClassRequest));
+        resourceVersionService.markChanged(VersionedResource.FITNESS_CLASSES);
+        return fitnessClass;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = GYM_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)})
     public FitnessClass updateFitnessClass(FitnessClassRequest fitnessClassRequest) {
         log.info("Updating fitness class with id: {}", fitnessClassRequest.getId());
         FitnessClass foundFitnessClass = fitnessClassRepository.findById(fitnessClassRequest.getId()).orElseThrow(() ->
                 new ResourceNotFoundException(
                         String.format("Fitness class with id: %s not found", fitnessClassRequest.getId())));
 
-        FitnessClass fitnessClass = FitnessClassMapper
-                .mapFitnessClassRequestToFitnessClassUpdate(fitnessClassRequest, foundFitnessClass.getTrainers());
-        return fitnessClassRepository.save(fitnessClass);
+        FitnessClass fitnessClass = fitnessClassRepository.save(FitnessClassMapper
+                .mapFitnessClassRequestToFitnessClassUpdate(fitnessClassRequest, foundFitnessClass.getTrainers()));
+        // fitness classes are embedded in gym events
+        resourceVersionService.markChanged(VersionedResource.FITNESS_CLASSES, VersionedResource.GYM_EVENTS);
+        return fitnessClass;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = GYM_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)})
     public boolean deleteFitnessClassById(Long fitnessClassId) {
         log.info("Deleting fitness class with id: {}", fitnessClassId);
         FitnessClass foundFitnessClass = fitnessClassRepository.findById(fitnessClassId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Fitness class with id: %s not found", fitnessClassId)));
 
         fitnessClassRepository.delete(foundFitnessClass);
+        resourceVersionService.markChanged(VersionedResource.FITNESS_CLASSES, VersionedResource.GYM_EVENTS);
         return true;
     }
 
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = GYM_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)})
     public boolean assignTrainer(Long fitnessClassId, Long trainerId) {
         log.info("Assigning trainer with id: {} to fitness class with id: {}", trainerId, fitnessClassId);
-        FitnessClass foundFitnessClass = fitnessClassRepository.findById(fitnessClassId).orElseThrow(() ->
+        FitnessClass foundFitnessClass = fitnessClassRepository.lockById(fitnessClassId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Fitness class with id: %s not found", fitnessClassId)));
         Trainer foundTrainer = trainerRepository.findById(trainerId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Trainer with id: %s not found", trainerId)));
@@ -81,10 +103,15 @@ public class FitnessClassServiceImpl implements FitnessClassService {
                         "Trainer with id: %s is already assigned to the fitness class with id: %s", trainerId, fitnessClassId));
             }
         });
+        trainerScheduleService.checkTrainerAvailable(foundTrainer, foundFitnessClass);
+        resourceVersionService.markChanged(VersionedResource.FITNESS_CLASSES, VersionedResource.GYM_EVENTS);
         return foundFitnessClass.addTrainer(foundTrainer);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = GYM_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)})
     public boolean unassignTrainer(Long fitnessClassId, Long trainerId) {
         log.info("Unassigning trainer with id: {} from fitness class with id: {}", trainerId, fitnessClassId);
         FitnessClass foundFitnessClass = fitnessClassRepository.findById(fitnessClassId).orElseThrow(() ->
@@ -95,6 +122,7 @@ public class FitnessClassServiceImpl implements FitnessClassService {
 
         for (Trainer trainer : foundFitnessClass.getTrainers()) {
             if (Objects.equals(trainerId, trainer.getId())) {
+                resourceVersionService.markChanged(VersionedResource.FITNESS_CLASSES, VersionedResource.GYM_EVENTS);
                 return foundFitnessClass.removeTrainer(foundTrainer);
             }
         }
@@ -0,0 +1,12 @@
+package com.junior.company.fitness_studio_management.service;
+
+public interface GymEventReservationService {
+
+    boolean reserveSeat(Long gymEventId, Long appUserId);
+
+    boolean releaseSeat(Long gymEventId, Long appUserId);
+
+    long joinWaitlist(Long gymEventId, Long appUserId);
+
+    long findWaitlistPosition(Long gymEventId, Long appUserId);
+}
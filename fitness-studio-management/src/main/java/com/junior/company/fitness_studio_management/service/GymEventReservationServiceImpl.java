@@ -0,0 +1,174 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.WaitlistEntry;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import com.junior.company.fitness_studio_management.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class GymEventReservationServiceImpl implements GymEventReservationService {
+
+    static final String ENROLLMENTS_METRIC = "gym_events.enrollments";
+
+    private final GymEventRepository gymEventRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // The guarded update is the only place where a seat is claimed, so the limit holds under any concurrency.
+    // A duplicate enrollment racing past the membership check fails on the event_user unique constraint
+    // and gives its claimed seat back before answering like the membership check does.
+    @Override
+    public boolean reserveSeat(Long gymEventId, Long appUserId) {
+        log.info("Reserving seat for user with id: {} in gym event with id: {}", appUserId, gymEventId);
+        if (gymEventRepository.countParticipant(gymEventId, appUserId) > 0) {
+            countEnrollment("rejected", "already_enrolled");
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (gymEventRepository.claimSeat(gymEventId, now) == 0) {
+            countEnrollment("rejected", rejectionReason(gymEventId, now));
+            return false;
+        }
+        try {
+            gymEventRepository.insertParticipant(gymEventId, appUserId);
+        } catch (DataIntegrityViolationException e) {
+            gymEventRepository.releaseSeat(gymEventId);
+            countEnrollment("rejected", "already_enrolled");
+            return false;
+        }
+        // the user no longer waits for a seat once they hold one
+        waitlistEntryRepository.deleteEntry(gymEventId, appUserId);
+        countEnrollment("accepted", "none");
+        publishSeatsTaken(gymEventId, 1);
+        return true;
+    }
+
+    // Releasing the seat locks the gym event row until commit, and joining the waitlist needs the same lock,
+    // so a seat is never left free while someone is waiting and concurrent disenrolls promote one head each.
+    @Override
+    public boolean releaseSeat(Long gymEventId, Long appUserId) {
+        log.info("Releasing seat of user with id: {} in gym event with id: {}", appUserId, gymEventId);
+        LocalDateTime now = LocalDateTime.now();
+        if (gymEventRepository.deleteParticipant(gymEventId, appUserId, now) == 0) {
+            checkGymEventExists(gymEventId);
+            return false;
+        }
+        gymEventRepository.releaseSeat(gymEventId);
+        // a promoted user takes the released seat, so the number of taken seats only drops without one
+        if (!promoteWaitlistHead(gymEventId, now)) {
+            publishSeatsTaken(gymEventId, -1);
+        }
+        return true;
+    }
+
+    @Override
+    public long joinWaitlist(Long gymEventId, Long appUserId) {
+        log.info("Adding user with id: {} to the waitlist of gym event with id: {}", appUserId, gymEventId);
+        Optional<Long> ticket = waitlistEntryRepository.findTicket(gymEventId, appUserId);
+        if (ticket.isPresent()) {
+            return waitlistPosition(gymEventId, ticket.get());
+        }
+        if (gymEventRepository.countParticipant(gymEventId, appUserId) > 0) {
+            throw new IllegalStateException(String.format(
+                    "User with id: %s is already enrolled in gym event with id: %s", appUserId, gymEventId));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (gymEventRepository.issueWaitlistTicket(gymEventId, now) == 0) {
+            GymEvent gymEvent = gymEventRepository.findById(gymEventId).orElseThrow(() ->
+                    new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId)));
+            throw new IllegalStateException(gymEvent.getStartTime().isAfter(now)
+                    ? String.format("Gym event with id: %s is not full", gymEventId)
+                    : String.format("Gym event with id: %s has already started", gymEventId));
+        }
+        long issuedTicket = gymEventRepository.findWaitlistTail(gymEventId);
+        try {
+            waitlistEntryRepository.insertEntry(gymEventId, appUserId, issuedTicket, now);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent join of the same user won the unique constraint, so this one answers with its position
+            long existingTicket = waitlistEntryRepository.findTicket(gymEventId, appUserId).orElseThrow(() -> e);
+            return waitlistPosition(gymEventId, existingTicket);
+        }
+        return waitlistPosition(gymEventId, issuedTicket);
+    }
+
+    @Override
+    public long findWaitlistPosition(Long gymEventId, Long appUserId) {
+        log.info("Getting waitlist position of user with id: {} in gym event with id: {}", appUserId, gymEventId);
+        long ticket = waitlistEntryRepository.findTicket(gymEventId, appUserId).orElseThrow(() ->
+                new ResourceNotFoundException(String.format(
+                        "User with id: %s is not on the waitlist of gym event with id: %s", appUserId, gymEventId)));
+        return waitlistPosition(gymEventId, ticket);
+    }
+
+    // A head that got enrolled while its join was in flight only loses its entry, and the claimed seat
+    // goes to the next user in line or back to the gym event when nobody else is waiting.
+    private boolean promoteWaitlistHead(Long gymEventId, LocalDateTime now) {
+        Optional<WaitlistEntry> head = waitlistEntryRepository.findFirstByGymEventIdOrderByTicket(gymEventId);
+        if (head.isEmpty() || gymEventRepository.claimSeat(gymEventId, now) == 0) {
+            return false;
+        }
+        while (head.isPresent()) {
+            Long appUserId = head.get().getAppUserId();
+            waitlistEntryRepository.deleteEntry(head.get().getId());
+            try {
+                gymEventRepository.insertParticipant(gymEventId, appUserId);
+                countEnrollment("accepted", "promoted");
+                log.info("Promoted user with id: {} from the waitlist of gym event with id: {}", appUserId, gymEventId);
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                log.info("Dropped already enrolled user with id: {} from the waitlist of gym event with id: {}",
+                        appUserId, gymEventId);
+            }
+            head = waitlistEntryRepository.findFirstByGymEventIdOrderByTicket(gymEventId);
+        }
+        gymEventRepository.releaseSeat(gymEventId);
+        return false;
+    }
+
+    private void publishSeatsTaken(Long gymEventId, long seatsTakenDelta) {
+        eventPublisher.publishEvent(OccupancyChangedEvent.builder()
+                .gymEventId(gymEventId)
+                .seatsTakenDelta(seatsTakenDelta)
+                .build());
+    }
+
+    // Both lookups are single index seeks, so the position costs the same however long the queue is.
+    private long waitlistPosition(Long gymEventId, long ticket) {
+        return ticket - waitlistEntryRepository.findHeadTicket(gymEventId) + 1;
+    }
+
+    // Only runs once a claim has failed, to tell a full event from one that has already started.
+    private String rejectionReason(Long gymEventId, LocalDateTime now) {
+        Optional<GymEvent> gymEvent = gymEventRepository.findById(gymEventId);
+        if (gymEvent.isEmpty()) {
+            countEnrollment("rejected", "not_found");
+            throw new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId));
+        }
+        return gymEvent.get().getStartTime().isAfter(now) ? "full" : "started";
+    }
+
+    private void countEnrollment(String outcome, String reason) {
+        meterRegistry.counter(ENROLLMENTS_METRIC, "outcome", outcome, "reason", reason).increment();
+    }
+
+    private void checkGymEventExists(Long gymEventId) {
+        if (!gymEventRepository.existsById(gymEventId)) {
+            throw new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId));
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.junior.company.fitness_studio_management.service;
 
+import com.junior.company.fitness_studio_management.dto.GymEventPageResponse;
+import com.junior.company.fitness_studio_management.dto.GymEventRecurrenceRequest;
+import com.junior.company.fitness_studio_management.dto.GymEventRecurrenceResponse;
 import com.junior.company.fitness_studio_management.dto.GymEventRequest;
 import com.junior.company.fitness_studio_management.dto.GymEventResponse;
 import com.junior.company.fitness_studio_management.model.GymEvent;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 public interface GymEventService {
 
-    List<GymEventResponse> findAllGymEvents();
+    GymEventPageResponse findAllGymEvents(LocalDateTime from, LocalDateTime to,
+                                          LocalDateTime cursorStartTime, Long cursorId, Integer size);
 
     GymEventResponse findGymEventById(Long gymEventId);
 
@@ -16,9 +20,15 @@ public interface GymEventService {
 
     GymEvent createGymEvent(GymEventRequest gymEventRequest);
 
+    GymEventRecurrenceResponse createRecurringGymEvents(GymEventRecurrenceRequest recurrenceRequest);
+
     boolean deleteGymEventById(Long gymEventId);
 
     boolean enrollUser(Long gymEventId);
 
     boolean disenrollUser(Long gymEventId);
+
+    long joinWaitlist(Long gymEventId);
+
+    long findWaitlistPosition(Long gymEventId);
 }
@@ -1,5 +1,9 @@
 package com.junior.company.fitness_studio_management.service;
 
+import com.junior.company.fitness_studio_management.dto.GymEventCursor;
+import com.junior.company.fitness_studio_management.dto.GymEventPageResponse;
+import com.junior.company.fitness_studio_management.dto.GymEventRecurrenceRequest;
+import com.junior.company.fitness_studio_management.dto.GymEventRecurrenceResponse;
 import com.junior.company.fitness_studio_management.dto.GymEventRequest;
 import com.junior.company.fitness_studio_management.dto.GymEventResponse;
 import com.junior.company.fitness_studio_management.exception.InvalidGymEventDateException;
@@ -8,19 +12,35 @@ import com.junior.company.fitness_studio_management.mapper.GymEventMapper;
 import com.junior.company.fitness_studio_management.model.AppUser;
 import com.junior.company.fitness_studio_management.model.FitnessClass;
 import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
 import com.junior.company.fitness_studio_management.repository.FitnessClassRepository;
 import com.junior.company.fitness_studio_management.repository.GymEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import java.time.DayOfWeek;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.GYM_EVENTS_CACHE;
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.GYM_EVENT_PAGES_CACHE;
 
 @Service
 @Transactional
@@ -30,20 +50,75 @@ public class GymEventServiceImpl implements GymEventService {
 
     private final GymEventRepository gymEventRepository;
     private final FitnessClassRepository fitnessClassRepository;
-    private final AppUserService appUserService;
+    private final CurrentUserResolver currentUserResolver;
+    private final GymEventReservationService gymEventReservationService;
+    private final TrainerScheduleService trainerScheduleService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceVersionService resourceVersionService;
+
+    @Value("${gym-events.page-size.default:20}")
+    private int defaultPageSize;
+
+    @Value("${gym-events.page-size.max:100}")
+    private int maxPageSize;
+
+    @Value("${gym-events.window-days.default:28}")
+    private int defaultWindowDays;
+
+    @Value("${gym-events.recurrence.max-events:5000}")
+    private int maxRecurringEvents;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
 
+    // a missing 'from' means today, so the date is part of the key
     @Override
-    public List<GymEventResponse> findAllGymEvents() {
-        log.info("Retrieving list of gym events");
-        List<GymEvent> gymEvents = gymEventRepository.findAll(Sort.by("startTime"));
-        return GymEventMapper.mapGymEventListToGymEventResponseList(gymEvents);
+    @Cacheable(cacheNames = GYM_EVENT_PAGES_CACHE,
+            key = "{#from ?: T(java.time.LocalDate).now(), #to, #cursorStartTime, #cursorId, #size}")
+    public GymEventPageResponse findAllGymEvents(LocalDateTime from, LocalDateTime to,
+                                                 LocalDateTime cursorStartTime, Long cursorId, Integer size) {
+        log.info("Retrieving page of gym events");
+        LocalDateTime windowStart = from != null ? from : LocalDate.now().atStartOfDay();
+        LocalDateTime windowEnd = to != null ? to : windowStart.plusDays(defaultWindowDays);
+        if (!windowStart.isBefore(windowEnd)) {
+            throw new InvalidGymEventDateException("Entered dates are not valid");
+        }
+        if ((cursorStartTime == null) != (cursorId == null)) {
+            throw new IllegalStateException("Cursor requires both start time and id");
+        }
+
+        int pageSize = size != null ? Math.max(1, Math.min(size, maxPageSize)) : defaultPageSize;
+        // one extra row tells whether there is a next page without running a count query
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<GymEvent> gymEvents = cursorStartTime == null
+                ? gymEventRepository.findFirstPage(windowStart, windowEnd, pageable)
+                : gymEventRepository.findPageAfter(windowStart, windowEnd, cursorStartTime, cursorId, pageable);
+
+        GymEventCursor nextCursor = null;
+        if (gymEvents.size() > pageSize) {
+            gymEvents = gymEvents.subList(0, pageSize);
+            GymEvent lastGymEvent = gymEvents.get(pageSize - 1);
+            nextCursor = GymEventCursor.builder()
+                    .startTime(lastGymEvent.getStartTime())
+                    .id(lastGymEvent.getId())
+                    .build();
+        }
+        // the cached page is serialized after its session is closed, so the trainers are loaded here
+        gymEvents.stream()
+                .filter(gymEvent -> gymEvent.getFitnessClass() != null)
+                .forEach(gymEvent -> Hibernate.initialize(gymEvent.getFitnessClass().getTrainers()));
+        return GymEventPageResponse.builder()
+                .gymEvents(GymEventMapper.mapGymEventListToGymEventResponseList(gymEvents))
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
+    @Cacheable(cacheNames = GYM_EVENTS_CACHE, key = "#gymEventId")
     public GymEventResponse findGymEventById(Long gymEventId) {
         log.info("Getting gym event by id: {}", gymEventId);
-        GymEvent gymEvent = gymEventRepository.findById(gymEventId).orElseThrow(() ->
+        GymEvent gymEvent = gymEventRepository.findWithFitnessClassById(gymEventId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId)));
         return GymEventMapper.mapGymEventToGymEventResponse(gymEvent);
     }
@@ -51,32 +126,112 @@ public class GymEventServiceImpl implements GymEventService {
     @Override
     public GymEventResponse findGymEventByIdWithParticipants(Long gymEventId) {
         log.info("Getting gym event by id with participants: {}", gymEventId);
-        GymEvent gymEvent = gymEventRepository.findById(gymEventId).orElseThrow(() ->
+        GymEvent gymEvent = gymEventRepository.findWithParticipantsById(gymEventId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId)));
         return GymEventMapper.mapGymEventToGymEventResponseMng(gymEvent);
     }
 
     @Override
+    @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)
     public GymEvent createGymEvent(GymEventRequest gymEventRequest) {
         log.info("Creating gym event");
 
         if (gymEventRequest.getStartTime().isBefore(LocalDateTime.now()) ||
                 gymEventRequest.getStartTime().isAfter(gymEventRequest.getEndTime()) ||
-                gymEventRequest.getStartTime().isEqual(gymEventRequest.getEndTime())) {
+                gymEventRequest.getStartTime().isEqual(gymEventRequest.getEndTime()) ||
+                !gymEventRequest.getEndTime().isBefore(gymEventRequest.getStartTime().plusDays(1))) {
             throw new InvalidGymEventDateException("Entered dates are not valid");
         }
 
-        FitnessClass foundFitnessClass = fitnessClassRepository.findById(gymEventRequest.getFitnessClassId()).orElseThrow(() ->
+        FitnessClass foundFitnessClass = fitnessClassRepository.lockById(gymEventRequest.getFitnessClassId()).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Fitness class with id: %s not found", gymEventRequest.getFitnessClassId())));
 
         GymEvent gymEvent = GymEventMapper.mapGymEventRequestToGymEvent(gymEventRequest);
-        gymEvent.setDuration(calculateGymEventDuration(gymEvent));
+        gymEvent.setDuration(calculateGymEventDuration(gymEvent.getStartTime(), gymEvent.getEndTime()));
         gymEvent.setFitnessClass(foundFitnessClass);
-        return gymEventRepository.save(gymEvent);
+        trainerScheduleService.checkTrainersAvailable(foundFitnessClass, List.of(gymEvent));
+        GymEvent savedGymEvent = gymEventRepository.save(gymEvent);
+        eventPublisher.publishEvent(OccupancyChangedEvent.builder()
+                .fitnessClassId(foundFitnessClass.getId())
+                .startTime(savedGymEvent.getStartTime())
+                .eventCountDelta(1)
+                .seatsTotalDelta(savedGymEvent.getParticipantsLimit())
+                .build());
+        resourceVersionService.markChanged(VersionedResource.GYM_EVENTS);
+        return savedGymEvent;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)
+    public GymEventRecurrenceResponse createRecurringGymEvents(GymEventRecurrenceRequest recurrenceRequest) {
+        log.info("Creating recurring gym events");
+
+        if (recurrenceRequest.getLastDay().isBefore(recurrenceRequest.getFirstDay()) ||
+                !recurrenceRequest.getStartTime().isBefore(recurrenceRequest.getEndTime())) {
+            throw new InvalidGymEventDateException("Entered dates are not valid");
+        }
+
+        // one day over the limit is enough to reject the schedule without expanding all of it
+        List<LocalDate> days = recurrenceRequest.getFirstDay()
+                .datesUntil(recurrenceRequest.getLastDay().plusDays(1))
+                .filter(day -> recurrenceRequest.getDaysOfWeek().contains(day.getDayOfWeek()))
+                .limit(maxRecurringEvents + 1L)
+                .collect(Collectors.toList());
+        if (days.isEmpty() || days.get(0).atTime(recurrenceRequest.getStartTime()).isBefore(LocalDateTime.now())) {
+            throw new InvalidGymEventDateException("Entered dates are not valid");
+        }
+        if (days.size() > maxRecurringEvents) {
+            throw new IllegalStateException(String.format("Schedule cannot have more than %s gym events", maxRecurringEvents));
+        }
+
+        FitnessClass foundFitnessClass = fitnessClassRepository.lockById(recurrenceRequest.getFitnessClassId()).orElseThrow(() ->
+                new ResourceNotFoundException(String.format("Fitness class with id: %s not found", recurrenceRequest.getFitnessClassId())));
+        String duration = calculateGymEventDuration(
+                days.get(0).atTime(recurrenceRequest.getStartTime()), days.get(0).atTime(recurrenceRequest.getEndTime()));
+
+        List<GymEvent> gymEvents = days.stream()
+                .map(day -> GymEvent.builder()
+                        .startTime(day.atTime(recurrenceRequest.getStartTime()))
+                        .endTime(day.atTime(recurrenceRequest.getEndTime()))
+                        .duration(duration)
+                        .participantsLimit(recurrenceRequest.getParticipantsLimit())
+                        .fitnessClass(foundFitnessClass)
+                        .build())
+                .collect(Collectors.toList());
+        trainerScheduleService.checkTrainersAvailable(foundFitnessClass, gymEvents);
+
+        for (int i = 0; i < gymEvents.size(); i++) {
+            gymEventRepository.save(gymEvents.get(i));
+            // sends each full JDBC batch and detaches only its events, so the persistence context does not grow
+            // with the schedule while the locked fitness class and its trainers stay managed
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                gymEvents.subList(i + 1 - batchSize, i + 1).forEach(entityManager::detach);
+            }
+        }
+
+        // all events of a weekday share one time slot, so the schedule changes at most seven totals rows
+        Map<DayOfWeek, List<LocalDate>> daysByDayOfWeek = days.stream()
+                .collect(Collectors.groupingBy(LocalDate::getDayOfWeek));
+        daysByDayOfWeek.values().forEach(slotDays -> eventPublisher.publishEvent(OccupancyChangedEvent.builder()
+                .fitnessClassId(foundFitnessClass.getId())
+                .startTime(slotDays.get(0).atTime(recurrenceRequest.getStartTime()))
+                .eventCountDelta(slotDays.size())
+                .seatsTotalDelta((long) slotDays.size() * recurrenceRequest.getParticipantsLimit())
+                .build()));
+
+        resourceVersionService.markChanged(VersionedResource.GYM_EVENTS);
+        log.info("Created {} recurring gym events of fitness class with id: {}", days.size(), foundFitnessClass.getId());
+        return GymEventRecurrenceResponse.builder()
+                .createdCount(days.size())
+                .firstStartTime(days.get(0).atTime(recurrenceRequest.getStartTime()))
+                .lastStartTime(days.get(days.size() - 1).atTime(recurrenceRequest.getStartTime()))
+                .fitnessClassId(foundFitnessClass.getId())
+                .build();
     }
 
-    private String calculateGymEventDuration(GymEvent gymEvent) {
-        Duration duration = Duration.between(gymEvent.getStartTime(), gymEvent.getEndTime());
+    private String calculateGymEventDuration(LocalDateTime startTime, LocalDateTime endTime) {
+        Duration duration = Duration.between(startTime, endTime);
         int hours = (int) duration.toHours();
         int minutes = (int) duration.toMinutes() % 60;
         LocalTime time = LocalTime.of(hours, minutes);
@@ -84,32 +239,67 @@ public class GymEventServiceImpl implements GymEventService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = GYM_EVENTS_CACHE, key = "#gymEventId"),
+            @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)})
     public boolean deleteGymEventById(Long gymEventId) {
         log.info("Deleting gym event with id: {}", gymEventId);
         GymEvent foundGymEvent = gymEventRepository.findById(gymEventId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId)));
 
         gymEventRepository.delete(foundGymEvent);
+        if (foundGymEvent.getFitnessClass() != null) {
+            eventPublisher.publishEvent(OccupancyChangedEvent.builder()
+                    .fitnessClassId(foundGymEvent.getFitnessClass().getId())
+                    .startTime(foundGymEvent.getStartTime())
+                    .eventCountDelta(-1)
+                    .seatsTotalDelta(-foundGymEvent.getParticipantsLimit())
+                    .seatsTakenDelta(-foundGymEvent.getCurrentParticipantsNumber())
+                    .build());
+        }
+        resourceVersionService.markChanged(VersionedResource.GYM_EVENTS);
         return true;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = GYM_EVENTS_CACHE, key = "#gymEventId"),
+            @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)})
     public boolean enrollUser(Long gymEventId) {
         log.info("Enrolling user in gym event with id: {}", gymEventId);
-        GymEvent foundGymEvent = gymEventRepository.findById(gymEventId).orElseThrow(() ->
-                new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId)));
-
-        AppUser currentUser = appUserService.getCurrentUser();
-        return foundGymEvent.addParticipant(currentUser);
+        AppUser currentUser = currentUserResolver.getCurrentUser();
+        boolean changed = gymEventReservationService.reserveSeat(gymEventId, currentUser.getId());
+        if (changed) {
+            resourceVersionService.markChanged(VersionedResource.GYM_EVENTS);
+        }
+        return changed;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = GYM_EVENTS_CACHE, key = "#gymEventId"),
+            @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)})
     public boolean disenrollUser(Long gymEventId) {
         log.info("Disenrolling user from gym event with id: {}", gymEventId);
-        GymEvent foundGymEvent = gymEventRepository.findById(gymEventId).orElseThrow(() ->
-                new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId)));
+        AppUser currentUser = currentUserResolver.getCurrentUser();
+        boolean changed = gymEventReservationService.releaseSeat(gymEventId, currentUser.getId());
+        if (changed) {
+            resourceVersionService.markChanged(VersionedResource.GYM_EVENTS);
+        }
+        return changed;
+    }
 
-        AppUser currentUser = appUserService.getCurrentUser();
-        return foundGymEvent.removeParticipant(currentUser);
+    @Override
+    public long joinWaitlist(Long gymEventId) {
+        log.info("Joining waitlist of gym event with id: {}", gymEventId);
+        AppUser currentUser = currentUserResolver.getCurrentUser();
+        return gymEventReservationService.joinWaitlist(gymEventId, currentUser.getId());
+    }
+
+    @Override
+    public long findWaitlistPosition(Long gymEventId) {
+        log.info("Getting waitlist position in gym event with id: {}", gymEventId);
+        AppUser currentUser = currentUserResolver.getCurrentUser();
+        return gymEventReservationService.findWaitlistPosition(gymEventId, currentUser.getId());
     }
 }
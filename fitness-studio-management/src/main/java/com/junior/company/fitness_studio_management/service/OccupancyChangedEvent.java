@@ -0,0 +1,22 @@
+package com.junior.company.fitness_studio_management.service;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change to the occupancy totals of one time slot of a fitness class. Seats taken or freed in a gym event
+ * only carry the id of the gym event, its slot is looked up when the change is applied.
+ */
+@Getter
+@SuperBuilder
+public class OccupancyChangedEvent {
+
+    private Long gymEventId;
+    private Long fitnessClassId;
+    private LocalDateTime startTime;
+    private long eventCountDelta;
+    private long seatsTotalDelta;
+    private long seatsTakenDelta;
+}
@@ -0,0 +1,23 @@
+package com.junior.company.fitness_studio_management.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies occupancy changes just before the transaction that caused them commits. The totals are written
+ * in that transaction, so a report never counts a rolled back enrollment and never misses a committed one,
+ * while the totals row stays locked only for the commit rather than the whole enrollment.
+ */
+@Component
+@RequiredArgsConstructor
+public class OccupancyListener {
+
+    private final OccupancyService occupancyService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOccupancyChanged(OccupancyChangedEvent event) {
+        occupancyService.applyChange(event);
+    }
+}
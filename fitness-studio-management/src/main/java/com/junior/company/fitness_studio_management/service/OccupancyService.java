@@ -0,0 +1,18 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.dto.OccupancyResponse;
+
+import java.util.List;
+
+public interface OccupancyService {
+
+    List<OccupancyResponse> findOccupancyByFitnessClass();
+
+    List<OccupancyResponse> findOccupancyByTrainer();
+
+    List<OccupancyResponse> findOccupancyByTimeSlot();
+
+    void applyChange(OccupancyChangedEvent event);
+
+    long rebuildOccupancy();
+}
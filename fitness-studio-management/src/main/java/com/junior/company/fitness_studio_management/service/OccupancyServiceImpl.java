@@ -0,0 +1,140 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.dto.OccupancyResponse;
+import com.junior.company.fitness_studio_management.model.FitnessClassOccupancy;
+import com.junior.company.fitness_studio_management.repository.FitnessClassOccupancyRepository;
+import com.junior.company.fitness_studio_management.repository.GymEventOccupancy;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import com.junior.company.fitness_studio_management.repository.GymEventSlot;
+import com.junior.company.fitness_studio_management.repository.OccupancyTotals;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class OccupancyServiceImpl implements OccupancyService {
+
+    private final FitnessClassOccupancyRepository occupancyRepository;
+    private final GymEventRepository gymEventRepository;
+
+    @Override
+    public List<OccupancyResponse> findOccupancyByFitnessClass() {
+        log.info("Getting occupancy of fitness classes");
+        return mapOccupancyTotals(occupancyRepository.sumByFitnessClass());
+    }
+
+    @Override
+    public List<OccupancyResponse> findOccupancyByTrainer() {
+        log.info("Getting occupancy of trainers");
+        return mapOccupancyTotals(occupancyRepository.sumByTrainer());
+    }
+
+    @Override
+    public List<OccupancyResponse> findOccupancyByTimeSlot() {
+        log.info("Getting occupancy of time slots");
+        return mapOccupancyTotals(occupancyRepository.sumByTimeSlot());
+    }
+
+    // Joins the transaction of the change, so the totals commit or roll back together with it.
+    @Override
+    public void applyChange(OccupancyChangedEvent event) {
+        Long fitnessClassId = event.getFitnessClassId();
+        LocalDateTime startTime = event.getStartTime();
+        if (fitnessClassId == null) {
+            Optional<GymEventSlot> slot = gymEventRepository.findSlotById(event.getGymEventId());
+            if (slot.isEmpty() || slot.get().getFitnessClassId() == null) {
+                return;
+            }
+            fitnessClassId = slot.get().getFitnessClassId();
+            startTime = slot.get().getStartTime();
+        }
+        int dayOfWeek = startTime.getDayOfWeek().getValue();
+        int startHour = startTime.getHour();
+
+        int updated = occupancyRepository.addToSlot(fitnessClassId, dayOfWeek, startHour,
+                event.getEventCountDelta(), event.getSeatsTotalDelta(), event.getSeatsTakenDelta());
+        if (updated > 0) {
+            return;
+        }
+        if (event.getEventCountDelta() <= 0) {
+            log.warn("No occupancy of fitness class with id: {} on day: {} at hour: {} to change",
+                    fitnessClassId, dayOfWeek, startHour);
+            return;
+        }
+        try {
+            occupancyRepository.insertSlot(fitnessClassId, dayOfWeek, startHour,
+                    event.getEventCountDelta(), event.getSeatsTotalDelta(), event.getSeatsTakenDelta());
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent change created the slot first, the unique slot constraint lets this one add to it
+            occupancyRepository.addToSlot(fitnessClassId, dayOfWeek, startHour,
+                    event.getEventCountDelta(), event.getSeatsTotalDelta(), event.getSeatsTakenDelta());
+        }
+    }
+
+    // Reads every gym event once, so it is meant for repairs and the first fill rather than for reports.
+    // Changes committed while it runs may be counted twice or not at all, it is best run in a quiet period.
+    @Override
+    public long rebuildOccupancy() {
+        log.info("Rebuilding occupancy of fitness classes");
+        occupancyRepository.deleteAllInBatch();
+
+        // keyed by fitness class id, day of week and start hour
+        Map<List<Object>, long[]> slots = new HashMap<>();
+        long processed = 0;
+        try (Stream<GymEventOccupancy> gymEvents = gymEventRepository.streamOccupancy()) {
+            for (GymEventOccupancy gymEvent : (Iterable<GymEventOccupancy>) gymEvents::iterator) {
+                LocalDateTime startTime = gymEvent.getStartTime();
+                long[] slotTotals = slots.computeIfAbsent(List.of(gymEvent.getFitnessClassId(),
+                        startTime.getDayOfWeek().getValue(), startTime.getHour()), key -> new long[3]);
+                slotTotals[0]++;
+                slotTotals[1] += gymEvent.getParticipantsLimit();
+                slotTotals[2] += gymEvent.getSeatsTaken();
+                processed++;
+            }
+        }
+
+        occupancyRepository.saveAll(slots.entrySet().stream()
+                .map(slot -> FitnessClassOccupancy.builder()
+                        .fitnessClassId((Long) slot.getKey().get(0))
+                        .dayOfWeek((Integer) slot.getKey().get(1))
+                        .startHour((Integer) slot.getKey().get(2))
+                        .eventCount(slot.getValue()[0])
+                        .seatsTotal(slot.getValue()[1])
+                        .seatsTaken(slot.getValue()[2])
+                        .build())
+                .collect(Collectors.toList()));
+        log.info("Rebuilt {} occupancy slots from {} gym events", slots.size(), processed);
+        return processed;
+    }
+
+    private static List<OccupancyResponse> mapOccupancyTotals(List<OccupancyTotals> occupancyTotals) {
+        return occupancyTotals.stream()
+                .map(totals -> OccupancyResponse.builder()
+                        .fitnessClassId(totals.getFitnessClassId())
+                        .trainerId(totals.getTrainerId())
+                        .name(totals.getName())
+                        .dayOfWeek(totals.getDayOfWeek())
+                        .startHour(totals.getStartHour())
+                        .eventCount(totals.getEventCount())
+                        .seatsTotal(totals.getSeatsTotal())
+                        .seatsTaken(totals.getSeatsTaken())
+                        .fillRate(totals.getSeatsTotal() > 0
+                                ? (double) totals.getSeatsTaken() / totals.getSeatsTotal()
+                                : null)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
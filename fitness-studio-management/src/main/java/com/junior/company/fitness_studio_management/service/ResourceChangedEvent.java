@@ -0,0 +1,14 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.model.VersionedResource;
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.Set;
+
+@Getter
+@SuperBuilder
+public class ResourceChangedEvent {
+
+    private Set<VersionedResource> resources;
+}
@@ -0,0 +1,23 @@
+package com.junior.company.fitness_studio_management.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Increments the versions of changed resources right before the changing transaction commits, inside it, so the
+ * data and its version commit together and a rolled back change never invalidates the ETags of its resources.
+ * A failed increment fails the commit, so no change is ever served under an old ETag.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceVersionListener {
+
+    private final ResourceVersionService resourceVersionService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onResourceChanged(ResourceChangedEvent event) {
+        resourceVersionService.incrementVersions(event.getResources());
+    }
+}
@@ -0,0 +1,14 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.model.VersionedResource;
+
+import java.util.Set;
+
+public interface ResourceVersionService {
+
+    long findVersion(VersionedResource resource);
+
+    void markChanged(VersionedResource... resources);
+
+    void incrementVersions(Set<VersionedResource> resources);
+}
@@ -0,0 +1,51 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.model.ResourceVersion;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
+import com.junior.company.fitness_studio_management.repository.ResourceVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.util.Set;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+
+    private final ResourceVersionRepository resourceVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // a single primary key lookup, so a conditional request is answered without loading the resource
+    @Override
+    public long findVersion(VersionedResource resource) {
+        return resourceVersionRepository.findVersion(resource).orElse(0L);
+    }
+
+    // The versions are incremented right before the change commits, in its transaction, so the counter rows are
+    // locked only for the commit instead of for the length of every enrollment.
+    @Override
+    public void markChanged(VersionedResource... resources) {
+        eventPublisher.publishEvent(ResourceChangedEvent.builder()
+                .resources(Set.of(resources))
+                .build());
+    }
+
+    @Override
+    public void incrementVersions(Set<VersionedResource> resources) {
+        // sorted, so concurrent increments lock the rows in the same order
+        resources.stream().sorted().forEach(resource -> {
+            if (resourceVersionRepository.incrementVersion(resource) == 0) {
+                log.info("Creating version counter of resource: {}", resource);
+                resourceVersionRepository.saveAndFlush(ResourceVersion.builder()
+                        .resource(resource)
+                        .version(1)
+                        .build());
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Trainer;
+
+import java.util.List;
+
+public interface TrainerScheduleService {
+
+    void checkTrainersAvailable(FitnessClass fitnessClass, List<GymEvent> gymEvents);
+
+    void checkTrainerAvailable(Trainer trainer, FitnessClass fitnessClass);
+}
@@ -0,0 +1,83 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.exception.TrainerConflictException;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import com.junior.company.fitness_studio_management.repository.TrainerBooking;
+import com.junior.company.fitness_studio_management.repository.TrainerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class TrainerScheduleServiceImpl implements TrainerScheduleService {
+
+    private final GymEventRepository gymEventRepository;
+    private final TrainerRepository trainerRepository;
+
+    @Override
+    public void checkTrainersAvailable(FitnessClass fitnessClass, List<GymEvent> gymEvents) {
+        log.info("Checking trainers of fitness class with id: {} for {} gym events", fitnessClass.getId(), gymEvents.size());
+        List<Long> trainerIds = fitnessClass.getTrainers().stream()
+                .map(Trainer::getId)
+                .collect(Collectors.toList());
+        checkAvailable(trainerIds, gymEvents);
+    }
+
+    @Override
+    public void checkTrainerAvailable(Trainer trainer, FitnessClass fitnessClass) {
+        log.info("Checking trainer with id: {} for gym events of fitness class with id: {}", trainer.getId(), fitnessClass.getId());
+        checkAvailable(List.of(trainer.getId()),
+                gymEventRepository.findByFitnessClassIdAndStartTimeAfter(fitnessClass.getId(), LocalDateTime.now()));
+    }
+
+    private void checkAvailable(List<Long> trainerIds, List<GymEvent> gymEvents) {
+        if (trainerIds.isEmpty() || gymEvents.isEmpty()) {
+            return;
+        }
+        // held until the transaction ends, so two bookings of the same trainer cannot both pass the check
+        trainerRepository.lockAllByIdIn(trainerIds);
+
+        List<GymEvent> gymEventsByEndTime = gymEvents.stream()
+                .sorted(Comparator.comparing(GymEvent::getEndTime))
+                .collect(Collectors.toList());
+        LocalDateTime windowStart = gymEvents.stream()
+                .map(GymEvent::getStartTime)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime windowEnd = gymEventsByEndTime.get(gymEventsByEndTime.size() - 1).getEndTime();
+        // gym events are shorter than a day, so no booking starting earlier than a day before the window can reach into it
+        List<TrainerBooking> bookings = gymEventRepository.findTrainerBookings(
+                trainerIds, windowStart, windowEnd, windowStart.minusDays(1));
+
+        // bookings are sorted by start time and events by end time, so each booking is visited once; an event
+        // overlaps a booking that starts before it ends exactly when the latest end among those is after its start
+        int nextBooking = 0;
+        TrainerBooking latestEndingBooking = null;
+        for (GymEvent gymEvent : gymEventsByEndTime) {
+            while (nextBooking < bookings.size() &&
+                    bookings.get(nextBooking).getStartTime().isBefore(gymEvent.getEndTime())) {
+                TrainerBooking booking = bookings.get(nextBooking++);
+                if (latestEndingBooking == null || booking.getEndTime().isAfter(latestEndingBooking.getEndTime())) {
+                    latestEndingBooking = booking;
+                }
+            }
+            if (latestEndingBooking != null && latestEndingBooking.getEndTime().isAfter(gymEvent.getStartTime())) {
+                throw new TrainerConflictException(String.format(
+                        "Trainer with id: %s is already booked for gym event with id: %s at that time",
+                        latestEndingBooking.getTrainerId(), latestEndingBooking.getGymEventId()));
+            }
+        }
+    }
+}
@@ -4,14 +4,23 @@ import com.junior.company.fitness_studio_management.dto.TrainerRequest;
 import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
 import com.junior.company.fitness_studio_management.mapper.TrainerMapper;
 import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
 import com.junior.company.fitness_studio_management.repository.TrainerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.List;
 
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.ALL_TRAINERS_KEY;
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.GYM_EVENTS_CACHE;
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.GYM_EVENT_PAGES_CACHE;
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.TRAINERS_CACHE;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -19,14 +28,17 @@ import java.util.List;
 public class TrainerServiceImpl implements TrainerService {
 
     private final TrainerRepository trainerRepository;
+    private final ResourceVersionService resourceVersionService;
 
     @Override
+    @Cacheable(cacheNames = TRAINERS_CACHE, key = ALL_TRAINERS_KEY)
     public List<Trainer> findAllTrainers() {
         log.info("Getting list of all trainers");
         return trainerRepository.findAll();
     }
 
     @Override
+    @Cacheable(cacheNames = TRAINERS_CACHE, key = "#trainerId")
     public Trainer findTrainerById(Long trainerId) {
         log.info("Getting trainer by id: {}", trainerId);
         return trainerRepository.findById(trainerId).orElseThrow(() ->
@@ -34,31 +46,46 @@ public class TrainerServiceImpl implements TrainerService {
     }
 
     @Override
+    @CacheEvict(cacheNames = TRAINERS_CACHE, key = ALL_TRAINERS_KEY)
     public Trainer createTrainer(TrainerRequest trainerRequest) {
         log.info("Creating trainer");
-        Trainer trainer = TrainerMapper.mapTrainerRequestToTrainerCreate(trainerRequest);
-        return trainerRepository.save(trainer);
+        Trainer trainer = trainerRepository.save(TrainerMapper.mapTrainerRequestToTrainerCreate(trainerRequest));
+        resourceVersionService.markChanged(VersionedResource.TRAINERS);
+        return trainer;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = TRAINERS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = GYM_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)})
     public Trainer updateTrainer(TrainerRequest trainerRequest) {
         log.info("Updating trainer with id: {}", trainerRequest.getId());
         if (trainerRepository.findById(trainerRequest.getId()).isEmpty()){
             throw new ResourceNotFoundException(
                     String.format("Trainer with id: %s not found", trainerRequest.getId()));
         }
-        Trainer trainer = TrainerMapper.mapTrainerRequestToTrainerUpdate(trainerRequest);
-        return trainerRepository.save(trainer);
+        Trainer trainer = trainerRepository.save(TrainerMapper.mapTrainerRequestToTrainerUpdate(trainerRequest));
+        // trainers are embedded in fitness classes and gym events
+        resourceVersionService.markChanged(
+                VersionedResource.TRAINERS, VersionedResource.FITNESS_CLASSES, VersionedResource.GYM_EVENTS);
+        return trainer;
     }
 
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = TRAINERS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = GYM_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = GYM_EVENT_PAGES_CACHE, allEntries = true)})
     public boolean deleteTrainerById(Long trainerId) {
         log.info("Deleting trainer with id: {}", trainerId);
         Trainer trainer = trainerRepository.findById(trainerId).orElseThrow(() ->
                 new ResourceNotFoundException(String.format("Trainer with id: %s not found", trainerId)));
 
         trainerRepository.delete(trainer);
+        resourceVersionService.markChanged(
+                VersionedResource.TRAINERS, VersionedResource.FITNESS_CLASSES, VersionedResource.GYM_EVENTS);
         return true;
     }
 }
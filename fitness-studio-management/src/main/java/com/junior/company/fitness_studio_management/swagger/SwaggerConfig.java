@@ -30,6 +30,8 @@ import static com.junior.company.fitness_studio_management.swagger.SwaggerConsta
 import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.CONTACT_URL;
 import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.FITNESS_CLASSES_API_TAG;
 import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.GYM_EVENTS_API_TAG;
+import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.REPORTS_API_TAG;
+import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.TOKENS_API_TAG;
 import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.TRAINERS_API_TAG;
 import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.USERS_API_TAG;
 import static com.junior.company.fitness_studio_management.swagger.SwaggerConstants.getApiDescription;
@@ -52,7 +54,9 @@ public class SwaggerConfig {
                 .tags(new Tag(USERS_API_TAG, "APIs related to users"),
                         new Tag(FITNESS_CLASSES_API_TAG, "APIs related to fitness classes"),
                         new Tag(GYM_EVENTS_API_TAG, "APIs related to gym events"),
-                        new Tag(TRAINERS_API_TAG, "APIs related to trainers"));
+                        new Tag(TRAINERS_API_TAG, "APIs related to trainers"),
+                        new Tag(REPORTS_API_TAG, "APIs related to reports"),
+                        new Tag(TOKENS_API_TAG, "APIs related to access and refresh tokens"));
     }
 
     private ApiKey apiKey() {
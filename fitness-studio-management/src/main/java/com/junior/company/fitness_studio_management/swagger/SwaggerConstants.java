@@ -36,4 +36,6 @@ public class SwaggerConstants {
     public static final String FITNESS_CLASSES_API_TAG = "Fitness classes service";
     public static final String GYM_EVENTS_API_TAG = "Gym events service";
     public static final String TRAINERS_API_TAG = "Trainers service";
+    public static final String REPORTS_API_TAG = "Reports service";
+    public static final String TOKENS_API_TAG = "Tokens service";
 }
@@ -1,15 +1,33 @@
 package com.junior.company.fitness_studio_management.validation;
 
-import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FieldMatchValidator implements ConstraintValidator<FieldMatch, Object> {
 
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Map<String, MethodHandle>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private String firstFieldName;
     private String secondFieldName;
+    private volatile Accessors accessors;
 
     @Override
     public void initialize(FieldMatch constraintAnnotation) {
@@ -19,8 +37,67 @@ public class FieldMatchValidator implements ConstraintValidator<FieldMatch, Obje
 
     @Override
     public boolean isValid(Object value, ConstraintValidatorContext context) {
-            final Object firstObj = new BeanWrapperImpl(value).getPropertyValue(firstFieldName);
-            final Object secondObj = new BeanWrapperImpl(value).getPropertyValue(secondFieldName);
-            return  Objects.equals(firstObj, secondObj);
+        if (value == null) {
+            return true;
+        }
+        Accessors current = accessors;
+        if (current == null || current.type != value.getClass()) {
+            current = new Accessors(value.getClass(),
+                    accessor(value.getClass(), firstFieldName),
+                    accessor(value.getClass(), secondFieldName));
+            accessors = current;
+        }
+        try {
+            final Object firstObj = (Object) current.first.invokeExact(value);
+            final Object secondObj = (Object) current.second.invokeExact(value);
+            return Objects.equals(firstObj, secondObj);
+        } catch (Throwable e) {
+            throw new IllegalStateException(String.format(
+                    "Could not read fields %s and %s of %s", firstFieldName, secondFieldName, value.getClass().getName()), e);
+        }
+    }
+
+    /**
+     * Resolves every property referenced by the {@link FieldMatch} constraints declared on the given type,
+     * failing with a message naming the type and property when one of them cannot be read.
+     */
+    public static void verifyFieldMatches(Class<?> type) {
+        for (FieldMatch fieldMatch : type.getAnnotationsByType(FieldMatch.class)) {
+            accessor(type, fieldMatch.firstField());
+            accessor(type, fieldMatch.secondField());
+        }
+    }
+
+    private static MethodHandle accessor(Class<?> type, String property) {
+        return ACCESSORS.get(type).computeIfAbsent(property, name -> resolveAccessor(type, name));
+    }
+
+    private static MethodHandle resolveAccessor(Class<?> type, String property) {
+        PropertyDescriptor propertyDescriptor = BeanUtils.getPropertyDescriptor(type, property);
+        Method readMethod = propertyDescriptor == null ? null : propertyDescriptor.getReadMethod();
+        if (readMethod == null) {
+            throw new IllegalStateException(String.format(
+                    "@FieldMatch on %s refers to unknown field: %s", type.getName(), property));
+        }
+        ReflectionUtils.makeAccessible(readMethod);
+        try {
+            return MethodHandles.lookup().unreflect(readMethod).asType(ACCESSOR_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format(
+                    "@FieldMatch on %s cannot access field: %s", type.getName(), property), e);
+        }
+    }
+
+    private static class Accessors {
+
+        private final Class<?> type;
+        private final MethodHandle first;
+        private final MethodHandle second;
+
+        private Accessors(Class<?> type, MethodHandle first, MethodHandle second) {
+            this.type = type;
+            this.first = first;
+            this.second = second;
+        }
     }
 }
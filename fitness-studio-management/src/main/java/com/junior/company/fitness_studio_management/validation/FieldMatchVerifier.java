@@ -0,0 +1,35 @@
+package com.junior.company.fitness_studio_management.validation;
+
+import com.junior.company.fitness_studio_management.FitnessStudioManagementApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Checks at startup that every {@link FieldMatch} in the application refers to readable fields,
+ * so a misspelled field name stops the context instead of failing the first request that validates it.
+ */
+@Component
+@Slf4j
+public class FieldMatchVerifier implements InitializingBean {
+
+    @Override
+    public void afterPropertiesSet() {
+        verify(FitnessStudioManagementApplication.class.getPackageName());
+    }
+
+    public void verify(String basePackage) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(FieldMatch.class));
+        scanner.addIncludeFilter(new AnnotationTypeFilter(FieldMatch.List.class));
+        for (BeanDefinition beanDefinition : scanner.findCandidateComponents(basePackage)) {
+            Class<?> type = ClassUtils.resolveClassName(beanDefinition.getBeanClassName(), getClass().getClassLoader());
+            FieldMatchValidator.verifyFieldMatches(type);
+            log.info("Verified @FieldMatch constraints of {}", type.getName());
+        }
+    }
+}
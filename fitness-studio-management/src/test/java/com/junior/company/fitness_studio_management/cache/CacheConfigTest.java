@@ -0,0 +1,171 @@
+package com.junior.company.fitness_studio_management.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.junior.company.fitness_studio_management.dto.TrainerRequest;
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.repository.FitnessClassRepository;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import com.junior.company.fitness_studio_management.repository.TrainerRepository;
+import com.junior.company.fitness_studio_management.service.CurrentUserResolver;
+import com.junior.company.fitness_studio_management.service.GymEventReservationService;
+import com.junior.company.fitness_studio_management.service.GymEventService;
+import com.junior.company.fitness_studio_management.service.GymEventServiceImpl;
+import com.junior.company.fitness_studio_management.service.ResourceVersionService;
+import com.junior.company.fitness_studio_management.service.TrainerScheduleService;
+import com.junior.company.fitness_studio_management.service.TrainerService;
+import com.junior.company.fitness_studio_management.service.TrainerServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.GYM_EVENTS_CACHE;
+import static com.junior.company.fitness_studio_management.cache.CacheConstants.TRAINERS_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig({CacheConfig.class, TrainerServiceImpl.class, GymEventServiceImpl.class})
+@TestPropertySource(properties = "response-cache.enabled=true")
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class CacheConfigTest {
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private GymEventService gymEventService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private TrainerRepository trainerRepository;
+
+    @MockBean
+    private GymEventRepository gymEventRepository;
+
+    @MockBean
+    private FitnessClassRepository fitnessClassRepository;
+
+    @MockBean
+    private CurrentUserResolver currentUserResolver;
+
+    @MockBean
+    private GymEventReservationService gymEventReservationService;
+
+    @MockBean
+    private TrainerScheduleService trainerScheduleService;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    @MockBean
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache(String cacheName) {
+        return (Cache<Object, Object>) cacheManager.getCache(cacheName).getNativeCache();
+    }
+
+    private static Trainer trainer() {
+        return Trainer.builder()
+                .id(1L)
+                .firstName("first_name")
+                .lastName("last_name")
+                .email("email@email.com")
+                .description("description")
+                .build();
+    }
+
+    private static GymEvent gymEvent() {
+        return GymEvent.builder()
+                .id(1L)
+                .startTime(LocalDateTime.of(3000, 1, 1, 12, 0))
+                .endTime(LocalDateTime.of(3000, 1, 1, 13, 0))
+                .duration("01:00")
+                .participantsLimit(10)
+                .build();
+    }
+
+    @Test
+    void shouldServeTrainersFromCache_givenRepeatedLookups() {
+
+        // given
+        given(trainerRepository.findAll()).willReturn(List.of(trainer()));
+        long hitCount = nativeCache(TRAINERS_CACHE).stats().hitCount();
+
+        // when
+        trainerService.findAllTrainers();
+        List<Trainer> result = trainerService.findAllTrainers();
+
+        // then
+        assertThat(result).hasSize(1);
+        verify(trainerRepository, times(1)).findAll();
+        assertThat(nativeCache(TRAINERS_CACHE).stats().hitCount() - hitCount).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReloadTrainers_afterTrainerIsCreated() {
+
+        // given
+        given(trainerRepository.findAll()).willReturn(List.of(trainer()));
+        given(trainerRepository.save(any())).willReturn(trainer());
+        trainerService.findAllTrainers();
+
+        // when
+        trainerService.createTrainer(TrainerRequest.builder()
+                .firstName("first_name")
+                .lastName("last_name")
+                .email("email@email.com")
+                .description("description")
+                .build());
+        trainerService.findAllTrainers();
+
+        // then
+        verify(trainerRepository, times(2)).findAll();
+    }
+
+    @Test
+    void shouldReloadGymEvent_afterUserEnrolls() {
+
+        // given
+        given(gymEventRepository.findWithFitnessClassById(1L)).willReturn(Optional.of(gymEvent()));
+        given(currentUserResolver.getCurrentUser()).willReturn(AppUser.builder().id(2L).build());
+        given(gymEventReservationService.reserveSeat(anyLong(), anyLong())).willReturn(true);
+        gymEventService.findGymEventById(1L);
+        gymEventService.findGymEventById(1L);
+
+        // when
+        gymEventService.enrollUser(1L);
+        gymEventService.findGymEventById(1L);
+
+        // then
+        verify(gymEventRepository, times(2)).findWithFitnessClassById(1L);
+        assertThat(nativeCache(GYM_EVENTS_CACHE).estimatedSize()).isEqualTo(1);
+    }
+}
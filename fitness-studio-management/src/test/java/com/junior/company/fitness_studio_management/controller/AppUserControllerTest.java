@@ -3,6 +3,8 @@ package com.junior.company.fitness_studio_management.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.junior.company.fitness_studio_management.dto.AppUserRequest;
 import com.junior.company.fitness_studio_management.dto.AppUserResponse;
+import com.junior.company.fitness_studio_management.dto.ExportFormat;
+import com.junior.company.fitness_studio_management.exception.PasswordHashingUnavailableException;
 import com.junior.company.fitness_studio_management.exception.PermissionDeniedException;
 import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
 import com.junior.company.fitness_studio_management.mapper.AppUserMapper;
@@ -10,12 +12,16 @@ import com.junior.company.fitness_studio_management.model.AppUser;
 import com.junior.company.fitness_studio_management.model.Response;
 import com.junior.company.fitness_studio_management.security.AppUserDetailsService;
 import com.junior.company.fitness_studio_management.service.AppUserService;
+import com.junior.company.fitness_studio_management.service.ExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -28,12 +34,16 @@ import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AppUserController.class)
+@Import(SimpleMeterRegistry.class)
 @TestMethodOrder(MethodOrderer.MethodName.class)
 class AppUserControllerTest {
 
@@ -46,6 +56,9 @@ class AppUserControllerTest {
     @MockBean
     private AppUserService appUserService;
 
+    @MockBean
+    private ExportService exportService;
+
     @MockBean
     private AppUserDetailsService appUserDetailsService;
 
@@ -310,6 +323,38 @@ class AppUserControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
 
+    @Test
+    void shouldNotRegisterUser_whenPasswordHashingIsOverCapacity() throws Exception {
+
+        // given
+        AppUserRequest appUserRequest = AppUserRequest.builder()
+                .username("username")
+                .password("password")
+                .matchingPassword("password")
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("email@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .build();
+
+        given(appUserService.registerUser(any())).willThrow(
+                new PasswordHashingUnavailableException("Too many concurrent logins, try again later", 1));
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Too many concurrent logins, try again later")
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(appUserRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
     @Test
     @WithMockUser(roles = {"USER"})
     void shouldUpdateUser_givenValidAppUserRequest() throws Exception {
@@ -480,4 +525,25 @@ class AppUserControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldExportUsersAsCsv() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/export").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=users.csv"));
+        verify(exportService).exportUsers(eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotExportUsers_whenCurrentUserIsNotAdmin() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/users/export"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -6,14 +6,19 @@ import com.junior.company.fitness_studio_management.exception.ResourceNotFoundEx
 import com.junior.company.fitness_studio_management.model.DifficultyLevel;
 import com.junior.company.fitness_studio_management.model.FitnessClass;
 import com.junior.company.fitness_studio_management.model.Response;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
 import com.junior.company.fitness_studio_management.security.AppUserDetailsService;
 import com.junior.company.fitness_studio_management.service.FitnessClassService;
+import com.junior.company.fitness_studio_management.service.ResourceVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -26,11 +31,15 @@ import java.util.Map;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(FitnessClassController.class)
+@Import(SimpleMeterRegistry.class)
 @TestMethodOrder(MethodOrderer.MethodName.class)
 @WithMockUser(roles = {"ADMIN"})
 class FitnessClassControllerTest {
@@ -44,6 +53,9 @@ class FitnessClassControllerTest {
     @MockBean
     private FitnessClassService fitnessClassService;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     @MockBean
     private AppUserDetailsService appUserDetailsService;
 
@@ -502,4 +514,18 @@ class FitnessClassControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldNotGetFitnessClassById_whenETagMatches() throws Exception {
+
+        // given
+        given(resourceVersionService.findVersion(VersionedResource.FITNESS_CLASSES)).willReturn(7L);
+
+        // when then
+        mockMvc.perform(get("/api/v1/fitness-classes/{fitnessClassId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"fitness-classes-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        verify(fitnessClassService, never()).findFitnessClassById(anyLong());
+    }
+}
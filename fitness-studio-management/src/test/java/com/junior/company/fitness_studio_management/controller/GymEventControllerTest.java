@@ -1,41 +1,62 @@
 package com.junior.company.fitness_studio_management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.fitness_studio_management.dto.ExportFormat;
+import com.junior.company.fitness_studio_management.dto.GymEventCursor;
+import com.junior.company.fitness_studio_management.dto.GymEventPageResponse;
+import com.junior.company.fitness_studio_management.dto.GymEventRecurrenceRequest;
+import com.junior.company.fitness_studio_management.dto.GymEventRecurrenceResponse;
 import com.junior.company.fitness_studio_management.dto.GymEventRequest;
 import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
+import com.junior.company.fitness_studio_management.exception.TrainerConflictException;
 import com.junior.company.fitness_studio_management.mapper.GymEventMapper;
 import com.junior.company.fitness_studio_management.model.DifficultyLevel;
 import com.junior.company.fitness_studio_management.model.FitnessClass;
 import com.junior.company.fitness_studio_management.model.GymEvent;
 import com.junior.company.fitness_studio_management.model.Response;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
 import com.junior.company.fitness_studio_management.security.AppUserDetailsService;
+import com.junior.company.fitness_studio_management.service.ExportService;
 import com.junior.company.fitness_studio_management.service.GymEventService;
+import com.junior.company.fitness_studio_management.service.ResourceVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(GymEventController.class)
+@Import(SimpleMeterRegistry.class)
 @TestMethodOrder(MethodOrderer.MethodName.class)
 class GymEventControllerTest {
 
@@ -48,6 +69,12 @@ class GymEventControllerTest {
     @MockBean
     private GymEventService gymEventService;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    @MockBean
+    private ExportService exportService;
+
     @MockBean
     private AppUserDetailsService appUserDetailsService;
 
@@ -89,14 +116,17 @@ class GymEventControllerTest {
 
         List<GymEvent> gymEvents = List.of(gymEventOne, gymEventTwo);
 
-        given(gymEventService.findAllGymEvents())
-                .willReturn(GymEventMapper.mapGymEventListToGymEventResponseList(gymEvents));
+        GymEventPageResponse gymEventPage = GymEventPageResponse.builder()
+                .gymEvents(GymEventMapper.mapGymEventListToGymEventResponseList(gymEvents))
+                .build();
+
+        given(gymEventService.findAllGymEvents(null, null, null, null, null)).willReturn(gymEventPage);
 
         Response expectedResponseBody = Response.builder()
                 .status(HttpStatus.OK)
                 .statusCode(HttpStatus.OK.value())
-                .message("Retrieved list of gym events")
-                .data(Map.of("gym_events", gymEventService.findAllGymEvents()))
+                .message("Retrieved page of gym events")
+                .data(Map.of("gym_events", gymEventPage.getGymEvents()))
                 .build();
 
         // when then
@@ -106,6 +136,51 @@ class GymEventControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
 
+    @Test
+    void shouldFindPageOfGymEventsWithNextCursor_givenTimeWindowAndCursor() throws Exception {
+
+        // given
+        LocalDateTime from = LocalDateTime.of(2000, 1, 1, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2000, 2, 1, 0, 0, 0);
+        LocalDateTime cursorStartTime = LocalDateTime.of(2000, 1, 1, 10, 0, 0);
+
+        GymEvent gymEvent = GymEvent.builder()
+                .id(2L)
+                .startTime(LocalDateTime.of(2000, 1, 1, 12, 0, 0))
+                .endTime(LocalDateTime.of(2000, 1, 1, 13, 0, 0))
+                .duration("01:00")
+                .build();
+
+        GymEventPageResponse gymEventPage = GymEventPageResponse.builder()
+                .gymEvents(GymEventMapper.mapGymEventListToGymEventResponseList(List.of(gymEvent)))
+                .nextCursor(GymEventCursor.builder()
+                        .startTime(gymEvent.getStartTime())
+                        .id(gymEvent.getId())
+                        .build())
+                .build();
+
+        given(gymEventService.findAllGymEvents(from, to, cursorStartTime, 1L, 1)).willReturn(gymEventPage);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved page of gym events")
+                .data(Map.of("gym_events", gymEventPage.getGymEvents(),
+                        "next_cursor", gymEventPage.getNextCursor()))
+                .build();
+
+        // when then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/gym-events")
+                        .param("from", "2000-01-01 00:00")
+                        .param("to", "2000-02-01 00:00")
+                        .param("cursorStartTime", "2000-01-01 10:00")
+                        .param("cursorId", "1")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
     @Test
     void shouldGetGymEventById_givenValidGymEventId() throws Exception {
 
@@ -309,6 +384,109 @@ class GymEventControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldNotCreateGymEvent_whenTrainerIsBooked() throws Exception {
+
+        // given
+        GymEventRequest gymEventRequest = GymEventRequest.builder()
+                .startTime(LocalDateTime.of(3000, 1, 1, 12, 0, 0))
+                .endTime(LocalDateTime.of(3000, 1, 1, 13, 0, 0))
+                .participantsLimit(10)
+                .fitnessClassId(1L)
+                .build();
+
+        given(gymEventService.createGymEvent(any())).willThrow(
+                new TrainerConflictException("Trainer with id: 1 is already booked for gym event with id: 2 at that time"));
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.CONFLICT)
+                .statusCode(HttpStatus.CONFLICT.value())
+                .message("Trainer with id: 1 is already booked for gym event with id: 2 at that time")
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/gym-events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(gymEventRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldCreateRecurringGymEvents_givenValidRecurrenceRequest() throws Exception {
+
+        // given
+        GymEventRecurrenceRequest recurrenceRequest = GymEventRecurrenceRequest.builder()
+                .firstDay(LocalDate.of(3000, 1, 1))
+                .lastDay(LocalDate.of(3000, 6, 30))
+                .daysOfWeek(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY))
+                .startTime(LocalTime.of(18, 0))
+                .endTime(LocalTime.of(19, 0))
+                .participantsLimit(20)
+                .fitnessClassId(1L)
+                .build();
+
+        GymEventRecurrenceResponse recurrenceResponse = GymEventRecurrenceResponse.builder()
+                .createdCount(78)
+                .firstStartTime(LocalDateTime.of(3000, 1, 1, 18, 0))
+                .lastStartTime(LocalDateTime.of(3000, 6, 30, 18, 0))
+                .fitnessClassId(1L)
+                .build();
+
+        given(gymEventService.createRecurringGymEvents(any())).willReturn(recurrenceResponse);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.CREATED)
+                .statusCode(HttpStatus.CREATED.value())
+                .message("Created recurring gym events")
+                .data(Map.of("recurrence", recurrenceResponse))
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/gym-events/recurring")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(recurrenceRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldNotCreateRecurringGymEvents_givenNoDaysOfWeek() throws Exception {
+
+        // given
+        GymEventRecurrenceRequest recurrenceRequest = GymEventRecurrenceRequest.builder()
+                .firstDay(LocalDate.of(3000, 1, 1))
+                .lastDay(LocalDate.of(3000, 6, 30))
+                .daysOfWeek(Set.of())
+                .startTime(LocalTime.of(18, 0))
+                .endTime(LocalTime.of(19, 0))
+                .participantsLimit(20)
+                .fitnessClassId(1L)
+                .build();
+
+        Map<String, String> errors = new HashMap<>();
+        errors.put("daysOfWeek", "Cannot be empty");
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .message("error occurred")
+                .data(Map.of("errors", errors))
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/gym-events/recurring")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(recurrenceRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void shouldDeleteGymEventById_givenValidGymEventId() throws Exception {
@@ -492,4 +670,145 @@ class GymEventControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldJoinWaitlist_givenValidGymEventId() throws Exception {
+
+        // given
+        Long gymEventId = 1L;
+
+        given(gymEventService.joinWaitlist(gymEventId)).willReturn(3L);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Joined waitlist of event")
+                .data(Map.of("waitlist_position", 3L))
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/gym-events/waitlist/{gymEventId}", gymEventId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotJoinWaitlist_whenFoundGymEventIsNotFull() throws Exception {
+
+        // given
+        Long gymEventId = 1L;
+
+        given(gymEventService.joinWaitlist(gymEventId)).willThrow(
+                new IllegalStateException(String.format("Gym event with id: %s is not full", gymEventId)));
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .message(String.format("Gym event with id: %s is not full", gymEventId))
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/gym-events/waitlist/{gymEventId}", gymEventId))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldFindWaitlistPosition_givenValidGymEventId() throws Exception {
+
+        // given
+        Long gymEventId = 1L;
+
+        given(gymEventService.findWaitlistPosition(gymEventId)).willReturn(1L);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message(String.format("Retrieved waitlist position in event with id: %s", gymEventId))
+                .data(Map.of("waitlist_position", 1L))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/gym-events/waitlist/{gymEventId}", gymEventId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotFindWaitlistPosition_whenUserIsNotWaiting() throws Exception {
+
+        // given
+        Long gymEventId = 1L;
+        String message = String.format("User with id: %s is not on the waitlist of gym event with id: %s", 2L, gymEventId);
+
+        given(gymEventService.findWaitlistPosition(gymEventId)).willThrow(new ResourceNotFoundException(message));
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.NOT_FOUND)
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .message(message)
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/gym-events/waitlist/{gymEventId}", gymEventId))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldExportGymEventsAsCsv() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/gym-events/export").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=gym-events.csv"));
+        verify(exportService).exportGymEvents(eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotExportGymEvents_whenCurrentUserIsNotAdmin() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/gym-events/export"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldNotFindGymEventById_whenETagMatches() throws Exception {
+
+        // given
+        given(resourceVersionService.findVersion(VersionedResource.GYM_EVENTS)).willReturn(12L);
+
+        // when then
+        mockMvc.perform(get("/api/v1/gym-events/{gymEventId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"gym-events-12\""))
+                .andExpect(status().isNotModified());
+        verify(gymEventService, never()).findGymEventById(anyLong());
+    }
+
+    @Test
+    void shouldFindAllGymEvents_whenETagIsFromPreviousDay() throws Exception {
+
+        // given
+        given(resourceVersionService.findVersion(VersionedResource.GYM_EVENTS)).willReturn(12L);
+        given(gymEventService.findAllGymEvents(any(), any(), any(), any(), any()))
+                .willReturn(GymEventPageResponse.builder().gymEvents(List.of()).build());
+
+        // when then
+        mockMvc.perform(get("/api/v1/gym-events")
+                        .header(HttpHeaders.IF_NONE_MATCH, String.format("\"gym-events-12-%s\"", LocalDate.now().minusDays(1))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, String.format("\"gym-events-12-%s\"", LocalDate.now())));
+    }
+}
@@ -0,0 +1,84 @@
+package com.junior.company.fitness_studio_management.controller;
+
+import com.junior.company.fitness_studio_management.security.JwtTokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// src/test/resources/application.properties replaces the main one, so the management settings are repeated here
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,prometheus",
+        "management.metrics.tags.application=fitness-studio-management",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    @Test
+    void shouldExposeApplicationAndInfrastructureMetrics_givenAdminAccessToken() throws Exception {
+
+        // given
+        String accessToken = jwtTokenService.createAccessToken("admin", List.of("ROLE_ADMIN"), "test");
+        mockMvc.perform(get("/api/v1/trainers"));
+        mockMvc.perform(post("/api/v1/login").content("{\"username\":\"user\",\"password\":\"wrong\"}"));
+        mockMvc.perform(get("/api/v1/users").header("Authorization", "Bearer invalid"));
+
+        // when then
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/api/v1/trainers\"")))
+                .andExpect(content().string(containsString("security_logins_total{application=\"fitness-studio-management\",outcome=\"failure\",}")))
+                .andExpect(content().string(containsString("security_token_verification_failures_total")))
+                .andExpect(content().string(containsString("executor_queued_tasks{application=\"fitness-studio-management\",name=\"password.hashing\",}")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_")));
+    }
+
+    @Test
+    void shouldNotExposeMetrics_withoutAuthentication() throws Exception {
+
+        // when then
+        // anonymous requests to protected paths are sent to the login form
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isFound());
+    }
+
+    @Test
+    void shouldNotExposeMetrics_givenUserAccessToken() throws Exception {
+
+        // given
+        String accessToken = jwtTokenService.createAccessToken("user", List.of("ROLE_USER"), "test");
+
+        // when then
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldExposeHealth_withoutAuthentication() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,108 @@
+package com.junior.company.fitness_studio_management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.fitness_studio_management.dto.OccupancyResponse;
+import com.junior.company.fitness_studio_management.model.Response;
+import com.junior.company.fitness_studio_management.security.AppUserDetailsService;
+import com.junior.company.fitness_studio_management.service.OccupancyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReportController.class)
+@Import(SimpleMeterRegistry.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private OccupancyService occupancyService;
+
+    @MockBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldGetOccupancyOfFitnessClasses() throws Exception {
+
+        // given
+        List<OccupancyResponse> occupancy = List.of(OccupancyResponse.builder()
+                .fitnessClassId(1L)
+                .name("name")
+                .eventCount(2)
+                .seatsTotal(20)
+                .seatsTaken(5)
+                .fillRate(0.25)
+                .build());
+
+        given(occupancyService.findOccupancyByFitnessClass()).willReturn(occupancy);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Retrieved occupancy of fitness classes")
+                .data(Map.of("occupancy", occupancy))
+                .build();
+
+        // when then
+        mockMvc.perform(get("/api/v1/reports/occupancy/fitness-classes"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)))
+                .andExpect(jsonPath("$.data.occupancy[0].trainerId").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldRebuildOccupancy() throws Exception {
+
+        // given
+        given(occupancyService.rebuildOccupancy()).willReturn(12L);
+
+        Response expectedResponseBody = Response.builder()
+                .status(HttpStatus.OK)
+                .statusCode(HttpStatus.OK.value())
+                .message("Rebuilt occupancy totals")
+                .data(Map.of("processed_gym_events", 12L))
+                .build();
+
+        // when then
+        mockMvc.perform(post("/api/v1/reports/occupancy/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void shouldNotGetOccupancyOfTrainers_givenUserRole() throws Exception {
+
+        // when then
+        mockMvc.perform(get("/api/v1/reports/occupancy/trainers"))
+                .andExpect(status().isForbidden());
+    }
+}
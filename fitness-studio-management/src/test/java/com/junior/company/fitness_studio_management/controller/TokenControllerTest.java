@@ -0,0 +1,111 @@
+package com.junior.company.fitness_studio_management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.fitness_studio_management.dto.RefreshTokenRequest;
+import com.junior.company.fitness_studio_management.security.AppUserDetailsService;
+import com.junior.company.fitness_studio_management.security.JwtTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TokenController.class)
+@Import(SimpleMeterRegistry.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TokenControllerTest {
+
+    private static final String ISSUER = "http://localhost/api/v1/login";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    @MockBean
+    private AppUserDetailsService appUserDetailsService;
+
+    private String refreshTokenRequest(String refreshToken) throws Exception {
+        return objectMapper.writeValueAsString(RefreshTokenRequest.builder().refreshToken(refreshToken).build());
+    }
+
+    @Test
+    void shouldRefreshAccessToken_givenValidRefreshToken() throws Exception {
+
+        // given
+        String refreshToken = jwtTokenService.createRefreshToken("user", List.of("ROLE_USER"), ISSUER);
+
+        // when
+        MvcResult result = mockMvc.perform(post("/api/v1/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshTokenRequest(refreshToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is("Refreshed access token")))
+                .andExpect(jsonPath("$.data.expires_in", is(900)))
+                .andReturn();
+
+        // then
+        String accessToken = objectMapper.readTree(result.getResponse().getContentAsString())
+                .path("data").path("access_token").asText();
+        assertThat(jwtTokenService.verifyAccessToken(accessToken).getName()).isEqualTo("user");
+    }
+
+    @Test
+    void shouldNotRefreshAccessToken_givenAccessToken() throws Exception {
+
+        // given
+        String accessToken = jwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+
+        // when then
+        mockMvc.perform(post("/api/v1/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshTokenRequest(accessToken)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message", is("The Token is not a refresh token.")));
+    }
+
+    @Test
+    void shouldRejectRevokedTokens_afterRevocation() throws Exception {
+
+        // given
+        String accessToken = jwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+        String refreshToken = jwtTokenService.createRefreshToken("user", List.of("ROLE_USER"), ISSUER);
+
+        // when
+        mockMvc.perform(post("/api/v1/token/revoke")
+                        .header(AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshTokenRequest(refreshToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.is_revoked", is(true)));
+
+        // then
+        mockMvc.perform(get("/api/v1/users").header(AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error_message", is("The Token has been revoked.")));
+        mockMvc.perform(post("/api/v1/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshTokenRequest(refreshToken)))
+                .andExpect(status().isUnauthorized());
+    }
+}
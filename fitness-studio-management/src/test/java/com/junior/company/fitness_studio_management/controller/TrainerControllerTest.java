@@ -5,14 +5,19 @@ import com.junior.company.fitness_studio_management.dto.TrainerRequest;
 import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
 import com.junior.company.fitness_studio_management.model.Response;
 import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
 import com.junior.company.fitness_studio_management.security.AppUserDetailsService;
+import com.junior.company.fitness_studio_management.service.ResourceVersionService;
 import com.junior.company.fitness_studio_management.service.TrainerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -25,11 +30,15 @@ import java.util.Map;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TrainerController.class)
+@Import(SimpleMeterRegistry.class)
 @TestMethodOrder(MethodOrderer.MethodName.class)
 class TrainerControllerTest {
 
@@ -42,6 +51,9 @@ class TrainerControllerTest {
     @MockBean
     private TrainerService trainerService;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     @MockBean
     private AppUserDetailsService appUserDetailsService;
 
@@ -324,4 +336,32 @@ class TrainerControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedResponseBody)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetListOfTrainersWithETag() throws Exception {
+
+        // given
+        given(resourceVersionService.findVersion(VersionedResource.TRAINERS)).willReturn(3L);
+        given(trainerService.findAllTrainers()).willReturn(List.of());
+
+        // when then
+        mockMvc.perform(get("/api/v1/trainers"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"trainers-3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void shouldNotGetListOfTrainers_whenETagMatches() throws Exception {
+
+        // given
+        given(resourceVersionService.findVersion(VersionedResource.TRAINERS)).willReturn(3L);
+
+        // when then
+        mockMvc.perform(get("/api/v1/trainers").header(HttpHeaders.IF_NONE_MATCH, "\"trainers-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"trainers-3\""))
+                .andExpect(content().string(""));
+        verify(trainerService, never()).findAllTrainers();
+    }
+}
@@ -0,0 +1,116 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// src/test/resources/application.properties replaces the main one, so the batching settings are repeated here
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled-lo",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class BatchInsertTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private GymEventRepository gymEventRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private static AppUser appUser(int number) {
+        return AppUser.builder()
+                .username("user" + number)
+                .password("password")
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("user" + number + "@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .isEnabled(true)
+                .build();
+    }
+
+    private static GymEvent gymEvent(int number) {
+        return GymEvent.builder()
+                .startTime(LocalDateTime.now().plusDays(1).plusHours(number))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(number + 1))
+                .duration("01:00")
+                .participantsLimit(10)
+                .build();
+    }
+
+    @Test
+    void shouldInsertAppUsersInBatches_givenHundredAppUsers() {
+
+        // given
+        List<AppUser> appUsers = IntStream.range(0, 100)
+                .mapToObj(BatchInsertTest::appUser)
+                .collect(Collectors.toList());
+
+        // when
+        appUserRepository.saveAll(appUsers);
+        entityManager.flush();
+
+        // then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        // two insert batches of 50 rows plus at most two sequence calls, depending on the ids left in the pool
+        assertThat(statistics.getPrepareStatementCount()).isBetween(2L, 4L);
+        assertThat(appUserRepository.count()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldGroupInsertsByTable_givenInterleavedGymEventsAndAppUsers() {
+
+        // given
+        List<Object> entities = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            entities.add(gymEvent(i));
+            entities.add(appUser(i));
+        }
+
+        // when
+        entities.forEach(entityManager::persist);
+        entityManager.flush();
+
+        // then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(80);
+        // one insert batch per table plus at most one sequence call per table
+        assertThat(statistics.getPrepareStatementCount()).isBetween(2L, 4L);
+        assertThat(gymEventRepository.count()).isEqualTo(40);
+        assertThat(appUserRepository.count()).isEqualTo(40);
+    }
+}
@@ -0,0 +1,193 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.junior.company.fitness_studio_management.mapper.AppUserMapper;
+import com.junior.company.fitness_studio_management.mapper.GymEventMapper;
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.DifficultyLevel;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Role;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FetchPlanStatementCountTest {
+
+    private static final LocalDateTime START_TIME = LocalDateTime.of(3000, 1, 1, 12, 0, 0);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private GymEventRepository gymEventRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private FitnessClassRepository fitnessClassRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    private AppUser givenScheduleWithParticipant(int size) {
+        Role role = testEntityManager.persist(new Role(null, "USER"));
+        List<GymEvent> gymEvents = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            List<Trainer> trainers = new ArrayList<>();
+            for (int j = 0; j < 2; j++) {
+                trainers.add(testEntityManager.persist(Trainer.builder()
+                        .firstName("firstname")
+                        .lastName("lastname")
+                        .email("trainer" + i + "_" + j + "@email.com")
+                        .description("description")
+                        .build()));
+            }
+            FitnessClass fitnessClass = testEntityManager.persist(FitnessClass.builder()
+                    .name("name" + i)
+                    .difficultyLevel(DifficultyLevel.BEGINNER)
+                    .description("description")
+                    .trainers(trainers)
+                    .build());
+            gymEvents.add(testEntityManager.persist(GymEvent.builder()
+                    .startTime(START_TIME.plusHours(i))
+                    .endTime(START_TIME.plusHours(i).plusMinutes(30))
+                    .duration("00:30")
+                    .participantsLimit(size)
+                    .fitnessClass(fitnessClass)
+                    .build()));
+        }
+
+        AppUser participant = null;
+        for (int i = 0; i < size; i++) {
+            AppUser appUser = testEntityManager.persist(AppUser.builder()
+                    .username("user" + i)
+                    .password("password")
+                    .roles(new ArrayList<>(List.of(role)))
+                    .firstName("firstname")
+                    .lastName("lastname")
+                    .email("user" + i + "@email.com")
+                    .dob(LocalDate.of(2000, 1, 1))
+                    .isEnabled(true)
+                    .gymEvents(new ArrayList<>(gymEvents))
+                    .build());
+            if (participant == null) {
+                participant = appUser;
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics.clear();
+        return participant;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 10})
+    void shouldLoadGymEventPageWithConstantNumberOfStatements(int size) throws Exception {
+
+        // given
+        givenScheduleWithParticipant(size);
+
+        // when
+        List<GymEvent> gymEvents = gymEventRepository.findFirstPage(
+                START_TIME, START_TIME.plusDays(1), PageRequest.of(0, size + 1));
+        objectMapper.writeValueAsString(GymEventMapper.mapGymEventListToGymEventResponseList(gymEvents));
+
+        // then
+        assertThat(gymEvents.size()).isEqualTo(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 10})
+    void shouldLoadGymEventWithParticipantsWithConstantNumberOfStatements(int size) throws Exception {
+
+        // given
+        givenScheduleWithParticipant(size);
+        Long gymEventId = gymEventRepository.findFirstPage(
+                START_TIME, START_TIME.plusDays(1), PageRequest.of(0, 1)).get(0).getId();
+        testEntityManager.clear();
+        statistics.clear();
+
+        // when
+        GymEvent gymEvent = gymEventRepository.findWithParticipantsById(gymEventId).orElseThrow();
+        objectMapper.writeValueAsString(GymEventMapper.mapGymEventToGymEventResponseMng(gymEvent));
+
+        // then
+        assertThat(gymEvent.getEnrolledParticipants().size()).isEqualTo(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 10})
+    void shouldLoadAppUsersWithConstantNumberOfStatements(int size) throws Exception {
+
+        // given
+        givenScheduleWithParticipant(size);
+
+        // when
+        List<AppUser> appUsers = appUserRepository.findAllWithRoles();
+        objectMapper.writeValueAsString(AppUserMapper.mapAppUserListToAppUserResponseList(appUsers));
+
+        // then
+        assertThat(appUsers.size()).isEqualTo(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 10})
+    void shouldLoadAppUserWithGymEventsWithConstantNumberOfStatements(int size) throws Exception {
+
+        // given
+        AppUser participant = givenScheduleWithParticipant(size);
+
+        // when
+        AppUser appUser = appUserRepository.findWithGymEventsById(participant.getId()).orElseThrow();
+        objectMapper.writeValueAsString(AppUserMapper.mapAppUserToAppUserResponse(appUser));
+
+        // then
+        assertThat(appUser.getGymEvents().size()).isEqualTo(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 10})
+    void shouldLoadFitnessClassesWithConstantNumberOfStatements(int size) throws Exception {
+
+        // given
+        givenScheduleWithParticipant(size);
+
+        // when
+        List<FitnessClass> fitnessClasses = fitnessClassRepository.findAllWithTrainers();
+        objectMapper.writeValueAsString(fitnessClasses);
+
+        // then
+        assertThat(fitnessClasses.size()).isEqualTo(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,237 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.DifficultyLevel;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class GymEventRepositoryTest {
+
+    @Autowired
+    private GymEventRepository gymEventRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private FitnessClassRepository fitnessClassRepository;
+
+    private GymEvent saveGymEvent(LocalDateTime startTime, int participantsLimit, int currentParticipantsNumber) {
+        return gymEventRepository.save(GymEvent.builder()
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1))
+                .duration("01:00")
+                .participantsLimit(participantsLimit)
+                .currentParticipantsNumber(currentParticipantsNumber)
+                .build());
+    }
+
+    private AppUser saveAppUser(String username) {
+        return appUserRepository.save(AppUser.builder()
+                .username(username)
+                .password("password")
+                .firstName("firstname")
+                .lastName("lastname")
+                .email(username + "@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .isEnabled(true)
+                .build());
+    }
+
+    @Test
+    void shouldClaimSeat_whenGymEventHasFreePlaces() {
+
+        // given
+        GymEvent gymEvent = saveGymEvent(LocalDateTime.now().plusDays(1), 2, 1);
+
+        // when
+        int result = gymEventRepository.claimSeat(gymEvent.getId(), LocalDateTime.now());
+
+        // then
+        assertThat(result).isEqualTo(1);
+        assertThat(gymEventRepository.findById(gymEvent.getId()).orElseThrow().getCurrentParticipantsNumber())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotClaimSeat_whenGymEventIsFull() {
+
+        // given
+        GymEvent gymEvent = saveGymEvent(LocalDateTime.now().plusDays(1), 2, 2);
+
+        // when
+        int result = gymEventRepository.claimSeat(gymEvent.getId(), LocalDateTime.now());
+
+        // then
+        assertThat(result).isZero();
+        assertThat(gymEventRepository.findById(gymEvent.getId()).orElseThrow().getCurrentParticipantsNumber())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotClaimSeat_whenGymEventHasStarted() {
+
+        // given
+        GymEvent gymEvent = saveGymEvent(LocalDateTime.now().minusHours(1), 2, 0);
+
+        // when
+        int result = gymEventRepository.claimSeat(gymEvent.getId(), LocalDateTime.now());
+
+        // then
+        assertThat(result).isZero();
+    }
+
+    @Test
+    void shouldNotReleaseSeat_whenGymEventIsEmpty() {
+
+        // given
+        GymEvent gymEvent = saveGymEvent(LocalDateTime.now().plusDays(1), 2, 0);
+
+        // when
+        int result = gymEventRepository.releaseSeat(gymEvent.getId());
+
+        // then
+        assertThat(result).isZero();
+    }
+
+    @Test
+    void shouldInsertAndDeleteParticipant_givenValidGymEventIdAndAppUserId() {
+
+        // given
+        GymEvent gymEvent = saveGymEvent(LocalDateTime.now().plusDays(1), 2, 0);
+        AppUser appUser = saveAppUser("participant");
+
+        // when
+        gymEventRepository.insertParticipant(gymEvent.getId(), appUser.getId());
+        long countAfterInsert = gymEventRepository.countParticipant(gymEvent.getId(), appUser.getId());
+        int deleted = gymEventRepository.deleteParticipant(gymEvent.getId(), appUser.getId(), LocalDateTime.now());
+        long countAfterDelete = gymEventRepository.countParticipant(gymEvent.getId(), appUser.getId());
+
+        // then
+        assertThat(countAfterInsert).isEqualTo(1);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(countAfterDelete).isZero();
+    }
+
+    @Test
+    void shouldNotDeleteParticipant_whenGymEventHasStarted() {
+
+        // given
+        GymEvent gymEvent = saveGymEvent(LocalDateTime.now().minusHours(1), 2, 1);
+        AppUser appUser = saveAppUser("participant");
+        gymEventRepository.insertParticipant(gymEvent.getId(), appUser.getId());
+
+        // when
+        int result = gymEventRepository.deleteParticipant(gymEvent.getId(), appUser.getId(), LocalDateTime.now());
+
+        // then
+        assertThat(result).isZero();
+        assertThat(gymEventRepository.countParticipant(gymEvent.getId(), appUser.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFindOnlyUpcomingGymEventsOfParticipant() {
+
+        // given
+        GymEvent upcoming = saveGymEvent(LocalDateTime.now().plusDays(1), 2, 1);
+        GymEvent started = saveGymEvent(LocalDateTime.now().minusHours(1), 2, 1);
+        GymEvent otherUpcoming = saveGymEvent(LocalDateTime.now().plusDays(2), 2, 1);
+        AppUser appUser = saveAppUser("participant");
+        AppUser otherAppUser = saveAppUser("other");
+        gymEventRepository.insertParticipant(upcoming.getId(), appUser.getId());
+        gymEventRepository.insertParticipant(started.getId(), appUser.getId());
+        gymEventRepository.insertParticipant(otherUpcoming.getId(), otherAppUser.getId());
+
+        // when
+        List<Long> result = gymEventRepository.findUpcomingGymEventIdsByParticipant(appUser.getId(), LocalDateTime.now());
+
+        // then
+        assertThat(result).containsExactly(upcoming.getId());
+    }
+
+    @Test
+    void shouldFindPagesOfGymEventsInStartTimeAndIdOrder_givenTimeWindow() {
+
+        // given
+        LocalDateTime startTime = LocalDateTime.of(3000, 1, 1, 12, 0, 0);
+        GymEvent gymEventOne = saveGymEvent(startTime, 10, 0);
+        GymEvent gymEventTwo = saveGymEvent(startTime, 10, 0);
+        GymEvent gymEventThree = saveGymEvent(startTime.plusDays(1), 10, 0);
+        saveGymEvent(startTime.plusDays(40), 10, 0);
+        LocalDateTime from = startTime.minusDays(1);
+        LocalDateTime to = startTime.plusDays(30);
+
+        // when
+        List<GymEvent> firstPage = gymEventRepository.findFirstPage(from, to, PageRequest.of(0, 2));
+        GymEvent lastGymEvent = firstPage.get(firstPage.size() - 1);
+        List<GymEvent> secondPage = gymEventRepository.findPageAfter(
+                from, to, lastGymEvent.getStartTime(), lastGymEvent.getId(), PageRequest.of(0, 2));
+
+        // then
+        assertThat(firstPage).extracting(GymEvent::getId)
+                .containsExactly(gymEventOne.getId(), gymEventTwo.getId());
+        assertThat(secondPage).extracting(GymEvent::getId)
+                .containsExactly(gymEventThree.getId());
+    }
+
+    private FitnessClass saveFitnessClass(Trainer trainer) {
+        return fitnessClassRepository.save(FitnessClass.builder()
+                .name("name")
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .description("description")
+                .trainers(new ArrayList<>(List.of(trainer)))
+                .build());
+    }
+
+    private GymEvent saveGymEvent(FitnessClass fitnessClass, LocalDateTime startTime, LocalDateTime endTime) {
+        return gymEventRepository.save(GymEvent.builder()
+                .startTime(startTime)
+                .endTime(endTime)
+                .duration("01:00")
+                .participantsLimit(10)
+                .fitnessClass(fitnessClass)
+                .build());
+    }
+
+    @Test
+    void shouldFindOnlyOverlappingBookingsOfTrainer_givenTimeWindow() {
+
+        // given
+        Trainer trainer = trainerRepository.save(Trainer.builder().email("one@email.com").build());
+        Trainer otherTrainer = trainerRepository.save(Trainer.builder().email("two@email.com").build());
+        FitnessClass fitnessClass = saveFitnessClass(trainer);
+        FitnessClass otherFitnessClass = saveFitnessClass(otherTrainer);
+        LocalDateTime start = LocalDateTime.of(3000, 1, 6, 12, 0);
+        LocalDateTime end = start.plusHours(1);
+        GymEvent overlapping = saveGymEvent(fitnessClass, start.minusMinutes(30), start.plusMinutes(30));
+        saveGymEvent(fitnessClass, start.minusHours(1), start);
+        saveGymEvent(fitnessClass, end, end.plusHours(1));
+        saveGymEvent(otherFitnessClass, start, end);
+
+        // when
+        List<TrainerBooking> result = gymEventRepository.findTrainerBookings(
+                List.of(trainer.getId()), start, end, start.minusDays(1));
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getGymEventId()).isEqualTo(overlapping.getId());
+        assertThat(result.get(0).getTrainerId()).isEqualTo(trainer.getId());
+        assertThat(result.get(0).getStartTime()).isEqualTo(overlapping.getStartTime());
+    }
+}
@@ -0,0 +1,268 @@
+package com.junior.company.fitness_studio_management.repository;
+
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.DifficultyLevel;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Role;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// src/test/resources/application.properties replaces the main one, so the cache settings are repeated here
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.javax.persistence.sharedCache.mode=ENABLE_SELECTIVE",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FitnessClassRepository fitnessClassRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private GymEventRepository gymEventRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM event_user");
+        jdbcTemplate.update("DELETE FROM fitness_class_trainer");
+        gymEventRepository.deleteAllInBatch();
+        appUserRepository.deleteAllInBatch();
+        fitnessClassRepository.deleteAllInBatch();
+        trainerRepository.deleteAllInBatch();
+        roleRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private Trainer givenTrainer(String email) {
+        return trainerRepository.save(Trainer.builder()
+                .firstName("firstname")
+                .lastName("lastname")
+                .email(email)
+                .description("description")
+                .build());
+    }
+
+    private FitnessClass givenFitnessClass(String name, List<Trainer> trainers) {
+        return fitnessClassRepository.save(FitnessClass.builder()
+                .name(name)
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .description("description")
+                .trainers(trainers)
+                .build());
+    }
+
+    private List<String> listTrainerEmailsOfGymEvents() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<String> emails = new ArrayList<>();
+            for (GymEvent gymEvent : gymEventRepository.findFirstPage(
+                    LocalDateTime.now(), LocalDateTime.now().plusDays(2), PageRequest.of(0, 10))) {
+                gymEvent.getFitnessClass().getTrainers().forEach(trainer -> emails.add(trainer.getEmail()));
+            }
+            return emails;
+        });
+    }
+
+    @Test
+    void shouldLoadFitnessClassFromCache_givenRepeatedLookups() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>());
+        fitnessClassRepository.findById(fitnessClass.getId());
+        statistics.clear();
+
+        // when
+        FitnessClass result = fitnessClassRepository.findById(fitnessClass.getId()).orElseThrow();
+
+        // then
+        assertThat(result.getName()).isEqualTo("name");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLoadTrainersOfListedFitnessClassFromCache_givenRepeatedListings() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>(List.of(givenTrainer("one@email.com"))));
+        gymEventRepository.save(GymEvent.builder()
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(1))
+                .duration("01:00")
+                .participantsLimit(10)
+                .fitnessClass(fitnessClass)
+                .build());
+        listTrainerEmailsOfGymEvents();
+        statistics.clear();
+
+        // when
+        List<String> result = listTrainerEmailsOfGymEvents();
+
+        // then
+        assertThat(result).containsExactly("one@email.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void shouldLoadRoleFromQueryCache_givenRepeatedLookupsByName() {
+
+        // given
+        roleRepository.save(new Role(null, "USER"));
+        roleRepository.findByName("USER");
+        statistics.clear();
+
+        // when
+        Role result = roleRepository.findByName("USER").orElseThrow();
+
+        // then
+        assertThat(result.getName()).isEqualTo("USER");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLoadTrainersFromQueryCache_givenRepeatedListings() {
+
+        // given
+        givenTrainer("one@email.com");
+        givenTrainer("two@email.com");
+        trainerRepository.findAll();
+        statistics.clear();
+
+        // when
+        List<Trainer> result = trainerRepository.findAll();
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void shouldReadUpdatedFitnessClass_afterSave() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>());
+        fitnessClassRepository.findAllWithTrainers();
+
+        // when
+        fitnessClassRepository.save(FitnessClass.builder()
+                .id(fitnessClass.getId())
+                .name("updated_name")
+                .difficultyLevel(DifficultyLevel.ADVANCED)
+                .description("description")
+                .trainers(new ArrayList<>())
+                .build());
+
+        // then
+        assertThat(fitnessClassRepository.findById(fitnessClass.getId()).orElseThrow().getName())
+                .isEqualTo("updated_name");
+        assertThat(fitnessClassRepository.findAllWithTrainers()).extracting(FitnessClass::getName)
+                .containsExactly("updated_name");
+    }
+
+    @Test
+    void shouldReadAssignedTrainer_afterTrainerIsAssigned() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>(List.of(givenTrainer("one@email.com"))));
+        Trainer trainer = givenTrainer("two@email.com");
+        fitnessClassRepository.findWithTrainersById(fitnessClass.getId());
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            FitnessClass foundFitnessClass = fitnessClassRepository.findById(fitnessClass.getId()).orElseThrow();
+            foundFitnessClass.addTrainer(trainerRepository.findById(trainer.getId()).orElseThrow());
+        });
+
+        // then
+        assertThat(fitnessClassRepository.findWithTrainersById(fitnessClass.getId()).orElseThrow().getTrainers())
+                .extracting(Trainer::getEmail)
+                .containsExactlyInAnyOrder("one@email.com", "two@email.com");
+    }
+
+    @Test
+    void shouldKeepFitnessClassCached_afterEnrollmentIsWritten() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>());
+        GymEvent gymEvent = gymEventRepository.save(GymEvent.builder()
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(1))
+                .duration("01:00")
+                .participantsLimit(10)
+                .fitnessClass(fitnessClass)
+                .build());
+        AppUser appUser = appUserRepository.save(AppUser.builder()
+                .username("user")
+                .password("password")
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("user@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .isEnabled(true)
+                .build());
+        fitnessClassRepository.findById(fitnessClass.getId());
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                gymEventRepository.insertParticipant(gymEvent.getId(), appUser.getId()));
+        statistics.clear();
+
+        // then
+        assertThat(fitnessClassRepository.findById(fitnessClass.getId())).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
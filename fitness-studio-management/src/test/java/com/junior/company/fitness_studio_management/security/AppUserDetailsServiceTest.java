@@ -0,0 +1,118 @@
+package com.junior.company.fitness_studio_management.security;
+
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.repository.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class AppUserDetailsServiceTest {
+
+    // the lowest strengths BCrypt accepts, to keep the test fast
+    private static final int CURRENT_STRENGTH = 5;
+    private static final int OUTDATED_STRENGTH = 4;
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    private PasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider daoAuthenticationProvider;
+
+    @BeforeEach
+    void setUp() {
+        AppUserDetailsService appUserDetailsService = new AppUserDetailsService(appUserRepository);
+        passwordEncoder = SecurityConfig.delegatingPasswordEncoder(CURRENT_STRENGTH);
+        daoAuthenticationProvider = new DaoAuthenticationProvider();
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+        daoAuthenticationProvider.setUserDetailsService(appUserDetailsService);
+        daoAuthenticationProvider.setUserDetailsPasswordService(appUserDetailsService);
+    }
+
+    private void givenStoredPassword(String encodedPassword) {
+        AppUser appUser = AppUser.builder()
+                .id(1L)
+                .username("username")
+                .password(encodedPassword)
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("email@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .isEnabled(true)
+                .roles(new ArrayList<>())
+                .build();
+        given(appUserRepository.findByUsername("username")).willReturn(Optional.of(appUser));
+    }
+
+    private Authentication login() {
+        return daoAuthenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken("username", "password"));
+    }
+
+    @Test
+    void shouldRehashPassword_givenHashWithoutAlgorithmPrefix() {
+
+        // given
+        givenStoredPassword(new BCryptPasswordEncoder(CURRENT_STRENGTH).encode("password"));
+        ArgumentCaptor<String> passwordCaptor = ArgumentCaptor.forClass(String.class);
+
+        // when
+        Authentication result = login();
+
+        // then
+        verify(appUserRepository).updatePassword(eq("username"), passwordCaptor.capture());
+        assertThat(passwordCaptor.getValue()).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.matches("password", passwordCaptor.getValue())).isTrue();
+        assertThat(result.isAuthenticated()).isTrue();
+    }
+
+    @Test
+    void shouldRehashPassword_givenOutdatedStrength() {
+
+        // given
+        givenStoredPassword("{bcrypt}" + new BCryptPasswordEncoder(OUTDATED_STRENGTH).encode("password"));
+        ArgumentCaptor<String> passwordCaptor = ArgumentCaptor.forClass(String.class);
+
+        // when
+        login();
+
+        // then
+        verify(appUserRepository).updatePassword(eq("username"), passwordCaptor.capture());
+        assertThat(passwordCaptor.getValue()).startsWith("{bcrypt}$2a$05$");
+    }
+
+    @Test
+    void shouldNotRehashPassword_givenCurrentHash() {
+
+        // given
+        givenStoredPassword(passwordEncoder.encode("password"));
+
+        // when
+        login();
+
+        // then
+        verify(appUserRepository, never()).updatePassword(anyString(), anyString());
+    }
+}
@@ -0,0 +1,153 @@
+package com.junior.company.fitness_studio_management.security;
+
+import com.junior.company.fitness_studio_management.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class BoundedPasswordEncoderTest {
+
+    private MeterRegistry meterRegistry;
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        boundedPasswordEncoder.shutdown();
+    }
+
+    private PasswordEncoder blockingPasswordEncoder() {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        given(passwordEncoder.encode(any())).willAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "encoded";
+        });
+        return passwordEncoder;
+    }
+
+    private void awaitQueueSize(int queueSize) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (boundedPasswordEncoder.getQueueSize() != queueSize && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void shouldEncodeAndMatchPassword_givenFreeCapacity() {
+
+        // given
+        boundedPasswordEncoder = new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5), 1, meterRegistry);
+
+        // when
+        String encodedPassword = boundedPasswordEncoder.encode("password");
+
+        // then
+        assertThat(boundedPasswordEncoder.matches("password", encodedPassword)).isTrue();
+        assertThat(boundedPasswordEncoder.matches("wrong", encodedPassword)).isFalse();
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTIONS_METRIC).counters()).allMatch(
+                counter -> counter.count() == 0);
+    }
+
+    @Test
+    void shouldRejectImmediately_givenFullQueue() throws InterruptedException {
+
+        // given
+        boundedPasswordEncoder = new BoundedPasswordEncoder(
+                blockingPasswordEncoder(), 1, 1, Duration.ofSeconds(5), 2, meterRegistry);
+        CompletableFuture.runAsync(() -> boundedPasswordEncoder.encode("running"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> boundedPasswordEncoder.encode("queued"));
+        awaitQueueSize(1);
+
+        // when then
+        assertThatThrownBy(() -> boundedPasswordEncoder.encode("rejected"))
+                .isInstanceOf(PasswordHashingUnavailableException.class)
+                .extracting("retryAfterSeconds").isEqualTo(2L);
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTIONS_METRIC).tag("reason", "queue_full")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReject_whenHashingTimesOut() {
+
+        // given
+        boundedPasswordEncoder = new BoundedPasswordEncoder(
+                blockingPasswordEncoder(), 1, 1, Duration.ofMillis(50), 1, meterRegistry);
+
+        // when then
+        assertThatThrownBy(() -> boundedPasswordEncoder.encode("password"))
+                .isInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTIONS_METRIC).tag("reason", "timeout")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropQueuedHash_whenHashingTimesOut() throws InterruptedException {
+
+        // given
+        boundedPasswordEncoder = new BoundedPasswordEncoder(
+                blockingPasswordEncoder(), 1, 1, Duration.ofMillis(200), 1, meterRegistry);
+        CompletableFuture.runAsync(() -> boundedPasswordEncoder.encode("running"));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        assertThatThrownBy(() -> boundedPasswordEncoder.encode("queued"))
+                .isInstanceOf(PasswordHashingUnavailableException.class);
+
+        // then
+        assertThat(boundedPasswordEncoder.getQueueSize()).isZero();
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTIONS_METRIC).tag("reason", "queue_full")
+                .counter().count()).isZero();
+    }
+
+    @Test
+    void shouldPostponeHashUpgrade_givenQueuedHashes() throws InterruptedException {
+
+        // given
+        PasswordEncoder passwordEncoder = blockingPasswordEncoder();
+        given(passwordEncoder.upgradeEncoding("encoded")).willReturn(true);
+        boundedPasswordEncoder = new BoundedPasswordEncoder(
+                passwordEncoder, 1, 1, Duration.ofSeconds(5), 1, meterRegistry);
+        boolean upgradeWhenIdle = boundedPasswordEncoder.upgradeEncoding("encoded");
+        CompletableFuture.runAsync(() -> boundedPasswordEncoder.encode("running"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> boundedPasswordEncoder.encode("queued"));
+        awaitQueueSize(1);
+
+        // when
+        boolean result = boundedPasswordEncoder.upgradeEncoding("encoded");
+
+        // then
+        assertThat(upgradeWhenIdle).isTrue();
+        assertThat(result).isFalse();
+    }
+}
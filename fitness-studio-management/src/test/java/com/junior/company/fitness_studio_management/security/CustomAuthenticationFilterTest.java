@@ -0,0 +1,64 @@
+package com.junior.company.fitness_studio_management.security;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "security.login-throttle.max-failures-per-username=2",
+        "security.login-throttle.lockout-seconds=60"})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class CustomAuthenticationFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static MockHttpServletRequestBuilder login(String username) {
+        return post("/api/v1/login").content("{\"username\":\"" + username + "\",\"password\":\"wrong\"}");
+    }
+
+    @Test
+    void shouldRejectLoginBeforeVerifyingPassword_givenLockedOutUsername() throws Exception {
+
+        // given
+        mockMvc.perform(login("locked_out")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("locked_out")).andExpect(status().isUnauthorized());
+
+        // when then
+        mockMvc.perform(login("locked_out"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"))
+                .andExpect(jsonPath("$.message", is("Too many failed logins, try again later")));
+        mockMvc.perform(login("another_user"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRejectLoginWithoutThrottling_givenBlankCredentials() throws Exception {
+
+        // when then
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(login(" "))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(header().doesNotExist(HttpHeaders.RETRY_AFTER))
+                    .andExpect(jsonPath("$.message", is("Username and password must not be blank")));
+        }
+        mockMvc.perform(post("/api/v1/login").content("{\"username\":\"user\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/login").content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,84 @@
+package com.junior.company.fitness_studio_management.security;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class InMemoryLoginAttemptStoreTest {
+
+    private static final long NOW = 1_900_000_000_000L;
+
+    private final InMemoryLoginAttemptStore inMemoryLoginAttemptStore =
+            new InMemoryLoginAttemptStore(Duration.ofSeconds(100));
+
+    @Test
+    void shouldCountFailures_givenFailuresWithinWindow() {
+
+        // given
+        inMemoryLoginAttemptStore.recordFailure("key", NOW);
+        inMemoryLoginAttemptStore.recordFailure("key", NOW + 50_000);
+        inMemoryLoginAttemptStore.recordFailure("other", NOW + 50_000);
+
+        // when
+        long result = inMemoryLoginAttemptStore.recordFailure("key", NOW + 80_000);
+
+        // then
+        assertThat(result).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotCountFailures_givenFailuresOlderThanWindow() {
+
+        // given
+        inMemoryLoginAttemptStore.recordFailure("key", NOW);
+        inMemoryLoginAttemptStore.recordFailure("key", NOW + 50_000);
+
+        // when
+        long result = inMemoryLoginAttemptStore.recordFailure("key", NOW + 100_000);
+
+        // then
+        assertThat(result).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCountEveryFailure_givenConcurrentFailures() {
+
+        // given
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        IntStream.range(0, 8).forEach(thread -> futures.add(CompletableFuture.runAsync(() ->
+                IntStream.range(0, 1000).forEach(i -> inMemoryLoginAttemptStore.recordFailure("key", NOW)))));
+
+        // when
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        // then
+        assertThat(inMemoryLoginAttemptStore.recordFailure("key", NOW)).isEqualTo(8001);
+    }
+
+    @Test
+    void shouldSweepKeys_givenNoRecentFailuresAndNoLockout() {
+
+        // given
+        inMemoryLoginAttemptStore.recordFailure("expired", NOW);
+        inMemoryLoginAttemptStore.recordFailure("locked", NOW);
+        inMemoryLoginAttemptStore.lock("locked", NOW + 300_000);
+        inMemoryLoginAttemptStore.recordFailure("recent", NOW + 150_000);
+
+        // when
+        inMemoryLoginAttemptStore.sweep(NOW + 200_000);
+
+        // then
+        assertThat(inMemoryLoginAttemptStore.size()).isEqualTo(2);
+        assertThat(inMemoryLoginAttemptStore.getLockedUntil("locked")).isEqualTo(NOW + 300_000);
+        assertThat(inMemoryLoginAttemptStore.getLockedUntil("expired")).isZero();
+    }
+}
@@ -0,0 +1,288 @@
+package com.junior.company.fitness_studio_management.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.InvalidClaimException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.junior.company.fitness_studio_management.exception.TokenIssuingUnavailableException;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class JwtTokenServiceTest {
+
+    private static final String ISSUER = "http://localhost/api/v1/login";
+
+    private final JwtTokenService jwtTokenService = new JwtTokenService("secret");
+
+    @Test
+    void shouldVerifyAccessToken_givenTokenSignedWithSameSecret() {
+
+        // given
+        String token = jwtTokenService.createAccessToken(
+                "user", List.of("ROLE_USER", "ROLE_ADMIN"), "http://localhost/api/v1/login");
+
+        // when
+        UsernamePasswordAuthenticationToken result = jwtTokenService.verifyAccessToken(token);
+
+        // then
+        assertThat(result.getName()).isEqualTo("user");
+        assertThat(result.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void shouldNotVerifyAccessToken_givenTokenSignedWithAnotherSecret() {
+
+        // given
+        String token = new JwtTokenService("another_secret").createAccessToken(
+                "user", List.of("ROLE_USER"), "http://localhost/api/v1/login");
+
+        // when then
+        assertThatThrownBy(() -> jwtTokenService.verifyAccessToken(token))
+                .isInstanceOf(JWTVerificationException.class);
+    }
+
+    @Test
+    void shouldVerifyAccessTokenOnce_givenVerifiedTokenCache() {
+
+        // given
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(10);
+        JwtTokenService cachingJwtTokenService = new JwtTokenService("secret", verifiedTokenCache);
+        String token = cachingJwtTokenService.createAccessToken(
+                "user", List.of("ROLE_USER"), "http://localhost/api/v1/login");
+
+        // when
+        UsernamePasswordAuthenticationToken first = cachingJwtTokenService.verifyAccessToken(token);
+        UsernamePasswordAuthenticationToken second = cachingJwtTokenService.verifyAccessToken(token);
+
+        // then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo(first.getName());
+        assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+        assertThat(verifiedTokenCache.getMissCount()).isEqualTo(1);
+        assertThat(verifiedTokenCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExpireAccessTokenRelativeToIssueTime() {
+
+        // given
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        // when
+        String token = jwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+
+        // then
+        assertThat(JWT.decode(token).getExpiresAt().toInstant())
+                .isBetween(issuedAt.plus(JwtTokenService.DEFAULT_ACCESS_TOKEN_TTL),
+                        Instant.now().plus(JwtTokenService.DEFAULT_ACCESS_TOKEN_TTL));
+        assertThat(JWT.decode(token).getId()).isNotBlank();
+    }
+
+    @Test
+    void shouldNotVerifyAccessToken_givenExpiredToken() {
+
+        // given
+        JwtTokenService expiringJwtTokenService = new JwtTokenService("secret", Duration.ofSeconds(-1),
+                Duration.ofDays(1), null, new TokenRevocationList(10));
+        String token = expiringJwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+
+        // when then
+        assertThatThrownBy(() -> expiringJwtTokenService.verifyAccessToken(token))
+                .isInstanceOf(TokenExpiredException.class);
+    }
+
+    @Test
+    void shouldRefreshAccessToken_givenValidRefreshToken() {
+
+        // given
+        String refreshToken = jwtTokenService.createRefreshToken("user", List.of("ROLE_USER", "ROLE_ADMIN"), ISSUER);
+
+        // when
+        String accessToken = jwtTokenService.refreshAccessToken(refreshToken, ISSUER);
+
+        // then
+        assertThat(jwtTokenService.verifyAccessToken(accessToken).getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void shouldNotAcceptTokenOfOtherType() {
+
+        // given
+        String accessToken = jwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+        String refreshToken = jwtTokenService.createRefreshToken("user", List.of("ROLE_USER"), ISSUER);
+
+        // when then
+        assertThatThrownBy(() -> jwtTokenService.refreshAccessToken(accessToken, ISSUER))
+                .isInstanceOf(InvalidClaimException.class);
+        assertThatThrownBy(() -> jwtTokenService.verifyAccessToken(refreshToken))
+                .isInstanceOf(InvalidClaimException.class);
+    }
+
+    @Test
+    void shouldNotVerifyRevokedTokens_givenVerifiedTokenCache() {
+
+        // given
+        JwtTokenService cachingJwtTokenService = new JwtTokenService("secret", new VerifiedTokenCache(10));
+        String accessToken = cachingJwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+        String refreshToken = cachingJwtTokenService.createRefreshToken("user", List.of("ROLE_USER"), ISSUER);
+        cachingJwtTokenService.verifyAccessToken(accessToken);
+
+        // when
+        cachingJwtTokenService.revokeToken(accessToken);
+        cachingJwtTokenService.revokeToken(refreshToken);
+
+        // then
+        assertThatThrownBy(() -> cachingJwtTokenService.verifyAccessToken(accessToken))
+                .isInstanceOf(TokenRevokedException.class);
+        assertThatThrownBy(() -> cachingJwtTokenService.refreshAccessToken(refreshToken, ISSUER))
+                .isInstanceOf(TokenRevokedException.class);
+        assertThat(cachingJwtTokenService.getTokenRevocationList().size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotVerifyRevokedToken_givenTokenCachedAgainAfterRevocation() {
+
+        // given
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(10);
+        JwtTokenService cachingJwtTokenService = new JwtTokenService("secret", verifiedTokenCache);
+        String accessToken = cachingJwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+        UsernamePasswordAuthenticationToken authenticationToken = cachingJwtTokenService.verifyAccessToken(accessToken);
+        DecodedJWT decodedJWT = JWT.decode(accessToken);
+
+        // when
+        cachingJwtTokenService.revokeToken(accessToken);
+        verifiedTokenCache.put(accessToken, authenticationToken, decodedJWT.getId(), decodedJWT.getKeyId(),
+                decodedJWT.getExpiresAt().toInstant());
+
+        // then
+        assertThatThrownBy(() -> cachingJwtTokenService.verifyAccessToken(accessToken))
+                .isInstanceOf(TokenRevokedException.class);
+    }
+
+    @Test
+    void shouldNotIssueTokens_givenFullRevocationList() {
+
+        // given
+        JwtTokenService limitedJwtTokenService = new JwtTokenService("secret", Duration.ofMinutes(15), Duration.ofDays(1),
+                null, new TokenRevocationList(1));
+        String accessToken = limitedJwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+        limitedJwtTokenService.revokeToken(accessToken);
+
+        // when then
+        assertThatThrownBy(() -> limitedJwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER))
+                .isInstanceOf(TokenIssuingUnavailableException.class)
+                .hasMessage("Too many revoked tokens, try again later");
+        assertThatThrownBy(() -> limitedJwtTokenService.verifyAccessToken(accessToken))
+                .isInstanceOf(TokenRevokedException.class);
+    }
+
+    @Test
+    void shouldVerifyTokensOfPreviousKey_afterActiveKeyIsRotated() {
+
+        // given
+        JwtTokenService rotatingJwtTokenService = new JwtTokenService(
+                new SigningKeys("old", Map.of("old", "old_secret")), Duration.ofMinutes(15), Duration.ofDays(1),
+                new VerifiedTokenCache(10), new TokenRevocationList(10));
+        String oldToken = rotatingJwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+
+        // when
+        rotatingJwtTokenService.setSigningKeys(
+                new SigningKeys("new", Map.of("old", "old_secret", "new", "new_secret")));
+        String newToken = rotatingJwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+
+        // then
+        assertThat(JWT.decode(oldToken).getKeyId()).isEqualTo("old");
+        assertThat(JWT.decode(newToken).getKeyId()).isEqualTo("new");
+        assertThat(rotatingJwtTokenService.verifyAccessToken(oldToken).getName()).isEqualTo("user");
+        assertThat(rotatingJwtTokenService.verifyAccessToken(newToken).getName()).isEqualTo("user");
+    }
+
+    @Test
+    void shouldVerifyTokenWithoutKeyIdWithDefaultKey_afterActiveKeyIsRotated() {
+
+        // given
+        JwtTokenService rotatingJwtTokenService = new JwtTokenService(
+                new SigningKeys("new", Map.of(SigningKeys.DEFAULT_KEY_ID, "secret", "new", "new_secret")),
+                Duration.ofMinutes(15), Duration.ofDays(1), null, new TokenRevocationList(10));
+        String legacyToken = JWT.create()
+                .withSubject("user")
+                .withClaim("roles", List.of("ROLE_USER"))
+                .withExpiresAt(Date.from(Instant.now().plus(15, ChronoUnit.MINUTES)))
+                .sign(Algorithm.HMAC256("secret"));
+
+        // when
+        UsernamePasswordAuthenticationToken result = rotatingJwtTokenService.verifyAccessToken(legacyToken);
+
+        // then
+        assertThat(result.getName()).isEqualTo("user");
+    }
+
+    @Test
+    void shouldNotVerifyTokensOfRetiredKey_givenVerifiedTokenCache() {
+
+        // given
+        JwtTokenService rotatingJwtTokenService = new JwtTokenService(
+                new SigningKeys("old", Map.of("old", "old_secret")), Duration.ofMinutes(15), Duration.ofDays(1),
+                new VerifiedTokenCache(10), new TokenRevocationList(10));
+        String oldToken = rotatingJwtTokenService.createAccessToken("user", List.of("ROLE_USER"), ISSUER);
+        rotatingJwtTokenService.verifyAccessToken(oldToken);
+
+        // when
+        rotatingJwtTokenService.setSigningKeys(new SigningKeys("new", Map.of("new", "new_secret")));
+
+        // then
+        assertThatThrownBy(() -> rotatingJwtTokenService.verifyAccessToken(oldToken))
+                .isInstanceOf(JWTVerificationException.class)
+                .hasMessage("The Token was signed with an unknown key.");
+    }
+
+    @Test
+    void shouldReadCredentials() throws Exception {
+
+        // given
+        byte[] body = "{\"username\":\"user\",\"password\":\"password\"}".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        AppUserDetails result = jwtTokenService.readCredentials(new ByteArrayInputStream(body));
+
+        // then
+        assertThat(result.getUsername()).isEqualTo("user");
+        assertThat(result.getPassword()).isEqualTo("password");
+    }
+
+    @Test
+    void shouldWriteValueWithJavaTimeSupport() throws Exception {
+
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        jwtTokenService.writeValue(outputStream, Map.of("timestamp", LocalDateTime.of(2000, 1, 1, 12, 0)));
+
+        // then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("{\"timestamp\":[2000,1,1,12,0]}");
+    }
+}
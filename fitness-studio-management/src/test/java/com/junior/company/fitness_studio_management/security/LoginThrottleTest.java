@@ -0,0 +1,123 @@
+package com.junior.company.fitness_studio_management.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class LoginThrottleTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    private Clock clock;
+    private MeterRegistry meterRegistry;
+    private LoginAttemptStore loginAttemptStore;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        given(clock.millis()).willReturn(NOW.toEpochMilli());
+        meterRegistry = new SimpleMeterRegistry();
+        loginAttemptStore = new InMemoryLoginAttemptStore(Duration.ofMinutes(5));
+    }
+
+    private LoginThrottle loginThrottle() {
+        return new LoginThrottle(loginAttemptStore, 3, 5, Duration.ofMinutes(15), meterRegistry, clock);
+    }
+
+    @Test
+    void shouldLockOutUsername_givenMaxFailures() {
+
+        // given
+        LoginThrottle loginThrottle = loginThrottle();
+        loginThrottle.recordFailure("user", "10.0.0.1");
+        loginThrottle.recordFailure("user", "10.0.0.2");
+        long retryAfterBeforeLimit = loginThrottle.getRetryAfterSeconds("user", "10.0.0.3");
+
+        // when
+        loginThrottle.recordFailure("user", "10.0.0.3");
+
+        // then
+        assertThat(retryAfterBeforeLimit).isZero();
+        assertThat(loginThrottle.getRetryAfterSeconds("user", "10.0.0.4")).isEqualTo(900);
+        assertThat(loginThrottle.getRetryAfterSeconds("other", "10.0.0.4")).isZero();
+        assertThat(meterRegistry.get(LoginThrottle.LOCKOUTS_METRIC).tag("key", "username").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldLockOutClientIp_givenMaxFailuresAcrossUsernames() {
+
+        // given
+        LoginThrottle loginThrottle = loginThrottle();
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        // when
+        long result = loginThrottle.getRetryAfterSeconds("user", "10.0.0.1");
+
+        // then
+        assertThat(result).isEqualTo(900);
+        assertThat(loginThrottle.getRetryAfterSeconds("user", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    void shouldAllowLogin_afterLockoutExpired() {
+
+        // given
+        LoginThrottle loginThrottle = loginThrottle();
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure("user", "10.0.0.1");
+        }
+
+        // when
+        given(clock.millis()).willReturn(NOW.plus(Duration.ofMinutes(15)).toEpochMilli());
+
+        // then
+        assertThat(loginThrottle.getRetryAfterSeconds("user", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void shouldForgetUsernameFailures_afterSuccessfulLogin() {
+
+        // given
+        LoginThrottle loginThrottle = loginThrottle();
+        loginThrottle.recordFailure("user", "10.0.0.1");
+        loginThrottle.recordFailure("user", "10.0.0.1");
+
+        // when
+        loginThrottle.recordSuccess("user");
+        loginThrottle.recordFailure("user", "10.0.0.1");
+
+        // then
+        assertThat(loginThrottle.getRetryAfterSeconds("user", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    void shouldLockOutUsernameOnEveryNode_givenFailuresSpreadAcrossNodesSharingStore() {
+
+        // given
+        LoginThrottle nodeOne = loginThrottle();
+        LoginThrottle nodeTwo = loginThrottle();
+        nodeOne.recordFailure("user", "10.0.0.1");
+        nodeTwo.recordFailure("user", "10.0.0.2");
+
+        // when
+        nodeOne.recordFailure("user", "10.0.0.3");
+
+        // then
+        assertThat(nodeTwo.getRetryAfterSeconds("user", "10.0.0.4")).isEqualTo(900);
+    }
+}
@@ -0,0 +1,109 @@
+package com.junior.company.fitness_studio_management.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class SigningKeyFileLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private MeterRegistry meterRegistry;
+    private JwtTokenService jwtTokenService;
+    private SigningKeyFileLoader signingKeyFileLoader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("signing-keys.properties");
+        writeKeys("active-key-id=one\nkeys.one=first_secret\n", Instant.parse("2030-01-01T12:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenService = new JwtTokenService(SigningKeys.load(file), Duration.ofMinutes(15), Duration.ofDays(1),
+                null, new TokenRevocationList(10));
+        signingKeyFileLoader = new SigningKeyFileLoader(file, jwtTokenService, meterRegistry);
+    }
+
+    private void writeKeys(String content, Instant modifiedAt) throws IOException {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(modifiedAt));
+    }
+
+    @Test
+    void shouldNotReloadKeys_givenUnchangedFile() {
+
+        // when
+        boolean result = signingKeyFileLoader.reloadIfModified();
+
+        // then
+        assertThat(result).isFalse();
+        assertThat(jwtTokenService.getSigningKeys().getActiveKeyId()).isEqualTo("one");
+    }
+
+    @Test
+    void shouldReloadKeys_givenModifiedFile() throws IOException {
+
+        // given
+        writeKeys("active-key-id=two\nkeys.one=first_secret\nkeys.two=second_secret\n",
+                Instant.parse("2030-01-01T13:00:00Z"));
+
+        // when
+        boolean result = signingKeyFileLoader.reloadIfModified();
+
+        // then
+        assertThat(result).isTrue();
+        assertThat(jwtTokenService.getSigningKeys().getActiveKeyId()).isEqualTo("two");
+        assertThat(jwtTokenService.getSigningKeys().getKeyIds()).containsExactlyInAnyOrder("one", "two");
+        assertThat(meterRegistry.get(SigningKeyFileLoader.RELOADS_METRIC).tag("outcome", "success")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepCurrentKeys_givenFileWithUndefinedActiveKey() throws IOException {
+
+        // given
+        SigningKeys signingKeys = jwtTokenService.getSigningKeys();
+        writeKeys("active-key-id=three\nkeys.one=first_secret\n", Instant.parse("2030-01-01T13:00:00Z"));
+
+        // when
+        boolean result = signingKeyFileLoader.reloadIfModified();
+
+        // then
+        assertThat(result).isFalse();
+        assertThat(jwtTokenService.getSigningKeys()).isSameAs(signingKeys);
+        assertThat(meterRegistry.get(SigningKeyFileLoader.RELOADS_METRIC).tag("outcome", "failure")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCreateLoader_givenEmptyKeysFileProperty() {
+
+        // given
+        ConditionContext context = mock(ConditionContext.class);
+        given(context.getEnvironment()).willReturn(new MockEnvironment().withProperty("security.jwt.keys-file", " "));
+
+        // when
+        boolean result = new SecurityConfig.SigningKeysFileCondition().matches(context, null);
+
+        // then
+        assertThat(result).isFalse();
+    }
+}
@@ -0,0 +1,109 @@
+package com.junior.company.fitness_studio_management.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        given(clock.instant()).willReturn(NOW);
+    }
+
+    @Test
+    void shouldPurgeExpiredTokenIds_givenFullList() {
+
+        // given
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(2, clock);
+        String expiringTokenId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        tokenRevocationList.revoke(expiringTokenId, NOW.plusSeconds(60));
+        tokenRevocationList.revoke(UUID.randomUUID().toString(), NOW.plusSeconds(600));
+        given(clock.instant()).willReturn(NOW.plusSeconds(120));
+
+        // when
+        tokenRevocationList.revoke(tokenId, NOW.plusSeconds(600));
+
+        // then
+        assertThat(tokenRevocationList.isRevoked(tokenId)).isTrue();
+        assertThat(tokenRevocationList.isRevoked(expiringTokenId)).isFalse();
+        assertThat(tokenRevocationList.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepRevokedTokenIds_givenFullListWithoutExpiredTokenIds() {
+
+        // given
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(2, clock);
+        String soonestExpiringTokenId = UUID.randomUUID().toString();
+        tokenRevocationList.revoke(soonestExpiringTokenId, NOW.plusSeconds(60));
+        tokenRevocationList.revoke(UUID.randomUUID().toString(), NOW.plusSeconds(600));
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            tokenRevocationList.revoke(UUID.randomUUID().toString(), NOW.plusSeconds(300));
+        }
+
+        // then
+        assertThat(tokenRevocationList.isRevoked(soonestExpiringTokenId)).isTrue();
+        assertThat(tokenRevocationList.size()).isEqualTo(102);
+        assertThat(tokenRevocationList.isFull()).isTrue();
+        assertThat(tokenRevocationList.getSecondsUntilNextExpiry()).isEqualTo(60);
+    }
+
+    @Test
+    void shouldNotBeFull_afterRevokedTokensHaveExpired() {
+
+        // given
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(1, clock);
+        tokenRevocationList.revoke(UUID.randomUUID().toString(), NOW.plusSeconds(60));
+        given(clock.instant()).willReturn(NOW.plusSeconds(60));
+
+        // when
+        boolean result = tokenRevocationList.isFull();
+
+        // then
+        assertThat(result).isFalse();
+        assertThat(tokenRevocationList.size()).isZero();
+    }
+
+    @Test
+    void shouldSizeListForOneRefreshTokenLifetime() {
+
+        // when
+        int result = TokenRevocationList.sizeFor(1000, Duration.ofDays(7));
+
+        // then
+        assertThat(result).isEqualTo(336_000);
+    }
+
+    @Test
+    void shouldIgnoreRevocation_givenExpiredToken() {
+
+        // given
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(1, clock);
+
+        // when
+        tokenRevocationList.revoke(UUID.randomUUID().toString(), NOW.minusSeconds(1));
+
+        // then
+        assertThat(tokenRevocationList.size()).isZero();
+    }
+}
@@ -0,0 +1,125 @@
+package com.junior.company.fitness_studio_management.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+    private static final String TOKEN_ID = "6f1c1f4e-3b0a-4a6b-9a52-0c9d3f7c2e11";
+    private static final String KEY_ID = "default";
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        given(clock.instant()).willReturn(NOW);
+    }
+
+    private static UsernamePasswordAuthenticationToken authenticationToken(String username) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of());
+    }
+
+    @Test
+    void shouldReturnCachedAuthentication_givenTokenNotExpired() {
+
+        // given
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(10, clock);
+        UsernamePasswordAuthenticationToken authenticationToken = authenticationToken("user");
+        verifiedTokenCache.put("token", authenticationToken, TOKEN_ID, KEY_ID, NOW.plusSeconds(60));
+
+        // when
+        VerifiedTokenCache.VerifiedToken result = verifiedTokenCache.get("token");
+
+        // then
+        assertThat(result.toAuthenticationToken()).isNotSameAs(authenticationToken);
+        assertThat(result.toAuthenticationToken().getName()).isEqualTo("user");
+        assertThat(result.getTokenId()).isEqualTo(TOKEN_ID);
+        assertThat(result.getKeyId()).isEqualTo(KEY_ID);
+        assertThat(verifiedTokenCache.getHitCount()).isEqualTo(1);
+        assertThat(verifiedTokenCache.getMissCount()).isZero();
+    }
+
+    @Test
+    void shouldCountMiss_givenUnknownToken() {
+
+        // given
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(10, clock);
+
+        // when
+        VerifiedTokenCache.VerifiedToken result = verifiedTokenCache.get("token");
+
+        // then
+        assertThat(result).isNull();
+        assertThat(verifiedTokenCache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictEntry_whenTokenHasExpired() {
+
+        // given
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(10, clock);
+        verifiedTokenCache.put("token", authenticationToken("user"), TOKEN_ID, KEY_ID, NOW.plusSeconds(60));
+        given(clock.instant()).willReturn(NOW.plusSeconds(60));
+
+        // when
+        VerifiedTokenCache.VerifiedToken result = verifiedTokenCache.get("token");
+
+        // then
+        assertThat(result).isNull();
+        assertThat(verifiedTokenCache.size()).isZero();
+        assertThat(verifiedTokenCache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheToken_givenAlreadyExpiredToken() {
+
+        // given
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(10, clock);
+
+        // when
+        verifiedTokenCache.put("token", authenticationToken("user"), TOKEN_ID, KEY_ID, NOW.minusSeconds(1));
+
+        // then
+        assertThat(verifiedTokenCache.size()).isZero();
+    }
+
+    @Test
+    void shouldEvictToken_whenCacheIsFull() {
+
+        // given
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(2, clock);
+        verifiedTokenCache.put("token_one", authenticationToken("one"), TOKEN_ID, KEY_ID, NOW.plusSeconds(60));
+        verifiedTokenCache.put("token_two", authenticationToken("two"), TOKEN_ID, KEY_ID, NOW.plusSeconds(60));
+
+        // when
+        verifiedTokenCache.put("token_three", authenticationToken("three"), TOKEN_ID, KEY_ID, NOW.plusSeconds(60));
+
+        // then
+        assertThat(verifiedTokenCache.size()).isEqualTo(2);
+        assertThat(verifiedTokenCache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCreateCache_givenNonPositiveSize() {
+
+        // when then
+        assertThatThrownBy(() -> new VerifiedTokenCache(0, clock))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Token cache size must be positive");
+    }
+}
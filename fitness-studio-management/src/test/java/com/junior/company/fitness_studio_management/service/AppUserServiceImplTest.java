@@ -8,7 +8,9 @@ import com.junior.company.fitness_studio_management.mapper.AppUserMapper;
 import com.junior.company.fitness_studio_management.model.AppUser;
 import com.junior.company.fitness_studio_management.model.Role;
 import com.junior.company.fitness_studio_management.repository.AppUserRepository;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
 import com.junior.company.fitness_studio_management.repository.RoleRepository;
+import com.junior.company.fitness_studio_management.repository.WaitlistEntryRepository;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -17,9 +19,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
@@ -31,6 +30,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -49,10 +49,16 @@ class AppUserServiceImplTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private Authentication authentication;
+    private CurrentUserResolver currentUserResolver;
 
     @Mock
-    private SecurityContext securityContext;
+    private GymEventRepository gymEventRepository;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private GymEventReservationService gymEventReservationService;
 
     @InjectMocks
     private AppUserServiceImpl appUserService;
@@ -64,7 +70,7 @@ class AppUserServiceImplTest {
         appUserService.findAllUsers();
 
         // then
-        verify(appUserRepository, times(1)).findAll();
+        verify(appUserRepository, times(1)).findAllWithRoles();
     }
 
     @Test
@@ -86,13 +92,9 @@ class AppUserServiceImplTest {
                 .gymEvents(new ArrayList<>())
                 .build();
 
-        given(appUserRepository.findById(userId)).willReturn(Optional.of(appUser));
-
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("admin");
+        given(appUserRepository.findWithGymEventsById(userId)).willReturn(Optional.of(appUser));
 
-        given(appUserRepository.findByUsername("admin")).willReturn(Optional.of(appUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
 
 
         AppUserResponse appUserResponse = AppUserMapper.mapAppUserToAppUserResponse(appUser);
@@ -123,13 +125,9 @@ class AppUserServiceImplTest {
                 .gymEvents(new ArrayList<>())
                 .build();
 
-        given(appUserRepository.findById(userId)).willReturn(Optional.of(appUser));
-
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("user");
+        given(appUserRepository.findWithGymEventsById(userId)).willReturn(Optional.of(appUser));
 
-        given(appUserRepository.findByUsername("user")).willReturn(Optional.of(appUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
 
         AppUserResponse appUserResponse = AppUserMapper.mapAppUserToAppUserResponse(appUser);
 
@@ -146,7 +144,7 @@ class AppUserServiceImplTest {
         // given
         Long userId = 0L;
 
-        given(appUserRepository.findById(userId)).willReturn(Optional.empty());
+        given(appUserRepository.findWithGymEventsById(userId)).willReturn(Optional.empty());
 
         // when then
         assertThatThrownBy(() -> appUserService.findUserById(userId))
@@ -184,13 +182,9 @@ class AppUserServiceImplTest {
                 .isEnabled(true)
                 .build();
 
-        given(appUserRepository.findById(userId)).willReturn(Optional.of(appUser));
-
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn("current_user");
+        given(appUserRepository.findWithGymEventsById(userId)).willReturn(Optional.of(appUser));
 
-        given(appUserRepository.findByUsername("current_user")).willReturn(Optional.of(currentAppUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(currentAppUser);
 
         // when then
         assertThatThrownBy(() -> appUserService.findUserById(userId))
@@ -214,11 +208,7 @@ class AppUserServiceImplTest {
                 .isEnabled(true)
                 .build();
 
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn(appUser.getUsername());
-
-        given(appUserRepository.findByUsername("user")).willReturn(Optional.of(appUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
 
         // when
         AppUser result = appUserService.getCurrentUser();
@@ -227,25 +217,6 @@ class AppUserServiceImplTest {
         assertThat(result).isEqualTo(appUser);
     }
 
-    @Test
-    void shouldNotGetCurrentUser() {
-
-        // given
-        String username = "current_user";
-
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(authentication.getName()).willReturn(username);
-
-        given(appUserRepository.findByUsername(username)).willReturn(Optional.empty());
-
-        // when then
-        assertThatThrownBy(() -> appUserService.getCurrentUser())
-                .isInstanceOf(ResourceNotFoundException.class)
-                .hasMessageContaining(String.format(
-                        "User with username %s not found", username));
-    }
-
     @Test
     void shouldRegisterUser_givenValidAppUserRequest() {
 
@@ -384,9 +355,7 @@ class AppUserServiceImplTest {
                 .isEnabled(true)
                 .build();
 
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(appUserRepository.findByUsername(authentication.getName())).willReturn(Optional.of(currentUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(currentUser);
 
         given(appUserRepository.findByEmail(appUserRequest.getEmail())).willReturn(Optional.empty());
 
@@ -437,9 +406,7 @@ class AppUserServiceImplTest {
                 .isEnabled(true)
                 .build();
 
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(appUserRepository.findByUsername(authentication.getName())).willReturn(Optional.of(currentUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(currentUser);
 
         // when then
         assertThatThrownBy(() -> appUserService.updateUser(appUserRequest))
@@ -486,9 +453,7 @@ class AppUserServiceImplTest {
                 .isEnabled(true)
                 .build();
 
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(appUserRepository.findByUsername(authentication.getName())).willReturn(Optional.of(currentUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(currentUser);
 
         given(appUserRepository.findByEmail(appUserRequest.getEmail())).willReturn(Optional.of(anotherUser));
 
@@ -518,15 +483,19 @@ class AppUserServiceImplTest {
 
         given(appUserRepository.findById(userId)).willReturn(Optional.of(currentUser));
 
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(appUserRepository.findByUsername(authentication.getName())).willReturn(Optional.of(currentUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(currentUser);
+
+        given(gymEventRepository.findUpcomingGymEventIdsByParticipant(eq(userId), any()))
+                .willReturn(List.of(5L, 6L));
 
         // when
         boolean result = appUserService.deleteUserById(userId);
 
         // then
         assertThat(result).isTrue();
+        verify(waitlistEntryRepository, times(1)).deleteEntries(userId);
+        verify(gymEventReservationService, times(1)).releaseSeat(5L, userId);
+        verify(gymEventReservationService, times(1)).releaseSeat(6L, userId);
         verify(appUserRepository, times(1)).delete(currentUser);
 
     }
@@ -551,9 +520,7 @@ class AppUserServiceImplTest {
 
         given(appUserRepository.findById(userId)).willReturn(Optional.of(currentUser));
 
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(appUserRepository.findByUsername(authentication.getName())).willReturn(Optional.of(currentUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(currentUser);
 
         // when
         boolean result = appUserService.deleteUserById(userId);
@@ -595,9 +562,7 @@ class AppUserServiceImplTest {
 
         given(appUserRepository.findById(userId)).willReturn(Optional.of(anotherUser));
 
-        SecurityContextHolder.setContext(securityContext);
-        given(securityContext.getAuthentication()).willReturn(authentication);
-        given(appUserRepository.findByUsername(authentication.getName())).willReturn(Optional.of(currentUser));
+        given(currentUserResolver.getCurrentUser()).willReturn(currentUser);
 
         // when then
         assertThatThrownBy(() -> appUserService.deleteUserById(userId))
@@ -0,0 +1,121 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.repository.AppUserRepository;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class CurrentUserResolverTest {
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private Authentication authentication;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @InjectMocks
+    private CurrentUserResolver currentUserResolver;
+
+    @Test
+    void shouldGetCurrentUser() {
+
+        // given
+        AppUser appUser = AppUser.builder()
+                .id(1L)
+                .username("user")
+                .password("password_one")
+                .roles(null)
+                .firstName("firstname_one")
+                .lastName("lastname_one")
+                .email("one@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .isEnabled(true)
+                .build();
+
+        SecurityContextHolder.setContext(securityContext);
+        given(securityContext.getAuthentication()).willReturn(authentication);
+        given(authentication.getName()).willReturn(appUser.getUsername());
+
+        given(appUserRepository.findByUsername("user")).willReturn(Optional.of(appUser));
+
+        // when
+        AppUser result = currentUserResolver.getCurrentUser();
+
+        // then
+        assertThat(result).isEqualTo(appUser);
+    }
+
+    @Test
+    void shouldLoadCurrentUserOnce_whenResolvedRepeatedly() {
+
+        // given
+        AppUser appUser = AppUser.builder()
+                .id(1L)
+                .username("user")
+                .password("password_one")
+                .roles(null)
+                .firstName("firstname_one")
+                .lastName("lastname_one")
+                .email("one@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .isEnabled(true)
+                .build();
+
+        SecurityContextHolder.setContext(securityContext);
+        given(securityContext.getAuthentication()).willReturn(authentication);
+        given(authentication.getName()).willReturn(appUser.getUsername());
+
+        given(appUserRepository.findByUsername("user")).willReturn(Optional.of(appUser));
+
+        // when
+        currentUserResolver.getCurrentUser();
+        currentUserResolver.getCurrentUser();
+        AppUser result = currentUserResolver.getCurrentUser();
+
+        // then
+        assertThat(result).isEqualTo(appUser);
+        verify(appUserRepository, times(1)).findByUsername("user");
+    }
+
+    @Test
+    void shouldNotGetCurrentUser() {
+
+        // given
+        String username = "current_user";
+
+        SecurityContextHolder.setContext(securityContext);
+        given(securityContext.getAuthentication()).willReturn(authentication);
+        given(authentication.getName()).willReturn(username);
+
+        given(appUserRepository.findByUsername(username)).willReturn(Optional.empty());
+
+        // when then
+        assertThatThrownBy(() -> currentUserResolver.getCurrentUser())
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(String.format(
+                        "User with username %s not found", username));
+    }
+}
@@ -0,0 +1,155 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junior.company.fitness_studio_management.dto.ExportFormat;
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.DifficultyLevel;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Role;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ExportServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class ExportServiceImplTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private FitnessClass givenFitnessClass() {
+        return testEntityManager.persist(FitnessClass.builder()
+                .name("name")
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .description("description")
+                .trainers(new ArrayList<>())
+                .build());
+    }
+
+    private GymEvent givenGymEvent(FitnessClass fitnessClass, int day) {
+        return testEntityManager.persist(GymEvent.builder()
+                .startTime(LocalDateTime.of(3000, 1, day, 12, 0))
+                .endTime(LocalDateTime.of(3000, 1, day, 13, 0))
+                .duration("01:00")
+                .participantsLimit(10)
+                .fitnessClass(fitnessClass)
+                .build());
+    }
+
+    private String export(ExportFormat format, boolean users) throws Exception {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        if (users) {
+            exportService.exportUsers(format, outputStream);
+        } else {
+            exportService.exportGymEvents(format, outputStream);
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldExportGymEventsAsNdjson() throws Exception {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass();
+        GymEvent gymEventOne = givenGymEvent(fitnessClass, 1);
+        GymEvent gymEventTwo = givenGymEvent(fitnessClass, 2);
+
+        // when
+        String result = export(ExportFormat.NDJSON, false);
+
+        // then
+        String[] lines = result.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(gymEventOne.getId());
+        assertThat(first.get("startTime").asText()).isEqualTo("3000-01-01 12:00");
+        assertThat(first.get("fitnessClass").get("name").asText()).isEqualTo("name");
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(gymEventTwo.getId());
+    }
+
+    @Test
+    void shouldExportGymEventsAsCsv() throws Exception {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass();
+        GymEvent gymEvent = givenGymEvent(fitnessClass, 1);
+
+        // when
+        String result = export(ExportFormat.CSV, false);
+
+        // then
+        assertThat(result).isEqualTo(
+                "id,start_time,end_time,duration,participants_limit,current_participants_number," +
+                        "fitness_class_id,fitness_class_name\r\n" +
+                        gymEvent.getId() + ",3000-01-01 12:00,3000-01-01 13:00,01:00,10,0," +
+                        fitnessClass.getId() + ",name\r\n");
+    }
+
+    @Test
+    void shouldExportOnlyCsvHeader_givenNoGymEvents() throws Exception {
+
+        // when
+        String result = export(ExportFormat.CSV, false);
+
+        // then
+        assertThat(result).isEqualTo("id,start_time,end_time,duration,participants_limit," +
+                "current_participants_number,fitness_class_id,fitness_class_name\r\n");
+    }
+
+    @Test
+    void shouldExportEachUserOnceWithAllRoles_givenUsersWithSeveralRoles() throws Exception {
+
+        // given
+        Role userRole = testEntityManager.persist(new Role(null, "USER"));
+        Role adminRole = testEntityManager.persist(new Role(null, "ADMIN"));
+        for (int i = 0; i < 3; i++) {
+            testEntityManager.persist(AppUser.builder()
+                    .username("user" + i)
+                    .password("password")
+                    .firstName("Anna, Maria")
+                    .lastName("O\"Neil")
+                    .email("user" + i + "@email.com")
+                    .dob(LocalDate.of(2000, 1, 1))
+                    .isEnabled(true)
+                    .roles(new ArrayList<>(List.of(userRole, adminRole)))
+                    .build());
+        }
+
+        // when
+        String result = export(ExportFormat.CSV, true);
+
+        // then
+        String[] lines = result.split("\r\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("id,username,first_name,last_name,email,date_of_birth,enabled,roles");
+        assertThat(lines[1]).contains(",user0,\"Anna, Maria\",\"O\"\"Neil\",user0@email.com,2000-01-01,true,");
+        assertThat(lines[1]).contains("USER").contains("ADMIN");
+    }
+}
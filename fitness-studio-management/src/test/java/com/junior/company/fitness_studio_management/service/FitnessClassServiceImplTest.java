@@ -2,6 +2,7 @@ package com.junior.company.fitness_studio_management.service;
 
 import com.junior.company.fitness_studio_management.dto.FitnessClassRequest;
 import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
+import com.junior.company.fitness_studio_management.exception.TrainerConflictException;
 import com.junior.company.fitness_studio_management.mapper.FitnessClassMapper;
 import com.junior.company.fitness_studio_management.model.DifficultyLevel;
 import com.junior.company.fitness_studio_management.model.FitnessClass;
@@ -26,6 +27,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -39,6 +41,12 @@ class FitnessClassServiceImplTest {
     @Mock
     private TrainerRepository trainerRepository;
 
+    @Mock
+    private TrainerScheduleService trainerScheduleService;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     @InjectMocks
     private FitnessClassServiceImpl fitnessClassService;
 
@@ -49,7 +57,7 @@ class FitnessClassServiceImplTest {
         fitnessClassService.findAllFitnessClasses();
 
         // then
-        verify(fitnessClassRepository, times(1)).findAll();
+        verify(fitnessClassRepository, times(1)).findAllWithTrainers();
     }
 
     @Test
@@ -66,7 +74,7 @@ class FitnessClassServiceImplTest {
                 .trainers(null)
                 .build();
 
-        given(fitnessClassRepository.findById(fitnessClassId)).willReturn(Optional.of(fitnessClass));
+        given(fitnessClassRepository.findWithTrainersById(fitnessClassId)).willReturn(Optional.of(fitnessClass));
 
         // when
         FitnessClass result = fitnessClassService.findFitnessClassById(fitnessClassId);
@@ -224,7 +232,7 @@ class FitnessClassServiceImplTest {
                 .trainers(new ArrayList<>())
                 .build();
 
-        given(fitnessClassRepository.findById(fitnessClassId)).willReturn(Optional.of(fitnessClass));
+        given(fitnessClassRepository.lockById(fitnessClassId)).willReturn(Optional.of(fitnessClass));
         given(trainerRepository.findById(trainerId)).willReturn(Optional.of(trainer));
 
         // when
@@ -234,6 +242,35 @@ class FitnessClassServiceImplTest {
         assertThat(result).isTrue();
     }
 
+    @Test
+    void shouldNotAssignTrainerToFitnessClass_whenTrainerIsBookedDuringGymEventOfFitnessClass() {
+
+        // given
+        Long trainerId = 1L;
+        Long fitnessClassId = 1L;
+
+        Trainer trainer = Trainer.builder()
+                .id(trainerId)
+                .email("email@email.com")
+                .build();
+
+        FitnessClass fitnessClass = FitnessClass.builder()
+                .id(fitnessClassId)
+                .name("name")
+                .trainers(new ArrayList<>())
+                .build();
+
+        given(fitnessClassRepository.lockById(fitnessClassId)).willReturn(Optional.of(fitnessClass));
+        given(trainerRepository.findById(trainerId)).willReturn(Optional.of(trainer));
+        willThrow(new TrainerConflictException("Trainer with id: 1 is already booked for gym event with id: 2 at that time"))
+                .given(trainerScheduleService).checkTrainerAvailable(trainer, fitnessClass);
+
+        // when then
+        assertThatThrownBy(() -> fitnessClassService.assignTrainer(fitnessClassId, trainerId))
+                .isInstanceOf(TrainerConflictException.class);
+        assertThat(fitnessClass.getTrainers().isEmpty()).isTrue();
+    }
+
     @Test
     void shouldNotAssignTrainerToFitnessClass_whenTrainerIsAlreadyAssignedToFitnessClass() {
 
@@ -257,7 +294,7 @@ class FitnessClassServiceImplTest {
                 .trainers(List.of(trainer))
                 .build();
 
-        given(fitnessClassRepository.findById(fitnessClassId)).willReturn(Optional.of(fitnessClass));
+        given(fitnessClassRepository.lockById(fitnessClassId)).willReturn(Optional.of(fitnessClass));
         given(trainerRepository.findById(trainerId)).willReturn(Optional.of(trainer));
 
         // when then
@@ -274,7 +311,7 @@ class FitnessClassServiceImplTest {
         Long trainerId = 1L;
         Long fitnessClassId = 0L;
 
-        given(fitnessClassRepository.findById(fitnessClassId)).willReturn(Optional.empty());
+        given(fitnessClassRepository.lockById(fitnessClassId)).willReturn(Optional.empty());
 
         // when then
         assertThatThrownBy(() -> fitnessClassService.assignTrainer(fitnessClassId, trainerId))
@@ -297,7 +334,7 @@ class FitnessClassServiceImplTest {
                 .trainers(new ArrayList<>())
                 .build();
 
-        given(fitnessClassRepository.findById(fitnessClassId)).willReturn(Optional.of(fitnessClass));
+        given(fitnessClassRepository.lockById(fitnessClassId)).willReturn(Optional.of(fitnessClass));
         given(trainerRepository.findById(trainerId)).willReturn(Optional.empty());
 
         // when then
@@ -0,0 +1,310 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.repository.AppUserRepository;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({GymEventReservationServiceImpl.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GymEventReservationServiceImplConcurrencyTest {
+
+    private static final int PARTICIPANTS_LIMIT = 50;
+    private static final int ENROLLMENTS = 2000;
+    private static final int THREADS = 32;
+    private static final int WAITING = 80;
+
+    @Autowired
+    private GymEventReservationService gymEventReservationService;
+
+    @Autowired
+    private GymEventRepository gymEventRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM waitlist_entry");
+        jdbcTemplate.update("DELETE FROM event_user");
+        gymEventRepository.deleteAllInBatch();
+        appUserRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldNeverOversellGymEvent_givenParallelEnrollments() throws Exception {
+
+        // given
+        GymEvent gymEvent = gymEventRepository.save(GymEvent.builder()
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(1))
+                .duration("01:00")
+                .participantsLimit(PARTICIPANTS_LIMIT)
+                .currentParticipantsNumber(0)
+                .build());
+
+        List<AppUser> savedAppUsers = saveAppUsers(ENROLLMENTS);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // when
+        for (AppUser appUser : savedAppUsers) {
+            results.add(executorService.submit(() -> {
+                startSignal.await();
+                return gymEventReservationService.reserveSeat(gymEvent.getId(), appUser.getId());
+            }));
+        }
+        startSignal.countDown();
+
+        int reserved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(1, TimeUnit.MINUTES)) {
+                reserved++;
+            }
+        }
+        executorService.shutdown();
+
+        // then
+        Integer participants = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_user WHERE gym_event_id = ?", Integer.class, gymEvent.getId());
+        GymEvent result = gymEventRepository.findById(gymEvent.getId()).orElseThrow();
+
+        assertThat(reserved).isEqualTo(PARTICIPANTS_LIMIT);
+        assertThat(participants).isEqualTo(PARTICIPANTS_LIMIT);
+        assertThat(result.getCurrentParticipantsNumber()).isEqualTo(PARTICIPANTS_LIMIT);
+    }
+
+    @Test
+    void shouldEnrollOnce_givenParallelEnrollmentsOfSameAppUser() throws Exception {
+
+        // given
+        GymEvent gymEvent = gymEventRepository.save(GymEvent.builder()
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(1))
+                .duration("01:00")
+                .participantsLimit(PARTICIPANTS_LIMIT)
+                .currentParticipantsNumber(0)
+                .build());
+
+        Long appUserId = saveAppUsers(1).get(0).getId();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executorService.submit(() -> {
+                startSignal.await();
+                return gymEventReservationService.reserveSeat(gymEvent.getId(), appUserId);
+            }));
+        }
+        startSignal.countDown();
+
+        int reserved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(1, TimeUnit.MINUTES)) {
+                reserved++;
+            }
+        }
+        executorService.shutdown();
+
+        // then
+        Integer participants = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_user WHERE gym_event_id = ?", Integer.class, gymEvent.getId());
+        GymEvent result = gymEventRepository.findById(gymEvent.getId()).orElseThrow();
+
+        assertThat(reserved).isEqualTo(1);
+        assertThat(participants).isEqualTo(1);
+        assertThat(result.getCurrentParticipantsNumber()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPromoteWaitlistInTicketOrder_givenParallelDisenrollments() throws Exception {
+
+        // given
+        GymEvent gymEvent = gymEventRepository.save(GymEvent.builder()
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(1))
+                .duration("01:00")
+                .participantsLimit(PARTICIPANTS_LIMIT)
+                .currentParticipantsNumber(0)
+                .build());
+
+        List<AppUser> savedAppUsers = saveAppUsers(PARTICIPANTS_LIMIT + WAITING);
+        List<AppUser> participants = savedAppUsers.subList(0, PARTICIPANTS_LIMIT);
+        List<AppUser> waiting = savedAppUsers.subList(PARTICIPANTS_LIMIT, savedAppUsers.size());
+        for (AppUser appUser : participants) {
+            gymEventReservationService.reserveSeat(gymEvent.getId(), appUser.getId());
+        }
+        for (AppUser appUser : waiting) {
+            gymEventReservationService.joinWaitlist(gymEvent.getId(), appUser.getId());
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // when
+        for (AppUser appUser : participants) {
+            results.add(executorService.submit(() -> {
+                startSignal.await();
+                return gymEventReservationService.releaseSeat(gymEvent.getId(), appUser.getId());
+            }));
+        }
+        startSignal.countDown();
+
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(1, TimeUnit.MINUTES)).isTrue();
+        }
+        executorService.shutdown();
+
+        // then
+        List<Long> enrolledIds = jdbcTemplate.queryForList(
+                "SELECT app_user_id FROM event_user WHERE gym_event_id = ?", Long.class, gymEvent.getId());
+        List<Long> firstWaitingIds = waiting.subList(0, PARTICIPANTS_LIMIT).stream()
+                .map(AppUser::getId)
+                .collect(Collectors.toList());
+        GymEvent result = gymEventRepository.findById(gymEvent.getId()).orElseThrow();
+
+        assertThat(enrolledIds).containsExactlyInAnyOrderElementsOf(firstWaitingIds);
+        assertThat(result.getCurrentParticipantsNumber()).isEqualTo(PARTICIPANTS_LIMIT);
+        for (int i = PARTICIPANTS_LIMIT; i < WAITING; i++) {
+            assertThat(gymEventReservationService.findWaitlistPosition(gymEvent.getId(), waiting.get(i).getId()))
+                    .isEqualTo(i - PARTICIPANTS_LIMIT + 1);
+        }
+        for (Long promotedId : firstWaitingIds) {
+            assertThatThrownBy(() -> gymEventReservationService.findWaitlistPosition(gymEvent.getId(), promotedId))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Test
+    void shouldPromoteNextWaitingAppUser_whenWaitlistHeadIsAlreadyEnrolled() {
+
+        // given
+        GymEvent gymEvent = gymEventRepository.save(GymEvent.builder()
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(1))
+                .duration("01:00")
+                .participantsLimit(2)
+                .currentParticipantsNumber(0)
+                .build());
+
+        List<AppUser> savedAppUsers = saveAppUsers(3);
+        Long leavingId = savedAppUsers.get(0).getId();
+        Long enrolledHeadId = savedAppUsers.get(1).getId();
+        Long waitingId = savedAppUsers.get(2).getId();
+        gymEventReservationService.reserveSeat(gymEvent.getId(), leavingId);
+        gymEventReservationService.reserveSeat(gymEvent.getId(), enrolledHeadId);
+        gymEventReservationService.joinWaitlist(gymEvent.getId(), waitingId);
+        // an entry left behind by a join that raced with the enrollment of the same user
+        jdbcTemplate.update("INSERT INTO waitlist_entry (gym_event_id, app_user_id, ticket, joined_at) " +
+                "VALUES (?, ?, 0, ?)", gymEvent.getId(), enrolledHeadId, LocalDateTime.now());
+
+        // when
+        boolean result = gymEventReservationService.releaseSeat(gymEvent.getId(), leavingId);
+
+        // then
+        List<Long> enrolledIds = jdbcTemplate.queryForList(
+                "SELECT app_user_id FROM event_user WHERE gym_event_id = ?", Long.class, gymEvent.getId());
+        Integer entries = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM waitlist_entry WHERE gym_event_id = ?", Integer.class, gymEvent.getId());
+
+        assertThat(result).isTrue();
+        assertThat(enrolledIds).containsExactlyInAnyOrder(enrolledHeadId, waitingId);
+        assertThat(entries).isZero();
+        assertThat(gymEventRepository.findById(gymEvent.getId()).orElseThrow().getCurrentParticipantsNumber())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepOneWaitlistEntry_givenParallelJoinsOfSameAppUser() throws Exception {
+
+        // given
+        GymEvent gymEvent = gymEventRepository.save(GymEvent.builder()
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(1))
+                .duration("01:00")
+                .participantsLimit(1)
+                .currentParticipantsNumber(0)
+                .build());
+
+        List<AppUser> savedAppUsers = saveAppUsers(2);
+        gymEventReservationService.reserveSeat(gymEvent.getId(), savedAppUsers.get(0).getId());
+        Long waitingId = savedAppUsers.get(1).getId();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executorService.submit(() -> {
+                startSignal.await();
+                return gymEventReservationService.joinWaitlist(gymEvent.getId(), waitingId);
+            }));
+        }
+        startSignal.countDown();
+
+        List<Long> positions = new ArrayList<>();
+        for (Future<Long> result : results) {
+            positions.add(result.get(1, TimeUnit.MINUTES));
+        }
+        executorService.shutdown();
+
+        // then
+        Integer entries = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM waitlist_entry WHERE gym_event_id = ?", Integer.class, gymEvent.getId());
+
+        assertThat(entries).isEqualTo(1);
+        assertThat(positions).containsOnly(1L);
+        assertThat(gymEventReservationService.findWaitlistPosition(gymEvent.getId(), waitingId)).isEqualTo(1);
+    }
+
+    private List<AppUser> saveAppUsers(int count) {
+        List<AppUser> appUsers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            appUsers.add(AppUser.builder()
+                    .username("user" + i)
+                    .password("password")
+                    .firstName("firstname")
+                    .lastName("lastname")
+                    .email("user" + i + "@email.com")
+                    .dob(LocalDate.of(2000, 1, 1))
+                    .isEnabled(true)
+                    .build());
+        }
+        return appUserRepository.saveAll(appUsers);
+    }
+}
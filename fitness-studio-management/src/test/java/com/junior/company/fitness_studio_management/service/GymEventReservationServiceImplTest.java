@@ -0,0 +1,501 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.WaitlistEntry;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import com.junior.company.fitness_studio_management.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.junior.company.fitness_studio_management.service.GymEventReservationServiceImpl.ENROLLMENTS_METRIC;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class GymEventReservationServiceImplTest {
+
+    @Mock
+    private GymEventRepository gymEventRepository;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private GymEventReservationServiceImpl gymEventReservationService;
+
+    private double enrollments(String outcome, String reason) {
+        return meterRegistry.counter(ENROLLMENTS_METRIC, "outcome", outcome, "reason", reason).count();
+    }
+
+    private OccupancyChangedEvent publishedOccupancyChange() {
+        ArgumentCaptor<OccupancyChangedEvent> occupancyArgumentCaptor = ArgumentCaptor.forClass(OccupancyChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(occupancyArgumentCaptor.capture());
+        return occupancyArgumentCaptor.getValue();
+    }
+
+    @Test
+    void shouldReserveSeat_givenValidGymEventIdAndAppUserId() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(0L);
+        given(gymEventRepository.claimSeat(anyLong(), any())).willReturn(1);
+
+        // when
+        boolean result = gymEventReservationService.reserveSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isTrue();
+        verify(gymEventRepository, times(1)).insertParticipant(gymEventId, appUserId);
+        verify(waitlistEntryRepository, times(1)).deleteEntry(gymEventId, appUserId);
+        assertThat(enrollments("accepted", "none")).isEqualTo(1);
+        assertThat(publishedOccupancyChange().getSeatsTakenDelta()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotReserveSeat_whenAppUserIsAlreadyEnrolled() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(1L);
+
+        // when
+        boolean result = gymEventReservationService.reserveSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isFalse();
+        verify(gymEventRepository, never()).claimSeat(anyLong(), any());
+        verify(gymEventRepository, never()).insertParticipant(anyLong(), anyLong());
+        assertThat(enrollments("rejected", "already_enrolled")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotReserveSeat_whenConcurrentEnrollmentOfSameAppUserWins() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(0L);
+        given(gymEventRepository.claimSeat(anyLong(), any())).willReturn(1);
+        given(gymEventRepository.insertParticipant(gymEventId, appUserId))
+                .willThrow(new DataIntegrityViolationException("duplicate participant"));
+
+        // when
+        boolean result = gymEventReservationService.reserveSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isFalse();
+        verify(gymEventRepository, times(1)).releaseSeat(gymEventId);
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(enrollments("rejected", "already_enrolled")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotReserveSeat_whenGymEventIsFull() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+        GymEvent gymEvent = GymEvent.builder()
+                .id(gymEventId)
+                .startTime(LocalDateTime.now().plusDays(1))
+                .build();
+
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(0L);
+        given(gymEventRepository.claimSeat(anyLong(), any())).willReturn(0);
+        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
+
+        // when
+        boolean result = gymEventReservationService.reserveSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isFalse();
+        verify(gymEventRepository, never()).insertParticipant(anyLong(), anyLong());
+        assertThat(enrollments("rejected", "full")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotReserveSeat_whenGymEventHasStarted() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+        GymEvent gymEvent = GymEvent.builder()
+                .id(gymEventId)
+                .startTime(LocalDateTime.now().minusHours(1))
+                .build();
+
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(0L);
+        given(gymEventRepository.claimSeat(anyLong(), any())).willReturn(0);
+        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
+
+        // when
+        boolean result = gymEventReservationService.reserveSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isFalse();
+        verify(gymEventRepository, never()).insertParticipant(anyLong(), anyLong());
+        assertThat(enrollments("rejected", "started")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotReserveSeat_givenInvalidGymEventId() {
+
+        // given
+        Long gymEventId = 0L;
+        Long appUserId = 2L;
+
+        given(gymEventRepository.claimSeat(anyLong(), any())).willReturn(0);
+        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.empty());
+
+        // when then
+        assertThatThrownBy(() -> gymEventReservationService.reserveSeat(gymEventId, appUserId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(String.format("Gym event with id: %s not found", gymEventId));
+        verify(gymEventRepository, never()).insertParticipant(anyLong(), anyLong());
+        assertThat(enrollments("rejected", "not_found")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleaseSeat_givenValidGymEventIdAndAppUserId() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(gymEventRepository.deleteParticipant(anyLong(), anyLong(), any())).willReturn(1);
+
+        // when
+        boolean result = gymEventReservationService.releaseSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isTrue();
+        verify(gymEventRepository, times(1)).releaseSeat(gymEventId);
+        verify(gymEventRepository, never()).claimSeat(anyLong(), any());
+        assertThat(publishedOccupancyChange().getSeatsTakenDelta()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldPromoteWaitlistHead_whenSeatIsReleased() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+        WaitlistEntry head = WaitlistEntry.builder()
+                .id(10L)
+                .gymEventId(gymEventId)
+                .appUserId(3L)
+                .ticket(1L)
+                .build();
+
+        given(gymEventRepository.deleteParticipant(anyLong(), anyLong(), any())).willReturn(1);
+        given(waitlistEntryRepository.findFirstByGymEventIdOrderByTicket(gymEventId)).willReturn(Optional.of(head));
+        given(gymEventRepository.claimSeat(anyLong(), any())).willReturn(1);
+
+        // when
+        boolean result = gymEventReservationService.releaseSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isTrue();
+        verify(gymEventRepository, times(1)).releaseSeat(gymEventId);
+        verify(waitlistEntryRepository, times(1)).deleteEntry(head.getId());
+        verify(gymEventRepository, times(1)).insertParticipant(gymEventId, head.getAppUserId());
+        assertThat(enrollments("accepted", "promoted")).isEqualTo(1);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldSkipAlreadyEnrolledWaitlistHead_whenSeatIsReleased() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+        WaitlistEntry enrolledHead = WaitlistEntry.builder()
+                .id(10L)
+                .gymEventId(gymEventId)
+                .appUserId(3L)
+                .ticket(1L)
+                .build();
+        WaitlistEntry nextHead = WaitlistEntry.builder()
+                .id(11L)
+                .gymEventId(gymEventId)
+                .appUserId(4L)
+                .ticket(2L)
+                .build();
+
+        given(gymEventRepository.deleteParticipant(anyLong(), anyLong(), any())).willReturn(1);
+        given(waitlistEntryRepository.findFirstByGymEventIdOrderByTicket(gymEventId))
+                .willReturn(Optional.of(enrolledHead), Optional.of(nextHead));
+        given(gymEventRepository.claimSeat(anyLong(), any())).willReturn(1);
+        given(gymEventRepository.insertParticipant(gymEventId, enrolledHead.getAppUserId()))
+                .willThrow(new DataIntegrityViolationException("duplicate participant"));
+
+        // when
+        boolean result = gymEventReservationService.releaseSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isTrue();
+        verify(waitlistEntryRepository, times(1)).deleteEntry(enrolledHead.getId());
+        verify(waitlistEntryRepository, times(1)).deleteEntry(nextHead.getId());
+        verify(gymEventRepository, times(1)).insertParticipant(gymEventId, nextHead.getAppUserId());
+        verify(gymEventRepository, times(1)).releaseSeat(gymEventId);
+        assertThat(enrollments("accepted", "promoted")).isEqualTo(1);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldGiveSeatBack_whenOnlyAlreadyEnrolledAppUsersAreWaiting() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+        WaitlistEntry enrolledHead = WaitlistEntry.builder()
+                .id(10L)
+                .gymEventId(gymEventId)
+                .appUserId(3L)
+                .ticket(1L)
+                .build();
+
+        given(gymEventRepository.deleteParticipant(anyLong(), anyLong(), any())).willReturn(1);
+        given(waitlistEntryRepository.findFirstByGymEventIdOrderByTicket(gymEventId))
+                .willReturn(Optional.of(enrolledHead), Optional.empty());
+        given(gymEventRepository.claimSeat(anyLong(), any())).willReturn(1);
+        given(gymEventRepository.insertParticipant(gymEventId, enrolledHead.getAppUserId()))
+                .willThrow(new DataIntegrityViolationException("duplicate participant"));
+
+        // when
+        boolean result = gymEventReservationService.releaseSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isTrue();
+        verify(waitlistEntryRepository, times(1)).deleteEntry(enrolledHead.getId());
+        verify(gymEventRepository, times(2)).releaseSeat(gymEventId);
+        assertThat(enrollments("accepted", "promoted")).isZero();
+        assertThat(publishedOccupancyChange().getSeatsTakenDelta()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldNotReleaseSeat_whenAppUserIsNotEnrolled() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(gymEventRepository.deleteParticipant(anyLong(), anyLong(), any())).willReturn(0);
+        given(gymEventRepository.existsById(gymEventId)).willReturn(true);
+
+        // when
+        boolean result = gymEventReservationService.releaseSeat(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isFalse();
+        verify(gymEventRepository, never()).releaseSeat(anyLong());
+    }
+
+    @Test
+    void shouldNotReleaseSeat_givenInvalidGymEventId() {
+
+        // given
+        Long gymEventId = 0L;
+        Long appUserId = 2L;
+
+        given(gymEventRepository.deleteParticipant(anyLong(), anyLong(), any())).willReturn(0);
+        given(gymEventRepository.existsById(gymEventId)).willReturn(false);
+
+        // when then
+        assertThatThrownBy(() -> gymEventReservationService.releaseSeat(gymEventId, appUserId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(String.format("Gym event with id: %s not found", gymEventId));
+        verify(gymEventRepository, never()).releaseSeat(anyLong());
+    }
+
+    @Test
+    void shouldJoinWaitlist_whenGymEventIsFull() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(waitlistEntryRepository.findTicket(gymEventId, appUserId)).willReturn(Optional.empty());
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(0L);
+        given(gymEventRepository.issueWaitlistTicket(anyLong(), any())).willReturn(1);
+        given(gymEventRepository.findWaitlistTail(gymEventId)).willReturn(7L);
+        given(waitlistEntryRepository.findHeadTicket(gymEventId)).willReturn(5L);
+
+        // when
+        long result = gymEventReservationService.joinWaitlist(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isEqualTo(3);
+        verify(waitlistEntryRepository, times(1)).insertEntry(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldReturnExistingPosition_whenConcurrentJoinOfSameAppUserWins() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(waitlistEntryRepository.findTicket(gymEventId, appUserId))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(6L));
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(0L);
+        given(gymEventRepository.issueWaitlistTicket(anyLong(), any())).willReturn(1);
+        given(gymEventRepository.findWaitlistTail(gymEventId)).willReturn(7L);
+        given(waitlistEntryRepository.insertEntry(anyLong(), anyLong(), anyLong(), any()))
+                .willThrow(new DataIntegrityViolationException("UQ_waitlist_entry_gym_event_app_user"));
+        given(waitlistEntryRepository.findHeadTicket(gymEventId)).willReturn(5L);
+
+        // when
+        long result = gymEventReservationService.joinWaitlist(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotJoinWaitlistAgain_whenAppUserIsAlreadyWaiting() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(waitlistEntryRepository.findTicket(gymEventId, appUserId)).willReturn(Optional.of(6L));
+        given(waitlistEntryRepository.findHeadTicket(gymEventId)).willReturn(5L);
+
+        // when
+        long result = gymEventReservationService.joinWaitlist(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isEqualTo(2);
+        verify(gymEventRepository, never()).issueWaitlistTicket(anyLong(), any());
+        verify(waitlistEntryRepository, never()).insertEntry(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldNotJoinWaitlist_whenAppUserIsAlreadyEnrolled() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(waitlistEntryRepository.findTicket(gymEventId, appUserId)).willReturn(Optional.empty());
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(1L);
+
+        // when then
+        assertThatThrownBy(() -> gymEventReservationService.joinWaitlist(gymEventId, appUserId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(String.format(
+                        "User with id: %s is already enrolled in gym event with id: %s", appUserId, gymEventId));
+        verify(gymEventRepository, never()).issueWaitlistTicket(anyLong(), any());
+    }
+
+    @Test
+    void shouldNotJoinWaitlist_whenGymEventIsNotFull() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+        GymEvent gymEvent = GymEvent.builder()
+                .id(gymEventId)
+                .startTime(LocalDateTime.now().plusDays(1))
+                .build();
+
+        given(waitlistEntryRepository.findTicket(gymEventId, appUserId)).willReturn(Optional.empty());
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(0L);
+        given(gymEventRepository.issueWaitlistTicket(anyLong(), any())).willReturn(0);
+        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
+
+        // when then
+        assertThatThrownBy(() -> gymEventReservationService.joinWaitlist(gymEventId, appUserId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(String.format("Gym event with id: %s is not full", gymEventId));
+        verify(waitlistEntryRepository, never()).insertEntry(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldNotJoinWaitlist_givenInvalidGymEventId() {
+
+        // given
+        Long gymEventId = 0L;
+        Long appUserId = 2L;
+
+        given(waitlistEntryRepository.findTicket(gymEventId, appUserId)).willReturn(Optional.empty());
+        given(gymEventRepository.countParticipant(gymEventId, appUserId)).willReturn(0L);
+        given(gymEventRepository.issueWaitlistTicket(anyLong(), any())).willReturn(0);
+        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.empty());
+
+        // when then
+        assertThatThrownBy(() -> gymEventReservationService.joinWaitlist(gymEventId, appUserId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(String.format("Gym event with id: %s not found", gymEventId));
+        verify(waitlistEntryRepository, never()).insertEntry(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldFindWaitlistPosition_givenValidGymEventIdAndAppUserId() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(waitlistEntryRepository.findTicket(gymEventId, appUserId)).willReturn(Optional.of(5L));
+        given(waitlistEntryRepository.findHeadTicket(gymEventId)).willReturn(5L);
+
+        // when
+        long result = gymEventReservationService.findWaitlistPosition(gymEventId, appUserId);
+
+        // then
+        assertThat(result).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotFindWaitlistPosition_whenAppUserIsNotWaiting() {
+
+        // given
+        Long gymEventId = 1L;
+        Long appUserId = 2L;
+
+        given(waitlistEntryRepository.findTicket(gymEventId, appUserId)).willReturn(Optional.empty());
+
+        // when then
+        assertThatThrownBy(() -> gymEventReservationService.findWaitlistPosition(gymEventId, appUserId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(String.format(
+                        "User with id: %s is not on the waitlist of gym event with id: %s", appUserId, gymEventId));
+    }
+}
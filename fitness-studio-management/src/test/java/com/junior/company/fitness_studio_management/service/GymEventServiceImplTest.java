@@ -1,9 +1,13 @@
 package com.junior.company.fitness_studio_management.service;
 
+import com.junior.company.fitness_studio_management.dto.GymEventPageResponse;
+import com.junior.company.fitness_studio_management.dto.GymEventRecurrenceRequest;
+import com.junior.company.fitness_studio_management.dto.GymEventRecurrenceResponse;
 import com.junior.company.fitness_studio_management.dto.GymEventRequest;
 import com.junior.company.fitness_studio_management.dto.GymEventResponse;
 import com.junior.company.fitness_studio_management.exception.InvalidGymEventDateException;
 import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
+import com.junior.company.fitness_studio_management.exception.TrainerConflictException;
 import com.junior.company.fitness_studio_management.mapper.GymEventMapper;
 import com.junior.company.fitness_studio_management.model.AppUser;
 import com.junior.company.fitness_studio_management.model.DifficultyLevel;
@@ -19,18 +23,25 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.persistence.EntityManager;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -47,19 +58,102 @@ class GymEventServiceImplTest {
     private FitnessClassRepository fitnessClassRepository;
 
     @Mock
-    private AppUserServiceImpl appUserService;
+    private CurrentUserResolver currentUserResolver;
+
+    @Mock
+    private GymEventReservationService gymEventReservationService;
+
+    @Mock
+    private TrainerScheduleService trainerScheduleService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
 
     @InjectMocks
     private GymEventServiceImpl gymEventService;
 
     @Test
-    void shouldGetListOfGymEvents() {
+    void shouldGetFirstPageOfGymEvents() {
+
+        // given
+        ReflectionTestUtils.setField(gymEventService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(gymEventService, "maxPageSize", 100);
+        LocalDateTime from = LocalDateTime.of(3000, 1, 1, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(3000, 2, 1, 0, 0, 0);
+
+        // when
+        GymEventPageResponse result = gymEventService.findAllGymEvents(from, to, null, null, null);
+
+        // then
+        verify(gymEventRepository, times(1)).findFirstPage(from, to, PageRequest.of(0, 21));
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldGetPageOfGymEventsWithNextCursor_whenMoreGymEventsExist() {
+
+        // given
+        ReflectionTestUtils.setField(gymEventService, "maxPageSize", 100);
+        LocalDateTime from = LocalDateTime.of(3000, 1, 1, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(3000, 2, 1, 0, 0, 0);
+        LocalDateTime cursorStartTime = LocalDateTime.of(3000, 1, 2, 12, 0, 0);
+
+        GymEvent gymEventOne = GymEvent.builder()
+                .id(7L)
+                .startTime(LocalDateTime.of(3000, 1, 3, 12, 0, 0))
+                .endTime(LocalDateTime.of(3000, 1, 3, 13, 0, 0))
+                .duration("01:00")
+                .build();
+
+        GymEvent gymEventTwo = GymEvent.builder()
+                .id(8L)
+                .startTime(LocalDateTime.of(3000, 1, 4, 12, 0, 0))
+                .endTime(LocalDateTime.of(3000, 1, 4, 13, 0, 0))
+                .duration("01:00")
+                .build();
+
+        given(gymEventRepository.findPageAfter(from, to, cursorStartTime, 5L, PageRequest.of(0, 2)))
+                .willReturn(List.of(gymEventOne, gymEventTwo));
 
         // when
-        gymEventService.findAllGymEvents();
+        GymEventPageResponse result = gymEventService.findAllGymEvents(from, to, cursorStartTime, 5L, 1);
 
         // then
-        verify(gymEventRepository, times(1)).findAll(Sort.by("startTime"));
+        assertThat(result.getGymEvents().size()).isEqualTo(1);
+        assertThat(result.getNextCursor().getStartTime()).isEqualTo(gymEventOne.getStartTime());
+        assertThat(result.getNextCursor().getId()).isEqualTo(gymEventOne.getId());
+    }
+
+    @Test
+    void shouldNotGetPageOfGymEvents_givenInvalidTimeWindow() {
+
+        // given
+        LocalDateTime from = LocalDateTime.of(3000, 2, 1, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(3000, 1, 1, 0, 0, 0);
+
+        // when then
+        assertThatThrownBy(() -> gymEventService.findAllGymEvents(from, to, null, null, null))
+                .isInstanceOf(InvalidGymEventDateException.class)
+                .hasMessageContaining("Entered dates are not valid");
+    }
+
+    @Test
+    void shouldNotGetPageOfGymEvents_givenIncompleteCursor() {
+
+        // given
+        LocalDateTime from = LocalDateTime.of(3000, 1, 1, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(3000, 2, 1, 0, 0, 0);
+
+        // when then
+        assertThatThrownBy(() -> gymEventService.findAllGymEvents(from, to, null, 5L, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Cursor requires both start time and id");
     }
 
     @Test
@@ -83,7 +177,7 @@ class GymEventServiceImplTest {
                 .fitnessClass(fitnessClass)
                 .build();
 
-        given(gymEventRepository.findById(anyLong())).willReturn(Optional.of(gymEvent));
+        given(gymEventRepository.findWithFitnessClassById(anyLong())).willReturn(Optional.of(gymEvent));
 
         GymEventResponse gymEventResponse = GymEventMapper.mapGymEventToGymEventResponse(gymEvent);
 
@@ -130,7 +224,7 @@ class GymEventServiceImplTest {
                 .fitnessClass(fitnessClass)
                 .build();
 
-        given(gymEventRepository.findById(anyLong())).willReturn(Optional.of(gymEvent));
+        given(gymEventRepository.findWithParticipantsById(anyLong())).willReturn(Optional.of(gymEvent));
 
         GymEventResponse gymEventResponse = GymEventMapper.mapGymEventToGymEventResponseMng(gymEvent);
 
@@ -171,7 +265,7 @@ class GymEventServiceImplTest {
                 .fitnessClassId(1L)
                 .build();
 
-        given(fitnessClassRepository.findById(gymEventRequest.getFitnessClassId())).willReturn(Optional.of(fitnessClass));
+        given(fitnessClassRepository.lockById(gymEventRequest.getFitnessClassId())).willReturn(Optional.of(fitnessClass));
 
         GymEvent gymEvent = GymEventMapper.mapGymEventRequestToGymEvent(gymEventRequest);
         gymEvent.setDuration("01:00");
@@ -189,6 +283,12 @@ class GymEventServiceImplTest {
 
         assertThat(capturedGymEvent).usingRecursiveComparison().isEqualTo(gymEvent);
         assertThat(result).isEqualTo(gymEvent);
+
+        ArgumentCaptor<OccupancyChangedEvent> occupancyArgumentCaptor = ArgumentCaptor.forClass(OccupancyChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(occupancyArgumentCaptor.capture());
+        assertThat(occupancyArgumentCaptor.getValue().getFitnessClassId()).isEqualTo(1L);
+        assertThat(occupancyArgumentCaptor.getValue().getStartTime()).isEqualTo(gymEvent.getStartTime());
+        assertThat(occupancyArgumentCaptor.getValue().getEventCountDelta()).isEqualTo(1);
     }
 
     @Test
@@ -201,7 +301,7 @@ class GymEventServiceImplTest {
                 .fitnessClassId(1L)
                 .build();
 
-        given(fitnessClassRepository.findById(gymEventRequest.getFitnessClassId())).willReturn(Optional.empty());
+        given(fitnessClassRepository.lockById(gymEventRequest.getFitnessClassId())).willReturn(Optional.empty());
 
         // when then
         assertThatThrownBy(() -> gymEventService.createGymEvent(gymEventRequest))
@@ -225,6 +325,175 @@ class GymEventServiceImplTest {
                 .hasMessageContaining("Entered dates are not valid");
     }
 
+    private static GymEventRecurrenceRequest recurrenceRequest(LocalDate firstDay, LocalDate lastDay) {
+        return GymEventRecurrenceRequest.builder()
+                .firstDay(firstDay)
+                .lastDay(lastDay)
+                .daysOfWeek(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY))
+                .startTime(LocalTime.of(18, 0))
+                .endTime(LocalTime.of(19, 30))
+                .participantsLimit(20)
+                .fitnessClassId(1L)
+                .build();
+    }
+
+    @Test
+    void shouldCreateRecurringGymEvents_givenValidRecurrenceRequest() {
+
+        // given
+        ReflectionTestUtils.setField(gymEventService, "maxRecurringEvents", 5000);
+        ReflectionTestUtils.setField(gymEventService, "batchSize", 50);
+        // 3000-01-01 is a Wednesday, so 26 weeks hold 78 Mondays, Wednesdays and Fridays
+        GymEventRecurrenceRequest recurrenceRequest = recurrenceRequest(
+                LocalDate.of(3000, 1, 1), LocalDate.of(3000, 1, 1).plusWeeks(26).minusDays(1));
+
+        FitnessClass fitnessClass = FitnessClass.builder()
+                .id(1L)
+                .name("name")
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .description("description")
+                .trainers(null)
+                .build();
+
+        given(fitnessClassRepository.lockById(1L)).willReturn(Optional.of(fitnessClass));
+
+        // when
+        GymEventRecurrenceResponse result = gymEventService.createRecurringGymEvents(recurrenceRequest);
+
+        // then
+        ArgumentCaptor<GymEvent> gymEventArgumentCaptor = ArgumentCaptor.forClass(GymEvent.class);
+        verify(gymEventRepository, times(78)).save(gymEventArgumentCaptor.capture());
+        verify(fitnessClassRepository, times(1)).lockById(1L);
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(50)).detach(any(GymEvent.class));
+        verify(entityManager, never()).detach(fitnessClass);
+        verify(entityManager, never()).clear();
+
+        GymEvent firstGymEvent = gymEventArgumentCaptor.getAllValues().get(0);
+        assertThat(firstGymEvent.getStartTime()).isEqualTo(LocalDateTime.of(3000, 1, 1, 18, 0));
+        assertThat(firstGymEvent.getEndTime()).isEqualTo(LocalDateTime.of(3000, 1, 1, 19, 30));
+        assertThat(firstGymEvent.getDuration()).isEqualTo("01:30");
+        assertThat(firstGymEvent.getFitnessClass()).isEqualTo(fitnessClass);
+        assertThat(gymEventArgumentCaptor.getAllValues().get(1).getStartTime())
+                .isEqualTo(LocalDateTime.of(3000, 1, 3, 18, 0));
+
+        assertThat(result.getCreatedCount()).isEqualTo(78);
+        assertThat(result.getFirstStartTime()).isEqualTo(LocalDateTime.of(3000, 1, 1, 18, 0));
+        assertThat(result.getLastStartTime()).isEqualTo(LocalDateTime.of(3000, 6, 30, 18, 0));
+        assertThat(result.getFitnessClassId()).isEqualTo(1L);
+
+        // one occupancy change per day of the week, each covering 26 gym events
+        ArgumentCaptor<OccupancyChangedEvent> occupancyArgumentCaptor = ArgumentCaptor.forClass(OccupancyChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(occupancyArgumentCaptor.capture());
+        assertThat(occupancyArgumentCaptor.getAllValues().stream()
+                .mapToLong(OccupancyChangedEvent::getEventCountDelta).sum()).isEqualTo(78);
+        assertThat(occupancyArgumentCaptor.getAllValues().stream()
+                .mapToLong(OccupancyChangedEvent::getSeatsTotalDelta).sum()).isEqualTo(78 * 20);
+    }
+
+    @Test
+    void shouldNotCreateRecurringGymEvents_givenLastDayBeforeFirstDay() {
+
+        // given
+        GymEventRecurrenceRequest recurrenceRequest = recurrenceRequest(
+                LocalDate.of(3000, 2, 1), LocalDate.of(3000, 1, 1));
+
+        // when then
+        assertThatThrownBy(() -> gymEventService.createRecurringGymEvents(recurrenceRequest))
+                .isInstanceOf(InvalidGymEventDateException.class)
+                .hasMessageContaining("Entered dates are not valid");
+        verify(gymEventRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldNotCreateRecurringGymEvents_givenFirstEventInPast() {
+
+        // given
+        ReflectionTestUtils.setField(gymEventService, "maxRecurringEvents", 5000);
+        GymEventRecurrenceRequest recurrenceRequest = recurrenceRequest(
+                LocalDate.of(2000, 1, 1), LocalDate.of(3000, 1, 1));
+
+        // when then
+        assertThatThrownBy(() -> gymEventService.createRecurringGymEvents(recurrenceRequest))
+                .isInstanceOf(InvalidGymEventDateException.class)
+                .hasMessageContaining("Entered dates are not valid");
+        verify(gymEventRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldNotCreateRecurringGymEvents_givenTooManyEvents() {
+
+        // given
+        ReflectionTestUtils.setField(gymEventService, "maxRecurringEvents", 10);
+        GymEventRecurrenceRequest recurrenceRequest = recurrenceRequest(
+                LocalDate.of(3000, 1, 1), LocalDate.of(3000, 12, 31));
+
+        // when then
+        assertThatThrownBy(() -> gymEventService.createRecurringGymEvents(recurrenceRequest))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Schedule cannot have more than 10 gym events");
+        verify(gymEventRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldNotCreateRecurringGymEvents_givenInvalidFitnessClassId() {
+
+        // given
+        ReflectionTestUtils.setField(gymEventService, "maxRecurringEvents", 5000);
+        GymEventRecurrenceRequest recurrenceRequest = recurrenceRequest(
+                LocalDate.of(3000, 1, 1), LocalDate.of(3000, 1, 31));
+
+        given(fitnessClassRepository.lockById(1L)).willReturn(Optional.empty());
+
+        // when then
+        assertThatThrownBy(() -> gymEventService.createRecurringGymEvents(recurrenceRequest))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Fitness class with id: 1 not found");
+        verify(gymEventRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldNotCreateGymEvent_givenGymEventLastingADay() {
+
+        // given
+        GymEventRequest gymEventRequest = GymEventRequest.builder()
+                .startTime(LocalDateTime.of(5000, 1, 1, 12, 0, 0))
+                .endTime(LocalDateTime.of(5000, 1, 2, 12, 0, 0))
+                .fitnessClassId(1L)
+                .build();
+
+        // when then
+        assertThatThrownBy(() -> gymEventService.createGymEvent(gymEventRequest))
+                .isInstanceOf(InvalidGymEventDateException.class)
+                .hasMessageContaining("Entered dates are not valid");
+    }
+
+    @Test
+    void shouldNotCreateGymEvent_whenTrainerIsBooked() {
+
+        // given
+        GymEventRequest gymEventRequest = GymEventRequest.builder()
+                .startTime(LocalDateTime.of(5000, 1, 1, 12, 0, 0))
+                .endTime(LocalDateTime.of(5000, 1, 1, 13, 0, 0))
+                .fitnessClassId(1L)
+                .build();
+
+        FitnessClass fitnessClass = FitnessClass.builder()
+                .id(1L)
+                .name("name")
+                .trainers(new ArrayList<>())
+                .build();
+
+        given(fitnessClassRepository.lockById(1L)).willReturn(Optional.of(fitnessClass));
+        willThrow(new TrainerConflictException("Trainer with id: 1 is already booked for gym event with id: 2 at that time"))
+                .given(trainerScheduleService).checkTrainersAvailable(any(), any());
+
+        // when then
+        assertThatThrownBy(() -> gymEventService.createGymEvent(gymEventRequest))
+                .isInstanceOf(TrainerConflictException.class);
+        verify(gymEventRepository, never()).save(any());
+    }
+
     @Test
     void shouldDeleteGymEventById_givenValidGymEventId() {
 
@@ -255,6 +524,7 @@ class GymEventServiceImplTest {
         // then
         assertThat(result).isTrue();
         verify(gymEventRepository, times(1)).delete(gymEvent);
+        verify(eventPublisher, times(1)).publishEvent(any(OccupancyChangedEvent.class));
     }
 
     @Test
@@ -282,38 +552,8 @@ class GymEventServiceImplTest {
     @Test
     void shouldEnrollEvent_givenValidGymEventId() {
 
-        // when
+        // given
         Long gymEventId = 1L;
-
-        List<GymEvent> participantGymEventList = new ArrayList<>();
-        AppUser participant = AppUser.builder()
-                .id(2L)
-                .username("participant")
-                .password("password_one")
-                .roles(new ArrayList<>())
-                .firstName("firstname_one")
-                .lastName("lastname_one")
-                .email("one@email.com")
-                .dob(LocalDate.of(2000, 1, 1))
-                .isEnabled(true)
-                .gymEvents(participantGymEventList)
-                .build();
-
-        List<AppUser> gymEventParticipantsList = new ArrayList<>();
-        GymEvent gymEvent = GymEvent.builder()
-                .id(gymEventId)
-                .startTime(LocalDateTime.of(3000, 1, 1, 12, 0, 0))
-                .endTime(LocalDateTime.of(3000, 1, 1, 13, 0, 0))
-                .duration("01:00")
-                .participantsLimit(20)
-                .currentParticipantsNumber(0)
-                .enrolledParticipants(gymEventParticipantsList)
-                .fitnessClass(null)
-                .build();
-
-        participantGymEventList.add(gymEvent);
-        gymEventParticipantsList.add(participant);
-
         AppUser appUser = AppUser.builder()
                 .id(1L)
                 .username("user")
@@ -327,73 +567,30 @@ class GymEventServiceImplTest {
                 .gymEvents(new ArrayList<>())
                 .build();
 
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
-
-        given(appUserService.getCurrentUser()).willReturn(appUser);
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
+        given(gymEventReservationService.reserveSeat(gymEventId, appUser.getId())).willReturn(true);
 
         // when
         boolean result = gymEventService.enrollUser(gymEventId);
 
         // then
         assertThat(result).isTrue();
+        verify(gymEventReservationService, times(1)).reserveSeat(gymEventId, appUser.getId());
+        verify(gymEventRepository, never()).findById(anyLong());
     }
 
     @Test
-    void shouldNotEnrollEvent_givenInvalidGymEventId() {
-
-        // when
-        Long gymEventId = 0L;
-
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.empty());
-
-        // when then
-        assertThatThrownBy(() -> gymEventService.enrollUser(gymEventId))
-                .isInstanceOf(ResourceNotFoundException.class)
-                .hasMessageContaining(String.format("Gym event with id: %s not found", gymEventId));
-    }
-
-    @Test
-    void shouldNotEnrollEvent_whenGymEventIsFull_givenValidGymEventId() {
-
-        // when
-        Long gymEventId = 1L;
-        GymEvent gymEvent = GymEvent.builder()
-                .id(gymEventId)
-                .startTime(LocalDateTime.of(3000, 1, 1, 12, 0, 0))
-                .endTime(LocalDateTime.of(3000, 1, 1, 13, 0, 0))
-                .duration("01:00")
-                .participantsLimit(20)
-                .currentParticipantsNumber(20)
-                .enrolledParticipants(new ArrayList<>())
-                .fitnessClass(null)
-                .build();
-
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
-
-        // when
-        boolean result = gymEventService.enrollUser(gymEventId);
-
-        // then
-        assertThat(result).isFalse();
-    }
-
-    @Test
-    void shouldNotEnrollEvent_whenGymEventParticipantsLimitIsZero_givenValidGymEventId() {
+    void shouldNotEnrollEvent_whenSeatIsNotReserved_givenValidGymEventId() {
 
-        // when
+        // given
         Long gymEventId = 1L;
-        GymEvent gymEvent = GymEvent.builder()
-                .id(gymEventId)
-                .startTime(LocalDateTime.of(3000, 1, 1, 12, 0, 0))
-                .endTime(LocalDateTime.of(3000, 1, 1, 13, 0, 0))
-                .duration("01:00")
-                .participantsLimit(0)
-                .currentParticipantsNumber(0)
-                .enrolledParticipants(new ArrayList<>())
-                .fitnessClass(null)
+        AppUser appUser = AppUser.builder()
+                .id(1L)
+                .username("user")
                 .build();
 
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
+        given(gymEventReservationService.reserveSeat(gymEventId, appUser.getId())).willReturn(false);
 
         // when
         boolean result = gymEventService.enrollUser(gymEventId);
@@ -403,137 +600,80 @@ class GymEventServiceImplTest {
     }
 
     @Test
-    void shouldNotEnrollEvent_whenGymEventStartTimeIsInvalid_givenValidGymEventId() {
-
-        // when
-        Long gymEventId = 1L;
-        GymEvent gymEvent = GymEvent.builder()
-                .id(gymEventId)
-                .startTime(LocalDateTime.of(1000, 1, 1, 12, 0, 0))
-                .endTime(LocalDateTime.of(1000, 1, 1, 13, 0, 0))
-                .duration("01:00")
-                .participantsLimit(10)
-                .currentParticipantsNumber(0)
-                .enrolledParticipants(new ArrayList<>())
-                .fitnessClass(null)
-                .build();
+    void shouldNotEnrollEvent_givenInvalidGymEventId() {
 
+        // given
+        Long gymEventId = 0L;
         AppUser appUser = AppUser.builder()
                 .id(1L)
                 .username("user")
-                .password("password_one")
-                .roles(new ArrayList<>())
-                .firstName("firstname_one")
-                .lastName("lastname_one")
-                .email("one@email.com")
-                .dob(LocalDate.of(2000, 1, 1))
-                .isEnabled(true)
-                .gymEvents(new ArrayList<>())
                 .build();
 
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
-        given(appUserService.getCurrentUser()).willReturn(appUser);
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
+        given(gymEventReservationService.reserveSeat(gymEventId, appUser.getId())).willThrow(
+                new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId)));
 
-        // when
-        boolean result = gymEventService.enrollUser(gymEventId);
-
-        // then
-        assertThat(result).isFalse();
+        // when then
+        assertThatThrownBy(() -> gymEventService.enrollUser(gymEventId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(String.format("Gym event with id: %s not found", gymEventId));
     }
 
     @Test
-    void shouldNotEnrollEvent_whenCurrentUserIsAlreadyEnrolled_givenValidGymEventId() {
+    void shouldDisenrollEvent_givenValidGymEventId() {
 
-        // when
+        // given
         Long gymEventId = 1L;
-
         AppUser appUser = AppUser.builder()
-                .id(1L)
-                .username("user")
-                .password("password_one")
-                .roles(new ArrayList<>())
-                .firstName("firstname_one")
-                .lastName("lastname_one")
-                .email("one@email.com")
-                .dob(LocalDate.of(2000, 1, 1))
-                .isEnabled(true)
-                .gymEvents(new ArrayList<>())
-                .build();
-
-        GymEvent gymEvent = GymEvent.builder()
-                .id(gymEventId)
-                .startTime(LocalDateTime.of(2000, 1, 1, 12, 0, 0))
-                .endTime(LocalDateTime.of(2000, 1, 1, 13, 0, 0))
-                .duration("01:00")
-                .participantsLimit(20)
-                .currentParticipantsNumber(0)
-                .enrolledParticipants(List.of(appUser))
-                .fitnessClass(null)
+                .id(2L)
+                .username("participant")
                 .build();
 
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
-
-        given(appUserService.getCurrentUser()).willReturn(appUser);
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
+        given(gymEventReservationService.releaseSeat(gymEventId, appUser.getId())).willReturn(true);
 
         // when
-        boolean result = gymEventService.enrollUser(gymEventId);
+        boolean result = gymEventService.disenrollUser(gymEventId);
 
         // then
-        assertThat(result).isFalse();
+        assertThat(result).isTrue();
+        verify(gymEventReservationService, times(1)).releaseSeat(gymEventId, appUser.getId());
+        verify(gymEventRepository, never()).findById(anyLong());
     }
 
     @Test
-    void shouldDisenrollEvent_givenValidGymEventId() {
+    void shouldNotDisenrollEvent_whenSeatIsNotReleased_givenValidGymEventId() {
 
-        // when
+        // given
         Long gymEventId = 1L;
-
-        List<GymEvent> participantGymEventList = new ArrayList<>();
         AppUser appUser = AppUser.builder()
                 .id(2L)
                 .username("participant")
-                .password("password_one")
-                .roles(new ArrayList<>())
-                .firstName("firstname_one")
-                .lastName("lastname_one")
-                .email("one@email.com")
-                .dob(LocalDate.of(2000, 1, 1))
-                .isEnabled(true)
-                .gymEvents(participantGymEventList)
                 .build();
 
-        List<AppUser> gymEventParticipantsList = new ArrayList<>();
-        GymEvent gymEvent = GymEvent.builder()
-                .id(gymEventId)
-                .startTime(LocalDateTime.of(3000, 1, 1, 12, 0, 0))
-                .endTime(LocalDateTime.of(3000, 1, 1, 13, 0, 0))
-                .duration("01:00")
-                .participantsLimit(20)
-                .currentParticipantsNumber(1)
-                .enrolledParticipants(gymEventParticipantsList)
-                .fitnessClass(null)
-                .build();
-
-        participantGymEventList.add(gymEvent);
-        gymEventParticipantsList.add(appUser);
-
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
-        given(appUserService.getCurrentUser()).willReturn(appUser);
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
+        given(gymEventReservationService.releaseSeat(gymEventId, appUser.getId())).willReturn(false);
 
         // when
         boolean result = gymEventService.disenrollUser(gymEventId);
 
         // then
-        assertThat(result).isTrue();
+        assertThat(result).isFalse();
     }
 
     @Test
     void shouldNotDisenrollEvent_givenInvalidGymEventId() {
 
-        // when
+        // given
         Long gymEventId = 0L;
+        AppUser appUser = AppUser.builder()
+                .id(2L)
+                .username("participant")
+                .build();
 
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.empty());
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
+        given(gymEventReservationService.releaseSeat(gymEventId, appUser.getId())).willThrow(
+                new ResourceNotFoundException(String.format("Gym event with id: %s not found", gymEventId)));
 
         // when then
         assertThatThrownBy(() -> gymEventService.disenrollUser(gymEventId))
@@ -542,106 +682,43 @@ class GymEventServiceImplTest {
     }
 
     @Test
-    void shouldNotDisenrollEvent_whenGymEventStartTimeIsInvalid_givenValidGymEventId() {
+    void shouldJoinWaitlist_givenValidGymEventId() {
 
-        // when
+        // given
         Long gymEventId = 1L;
-
-        List<GymEvent> participantGymEventList = new ArrayList<>();
         AppUser appUser = AppUser.builder()
                 .id(2L)
                 .username("participant")
-                .password("password_one")
-                .roles(new ArrayList<>())
-                .firstName("firstname_one")
-                .lastName("lastname_one")
-                .email("one@email.com")
-                .dob(LocalDate.of(2000, 1, 1))
-                .isEnabled(true)
-                .gymEvents(participantGymEventList)
                 .build();
 
-        List<AppUser> gymEventParticipantsList = new ArrayList<>();
-        GymEvent gymEvent = GymEvent.builder()
-                .id(gymEventId)
-                .startTime(LocalDateTime.of(1000, 1, 1, 12, 0, 0))
-                .endTime(LocalDateTime.of(1000, 1, 1, 13, 0, 0))
-                .duration("01:00")
-                .participantsLimit(20)
-                .currentParticipantsNumber(1)
-                .enrolledParticipants(gymEventParticipantsList)
-                .fitnessClass(null)
-                .build();
-
-        participantGymEventList.add(gymEvent);
-        gymEventParticipantsList.add(appUser);
-
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
-        given(appUserService.getCurrentUser()).willReturn(appUser);
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
+        given(gymEventReservationService.joinWaitlist(gymEventId, appUser.getId())).willReturn(3L);
 
         // when
-        boolean result = gymEventService.disenrollUser(gymEventId);
+        long result = gymEventService.joinWaitlist(gymEventId);
 
         // then
-        assertThat(result).isFalse();
+        assertThat(result).isEqualTo(3L);
+        verify(gymEventReservationService, times(1)).joinWaitlist(gymEventId, appUser.getId());
     }
 
     @Test
-    void shouldNotDisenrollEvent_whenCurrentUserIsNotEnrolledToGymEvent_givenValidGymEventId() {
+    void shouldFindWaitlistPosition_givenValidGymEventId() {
 
-        // when
+        // given
         Long gymEventId = 1L;
-
-        List<GymEvent> participantGymEventList = new ArrayList<>();
-        AppUser participant = AppUser.builder()
-                .id(2L)
-                .username("participant")
-                .password("password_one")
-                .roles(new ArrayList<>())
-                .firstName("firstname_one")
-                .lastName("lastname_one")
-                .email("one@email.com")
-                .dob(LocalDate.of(2000, 1, 1))
-                .isEnabled(true)
-                .gymEvents(participantGymEventList)
-                .build();
-
-        List<AppUser> gymEventParticipantsList = new ArrayList<>();
-        GymEvent gymEvent = GymEvent.builder()
-                .id(gymEventId)
-                .startTime(LocalDateTime.of(2000, 1, 1, 12, 0, 0))
-                .endTime(LocalDateTime.of(2000, 1, 1, 13, 0, 0))
-                .duration("01:00")
-                .participantsLimit(20)
-                .currentParticipantsNumber(1)
-                .enrolledParticipants(gymEventParticipantsList)
-                .fitnessClass(null)
-                .build();
-
-        participantGymEventList.add(gymEvent);
-        gymEventParticipantsList.add(participant);
-
         AppUser appUser = AppUser.builder()
-                .id(1L)
+                .id(2L)
                 .username("participant")
-                .password("password_one")
-                .roles(new ArrayList<>())
-                .firstName("firstname_one")
-                .lastName("lastname_one")
-                .email("one@email.com")
-                .dob(LocalDate.of(2000, 1, 1))
-                .isEnabled(true)
-                .gymEvents(new ArrayList<>())
                 .build();
 
-        given(gymEventRepository.findById(gymEventId)).willReturn(Optional.of(gymEvent));
-
-        given(appUserService.getCurrentUser()).willReturn(appUser);
+        given(currentUserResolver.getCurrentUser()).willReturn(appUser);
+        given(gymEventReservationService.findWaitlistPosition(gymEventId, appUser.getId())).willReturn(1L);
 
         // when
-        boolean result = gymEventService.disenrollUser(gymEventId);
+        long result = gymEventService.findWaitlistPosition(gymEventId);
 
         // then
-        assertThat(result).isFalse();
+        assertThat(result).isEqualTo(1L);
     }
-}
\ No newline at end of file
+}
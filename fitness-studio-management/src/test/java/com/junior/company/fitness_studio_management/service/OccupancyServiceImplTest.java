@@ -0,0 +1,268 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.dto.OccupancyResponse;
+import com.junior.company.fitness_studio_management.model.AppUser;
+import com.junior.company.fitness_studio_management.model.DifficultyLevel;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Role;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.repository.AppUserRepository;
+import com.junior.company.fitness_studio_management.repository.FitnessClassOccupancyRepository;
+import com.junior.company.fitness_studio_management.repository.FitnessClassRepository;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import com.junior.company.fitness_studio_management.repository.TrainerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
+
+@DataJpaTest
+@Import({OccupancyServiceImpl.class, OccupancyListener.class,
+        GymEventReservationServiceImpl.class, AppUserServiceImpl.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class OccupancyServiceImplTest {
+
+    // 3000-01-06 is a Monday
+    private static final LocalDateTime MONDAY_SIX_PM = LocalDateTime.of(3000, 1, 6, 18, 0);
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @Autowired
+    private GymEventReservationService gymEventReservationService;
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @MockBean
+    private CurrentUserResolver currentUserResolver;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private FitnessClassOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private GymEventRepository gymEventRepository;
+
+    @Autowired
+    private FitnessClassRepository fitnessClassRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        occupancyRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM event_user");
+        jdbcTemplate.update("DELETE FROM fitness_class_trainer");
+        gymEventRepository.deleteAllInBatch();
+        appUserRepository.deleteAllInBatch();
+        fitnessClassRepository.deleteAllInBatch();
+        trainerRepository.deleteAllInBatch();
+    }
+
+    private FitnessClass givenFitnessClass(String name, List<Trainer> trainers) {
+        return fitnessClassRepository.save(FitnessClass.builder()
+                .name(name)
+                .difficultyLevel(DifficultyLevel.BEGINNER)
+                .description("description")
+                .trainers(trainers)
+                .build());
+    }
+
+    private GymEvent givenGymEvent(FitnessClass fitnessClass, LocalDateTime startTime, int participantsLimit) {
+        return gymEventRepository.save(GymEvent.builder()
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1))
+                .duration("01:00")
+                .participantsLimit(participantsLimit)
+                .fitnessClass(fitnessClass)
+                .build());
+    }
+
+    private AppUser givenAppUser() {
+        return appUserRepository.save(AppUser.builder()
+                .username("user")
+                .password("password")
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("user@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .isEnabled(true)
+                .build());
+    }
+
+    @Test
+    void shouldSumOccupancy_afterRebuild() {
+
+        // given
+        Trainer trainer = trainerRepository.save(Trainer.builder()
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("trainer@email.com")
+                .description("description")
+                .build());
+        FitnessClass yoga = givenFitnessClass("yoga", new ArrayList<>(List.of(trainer)));
+        FitnessClass boxing = givenFitnessClass("boxing", new ArrayList<>());
+        givenGymEvent(yoga, MONDAY_SIX_PM, 10);
+        givenGymEvent(yoga, MONDAY_SIX_PM.plusWeeks(1), 10);
+        givenGymEvent(boxing, MONDAY_SIX_PM.plusDays(1).plusHours(1), 20);
+
+        // when
+        long result = occupancyService.rebuildOccupancy();
+
+        // then
+        assertThat(result).isEqualTo(3);
+        assertThat(occupancyRepository.count()).isEqualTo(2);
+        assertThat(occupancyService.findOccupancyByFitnessClass())
+                .extracting(OccupancyResponse::getName, OccupancyResponse::getEventCount, OccupancyResponse::getSeatsTotal)
+                .containsExactlyInAnyOrder(
+                        tuple("yoga", 2L, 20L),
+                        tuple("boxing", 1L, 20L));
+        assertThat(occupancyService.findOccupancyByTrainer())
+                .extracting(OccupancyResponse::getTrainerId, OccupancyResponse::getEventCount)
+                .containsExactly(tuple(trainer.getId(), 2L));
+        assertThat(occupancyService.findOccupancyByTimeSlot())
+                .extracting(OccupancyResponse::getDayOfWeek, OccupancyResponse::getStartHour)
+                .containsExactly(
+                        tuple(1, 18),
+                        tuple(2, 19));
+    }
+
+    @Test
+    void shouldCreateSlot_givenFirstGymEventOfSlot() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>());
+
+        // when
+        occupancyService.applyChange(OccupancyChangedEvent.builder()
+                .fitnessClassId(fitnessClass.getId())
+                .startTime(MONDAY_SIX_PM)
+                .eventCountDelta(1)
+                .seatsTotalDelta(10)
+                .build());
+        occupancyService.applyChange(OccupancyChangedEvent.builder()
+                .fitnessClassId(fitnessClass.getId())
+                .startTime(MONDAY_SIX_PM.plusWeeks(1).plusMinutes(30))
+                .eventCountDelta(1)
+                .seatsTotalDelta(15)
+                .build());
+
+        // then
+        List<OccupancyResponse> result = occupancyService.findOccupancyByTimeSlot();
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getEventCount()).isEqualTo(2);
+        assertThat(result.get(0).getSeatsTotal()).isEqualTo(25);
+    }
+
+    @Test
+    void shouldCountTakenSeat_afterReservationCommits() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>());
+        GymEvent gymEvent = givenGymEvent(fitnessClass, MONDAY_SIX_PM, 4);
+        AppUser appUser = givenAppUser();
+        occupancyService.rebuildOccupancy();
+
+        // when
+        gymEventReservationService.reserveSeat(gymEvent.getId(), appUser.getId());
+
+        // then
+        OccupancyResponse result = occupancyService.findOccupancyByFitnessClass().get(0);
+        assertThat(result.getSeatsTaken()).isEqualTo(1);
+        assertThat(result.getFillRate()).isEqualTo(0.25);
+    }
+
+    @Test
+    void shouldNotCountTakenSeat_whenReservationRollsBack() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>());
+        GymEvent gymEvent = givenGymEvent(fitnessClass, MONDAY_SIX_PM, 4);
+        AppUser appUser = givenAppUser();
+        occupancyService.rebuildOccupancy();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            gymEventReservationService.reserveSeat(gymEvent.getId(), appUser.getId());
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(occupancyService.findOccupancyByFitnessClass().get(0).getSeatsTaken()).isZero();
+    }
+
+    @Test
+    void shouldUncountTakenSeat_afterSeatIsReleased() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>());
+        GymEvent gymEvent = givenGymEvent(fitnessClass, MONDAY_SIX_PM, 4);
+        AppUser appUser = givenAppUser();
+        occupancyService.rebuildOccupancy();
+        gymEventReservationService.reserveSeat(gymEvent.getId(), appUser.getId());
+
+        // when
+        gymEventReservationService.releaseSeat(gymEvent.getId(), appUser.getId());
+
+        // then
+        assertThat(occupancyService.findOccupancyByFitnessClass().get(0).getSeatsTaken()).isZero();
+    }
+
+    @Test
+    void shouldUncountTakenSeat_afterAppUserIsDeleted() {
+
+        // given
+        FitnessClass fitnessClass = givenFitnessClass("name", new ArrayList<>());
+        GymEvent gymEvent = givenGymEvent(fitnessClass, MONDAY_SIX_PM, 4);
+        AppUser appUser = givenAppUser();
+        occupancyService.rebuildOccupancy();
+        gymEventReservationService.reserveSeat(gymEvent.getId(), appUser.getId());
+        given(currentUserResolver.getCurrentUser()).willReturn(AppUser.builder()
+                .id(appUser.getId())
+                .roles(List.of(new Role(1L, "USER")))
+                .build());
+
+        // when
+        appUserService.deleteUserById(appUser.getId());
+
+        // then
+        assertThat(appUserRepository.existsById(appUser.getId())).isFalse();
+        assertThat(gymEventRepository.findById(gymEvent.getId()).orElseThrow().getCurrentParticipantsNumber()).isZero();
+        assertThat(occupancyService.findOccupancyByFitnessClass().get(0).getSeatsTaken()).isZero();
+    }
+}
@@ -0,0 +1,75 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.model.VersionedResource;
+import com.junior.company.fitness_studio_management.repository.ResourceVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ResourceVersionServiceImpl.class, ResourceVersionListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class ResourceVersionServiceImplTest {
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private ResourceVersionRepository resourceVersionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        resourceVersionRepository.deleteAllInBatch();
+    }
+
+    private void changeInTransaction(boolean rollback, VersionedResource... resources) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            resourceVersionService.markChanged(resources);
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    @Test
+    void shouldIncrementVersions_afterChangeCommits() {
+
+        // given
+        changeInTransaction(false, VersionedResource.TRAINERS);
+
+        // when
+        changeInTransaction(false, VersionedResource.TRAINERS, VersionedResource.GYM_EVENTS);
+
+        // then
+        assertThat(resourceVersionService.findVersion(VersionedResource.TRAINERS)).isEqualTo(2);
+        assertThat(resourceVersionService.findVersion(VersionedResource.GYM_EVENTS)).isEqualTo(1);
+        assertThat(resourceVersionService.findVersion(VersionedResource.FITNESS_CLASSES)).isZero();
+    }
+
+    @Test
+    void shouldNotIncrementVersion_whenChangeRollsBack() {
+
+        // given
+        changeInTransaction(false, VersionedResource.FITNESS_CLASSES);
+
+        // when
+        changeInTransaction(true, VersionedResource.FITNESS_CLASSES);
+
+        // then
+        assertThat(resourceVersionService.findVersion(VersionedResource.FITNESS_CLASSES)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.dto.GymEventRequest;
+import com.junior.company.fitness_studio_management.exception.TrainerConflictException;
+import com.junior.company.fitness_studio_management.model.DifficultyLevel;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.repository.FitnessClassRepository;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import com.junior.company.fitness_studio_management.repository.TrainerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({GymEventServiceImpl.class, FitnessClassServiceImpl.class, TrainerScheduleServiceImpl.class,
+        GymEventReservationServiceImpl.class, ResourceVersionServiceImpl.class, CurrentUserResolver.class,
+        SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TrainerScheduleServiceImplConcurrencyTest {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private GymEventService gymEventService;
+
+    @Autowired
+    private FitnessClassService fitnessClassService;
+
+    @Autowired
+    private FitnessClassRepository fitnessClassRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private GymEventRepository gymEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        gymEventRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM fitness_class_trainer");
+        fitnessClassRepository.deleteAllInBatch();
+        trainerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldNeverDoubleBookTrainer_givenParallelGymEventCreationAndTrainerAssignment() throws Exception {
+
+        // given
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            LocalDateTime roundStartTime = startTime.plusHours(2L * round);
+            Trainer trainer = trainerRepository.save(Trainer.builder()
+                    .firstName("firstname")
+                    .lastName("lastname")
+                    .email("trainer" + round + "@email.com")
+                    .build());
+            FitnessClass bookedFitnessClass = fitnessClassRepository.save(FitnessClass.builder()
+                    .name("booked" + round)
+                    .difficultyLevel(DifficultyLevel.BEGINNER)
+                    .trainers(new ArrayList<>(List.of(trainer)))
+                    .build());
+            gymEventRepository.save(GymEvent.builder()
+                    .startTime(roundStartTime)
+                    .endTime(roundStartTime.plusHours(1))
+                    .duration("01:00")
+                    .participantsLimit(10)
+                    .currentParticipantsNumber(0)
+                    .fitnessClass(bookedFitnessClass)
+                    .build());
+            FitnessClass fitnessClass = fitnessClassRepository.save(FitnessClass.builder()
+                    .name("free" + round)
+                    .difficultyLevel(DifficultyLevel.BEGINNER)
+                    .trainers(new ArrayList<>())
+                    .build());
+            GymEventRequest gymEventRequest = GymEventRequest.builder()
+                    .startTime(roundStartTime)
+                    .endTime(roundStartTime.plusHours(1))
+                    .participantsLimit(10)
+                    .fitnessClassId(fitnessClass.getId())
+                    .build();
+            CountDownLatch startSignal = new CountDownLatch(1);
+
+            // when
+            Future<Boolean> created = executorService.submit(succeeds(startSignal, () -> {
+                gymEventService.createGymEvent(gymEventRequest);
+                return true;
+            }));
+            Future<Boolean> assigned = executorService.submit(succeeds(startSignal,
+                    () -> fitnessClassService.assignTrainer(fitnessClass.getId(), trainer.getId())));
+            startSignal.countDown();
+
+            // then
+            assertThat(created.get(1, TimeUnit.MINUTES) ^ assigned.get(1, TimeUnit.MINUTES))
+                    .as("exactly one of gym event creation and trainer assignment succeeds in round %s", round)
+                    .isTrue();
+        }
+        executorService.shutdown();
+    }
+
+    private static Callable<Boolean> succeeds(CountDownLatch startSignal, Callable<Boolean> action) {
+        return () -> {
+            startSignal.await();
+            try {
+                return action.call();
+            } catch (TrainerConflictException e) {
+                return false;
+            }
+        };
+    }
+}
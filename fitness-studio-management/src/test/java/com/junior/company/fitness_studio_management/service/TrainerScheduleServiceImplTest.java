@@ -0,0 +1,184 @@
+package com.junior.company.fitness_studio_management.service;
+
+import com.junior.company.fitness_studio_management.exception.TrainerConflictException;
+import com.junior.company.fitness_studio_management.model.FitnessClass;
+import com.junior.company.fitness_studio_management.model.GymEvent;
+import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.repository.GymEventRepository;
+import com.junior.company.fitness_studio_management.repository.TrainerBooking;
+import com.junior.company.fitness_studio_management.repository.TrainerRepository;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class TrainerScheduleServiceImplTest {
+
+    private static final LocalDateTime MONDAY_NOON = LocalDateTime.of(3000, 1, 6, 12, 0);
+
+    @Mock
+    private GymEventRepository gymEventRepository;
+
+    @Mock
+    private TrainerRepository trainerRepository;
+
+    @InjectMocks
+    private TrainerScheduleServiceImpl trainerScheduleService;
+
+    private static FitnessClass fitnessClass(Long... trainerIds) {
+        List<Trainer> trainers = new ArrayList<>();
+        for (Long trainerId : trainerIds) {
+            trainers.add(Trainer.builder().id(trainerId).build());
+        }
+        return FitnessClass.builder()
+                .id(1L)
+                .trainers(trainers)
+                .build();
+    }
+
+    private static GymEvent gymEvent(LocalDateTime startTime, LocalDateTime endTime) {
+        return GymEvent.builder()
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
+    }
+
+    private static TrainerBooking booking(Long gymEventId, LocalDateTime startTime, LocalDateTime endTime) {
+        return new TrainerBooking() {
+
+            @Override
+            public Long getTrainerId() {
+                return 7L;
+            }
+
+            @Override
+            public Long getGymEventId() {
+                return gymEventId;
+            }
+
+            @Override
+            public LocalDateTime getStartTime() {
+                return startTime;
+            }
+
+            @Override
+            public LocalDateTime getEndTime() {
+                return endTime;
+            }
+        };
+    }
+
+    @Test
+    void shouldAcceptGymEvent_givenBookingEndingWhenGymEventStarts() {
+
+        // given
+        given(gymEventRepository.findTrainerBookings(List.of(7L), MONDAY_NOON, MONDAY_NOON.plusHours(1),
+                MONDAY_NOON.minusDays(1)))
+                .willReturn(List.of(booking(2L, MONDAY_NOON.minusHours(1), MONDAY_NOON)));
+
+        // when then
+        assertThatCode(() -> trainerScheduleService.checkTrainersAvailable(
+                fitnessClass(7L), List.of(gymEvent(MONDAY_NOON, MONDAY_NOON.plusHours(1)))))
+                .doesNotThrowAnyException();
+        verify(trainerRepository, times(1)).lockAllByIdIn(List.of(7L));
+    }
+
+    @Test
+    void shouldRejectGymEvent_givenOverlappingBooking() {
+
+        // given
+        given(gymEventRepository.findTrainerBookings(any(), any(), any(), any()))
+                .willReturn(List.of(booking(2L, MONDAY_NOON.minusMinutes(30), MONDAY_NOON.plusMinutes(30))));
+
+        // when then
+        assertThatThrownBy(() -> trainerScheduleService.checkTrainersAvailable(
+                fitnessClass(7L), List.of(gymEvent(MONDAY_NOON, MONDAY_NOON.plusHours(1)))))
+                .isInstanceOf(TrainerConflictException.class)
+                .hasMessageContaining("Trainer with id: 7 is already booked for gym event with id: 2 at that time");
+    }
+
+    @Test
+    void shouldRejectGymEvent_givenLongBookingStartingBeforeShorterOnes() {
+
+        // given
+        given(gymEventRepository.findTrainerBookings(any(), any(), any(), any()))
+                .willReturn(List.of(
+                        booking(2L, MONDAY_NOON.minusHours(3), MONDAY_NOON.plusHours(2)),
+                        booking(3L, MONDAY_NOON.minusHours(2), MONDAY_NOON.minusHours(1))));
+
+        // when then
+        assertThatThrownBy(() -> trainerScheduleService.checkTrainersAvailable(
+                fitnessClass(7L), List.of(gymEvent(MONDAY_NOON, MONDAY_NOON.plusHours(1)))))
+                .isInstanceOf(TrainerConflictException.class)
+                .hasMessageContaining("gym event with id: 2");
+    }
+
+    @Test
+    void shouldRejectSchedule_givenBookingOverlappingOneOfManyGymEvents() {
+
+        // given
+        List<GymEvent> gymEvents = IntStream.range(0, 100)
+                .mapToObj(week -> gymEvent(MONDAY_NOON.plusWeeks(week), MONDAY_NOON.plusWeeks(week).plusHours(1)))
+                .collect(Collectors.toList());
+        LocalDateTime conflictStart = MONDAY_NOON.plusWeeks(60).plusMinutes(45);
+        given(gymEventRepository.findTrainerBookings(List.of(7L, 8L), MONDAY_NOON,
+                MONDAY_NOON.plusWeeks(99).plusHours(1), MONDAY_NOON.minusDays(1)))
+                .willReturn(List.of(
+                        booking(2L, MONDAY_NOON.plusWeeks(10).plusHours(1), MONDAY_NOON.plusWeeks(10).plusHours(2)),
+                        booking(3L, conflictStart, conflictStart.plusHours(1))));
+
+        // when then
+        assertThatThrownBy(() -> trainerScheduleService.checkTrainersAvailable(fitnessClass(7L, 8L), gymEvents))
+                .isInstanceOf(TrainerConflictException.class)
+                .hasMessageContaining("gym event with id: 3");
+        verify(gymEventRepository, times(1)).findTrainerBookings(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldSkipCheck_givenFitnessClassWithoutTrainers() {
+
+        // when
+        trainerScheduleService.checkTrainersAvailable(
+                fitnessClass(), List.of(gymEvent(MONDAY_NOON, MONDAY_NOON.plusHours(1))));
+
+        // then
+        verify(trainerRepository, never()).lockAllByIdIn(any());
+        verify(gymEventRepository, never()).findTrainerBookings(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectTrainer_givenBookingOverlappingUpcomingGymEventOfFitnessClass() {
+
+        // given
+        Trainer trainer = Trainer.builder().id(7L).build();
+        given(gymEventRepository.findByFitnessClassIdAndStartTimeAfter(anyLong(), any()))
+                .willReturn(List.of(gymEvent(MONDAY_NOON, MONDAY_NOON.plusHours(1))));
+        given(gymEventRepository.findTrainerBookings(any(), any(), any(), any()))
+                .willReturn(List.of(booking(2L, MONDAY_NOON, MONDAY_NOON.plusHours(1))));
+
+        // when then
+        assertThatThrownBy(() -> trainerScheduleService.checkTrainerAvailable(trainer, fitnessClass()))
+                .isInstanceOf(TrainerConflictException.class)
+                .hasMessageContaining("Trainer with id: 7 is already booked for gym event with id: 2 at that time");
+    }
+}
@@ -4,6 +4,7 @@ import com.junior.company.fitness_studio_management.dto.TrainerRequest;
 import com.junior.company.fitness_studio_management.exception.ResourceNotFoundException;
 import com.junior.company.fitness_studio_management.mapper.TrainerMapper;
 import com.junior.company.fitness_studio_management.model.Trainer;
+import com.junior.company.fitness_studio_management.model.VersionedResource;
 import com.junior.company.fitness_studio_management.repository.TrainerRepository;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,9 @@ class TrainerServiceImplTest {
     @Mock
     private TrainerRepository trainerRepository;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     @InjectMocks
     private TrainerServiceImpl trainerService;
 
@@ -105,6 +109,7 @@ class TrainerServiceImplTest {
 
         assertThat(capturedTrainer).usingRecursiveComparison().isEqualTo(trainer);
         assertThat(result).isEqualTo(trainer);
+        verify(resourceVersionService, times(1)).markChanged(VersionedResource.TRAINERS);
     }
 
     @Test
@@ -0,0 +1,44 @@
+package com.junior.company.fitness_studio_management.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailValidatorTest {
+
+    private final EmailValidator emailValidator = new EmailValidator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"one@email.com", "first+tag.last@sub.example.co", "a_b-c@d-e.fg"})
+    void shouldAcceptEmail_givenValidEmail(String email) {
+
+        // when
+        boolean result = emailValidator.isValid(email, null);
+
+        // then
+        assertThat(result).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "one", "one@email", "one@email.c", ".one@email.com", "one@@email.com", "one@email.com "})
+    void shouldRejectEmail_givenInvalidEmail(String email) {
+
+        // when
+        boolean result = emailValidator.isValid(email, null);
+
+        // then
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    void shouldRejectEmail_givenNull() {
+
+        // when
+        boolean result = emailValidator.isValid(null, null);
+
+        // then
+        assertThat(result).isFalse();
+    }
+}
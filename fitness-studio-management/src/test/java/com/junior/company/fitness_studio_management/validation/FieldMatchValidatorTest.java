@@ -0,0 +1,136 @@
+package com.junior.company.fitness_studio_management.validation;
+
+import com.junior.company.fitness_studio_management.dto.AppUserRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class FieldMatchValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @FieldMatch(firstField = "password", secondField = "matchingPassword", message = "The password must match")
+    @FieldMatch(firstField = "email", secondField = "matchingEmail", message = "The email must match")
+    @Getter
+    @AllArgsConstructor
+    static class DoubleMatchRequest {
+
+        private String password;
+        private String matchingPassword;
+        private String email;
+        private String matchingEmail;
+    }
+
+    private static AppUserRequest appUserRequest(String password, String matchingPassword) {
+        return AppUserRequest.builder()
+                .username("username")
+                .password(password)
+                .matchingPassword(matchingPassword)
+                .firstName("firstname")
+                .lastName("lastname")
+                .email("email@email.com")
+                .dob(LocalDate.of(2000, 1, 1))
+                .build();
+    }
+
+    @Test
+    void shouldAcceptAppUserRequest_givenMatchingPasswords() {
+
+        // when
+        Set<ConstraintViolation<AppUserRequest>> result =
+                validator.validate(appUserRequest("password", "password"));
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void shouldRejectAppUserRequest_givenDifferentPasswords() {
+
+        // when
+        Set<ConstraintViolation<AppUserRequest>> result =
+                validator.validate(appUserRequest("password", "another_password"));
+
+        // then
+        assertThat(result).extracting(ConstraintViolation::getMessage)
+                .containsExactly("The password must match");
+    }
+
+    @Test
+    void shouldReportEveryRepeatedConstraint_givenDifferentValues() {
+
+        // when
+        Set<ConstraintViolation<DoubleMatchRequest>> result = validator.validate(
+                new DoubleMatchRequest("password", "another_password", "one@email.com", "two@email.com"));
+
+        // then
+        assertThat(result).extracting(ConstraintViolation::getMessage)
+                .containsExactlyInAnyOrder("The password must match", "The email must match");
+    }
+
+    @Test
+    void shouldAcceptRepeatedConstraints_givenMatchingValues() {
+
+        // when
+        Set<ConstraintViolation<DoubleMatchRequest>> result = validator.validate(
+                new DoubleMatchRequest("password", "password", "one@email.com", "one@email.com"));
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void shouldVerifyFieldMatches_givenApplicationClasses() {
+
+        // when then
+        assertThatCode(() -> new FieldMatchVerifier().afterPropertiesSet())
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldNotVerifyFieldMatches_givenMisspelledField() {
+
+        // given
+        @FieldMatch(firstField = "password", secondField = "matchingPasword")
+        @Getter
+        class MisspelledRequest {
+
+            private String password;
+            private String matchingPassword;
+        }
+
+        // when then
+        assertThatThrownBy(() -> FieldMatchValidator.verifyFieldMatches(MisspelledRequest.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(String.format(
+                        "@FieldMatch on %s refers to unknown field: matchingPasword", MisspelledRequest.class.getName()));
+    }
+}
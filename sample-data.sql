@@ -49,21 +49,9 @@ VALUES (1, 8), (1, 2), (1, 3), (1, 4), (1, 5),
 (3, 9), (3, 11), 
 (4, 2);
 
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
+-- move the id blocks of Hibernate's generator past the rows inserted above
+UPDATE app_role_seq SET next_val = (SELECT MAX(id) + 1 FROM app_role);
+UPDATE app_user_seq SET next_val = (SELECT MAX(id) + 1 FROM app_user);
+UPDATE trainer_seq SET next_val = (SELECT MAX(id) + 1 FROM trainer);
+UPDATE fitness_class_seq SET next_val = (SELECT MAX(id) + 1 FROM fitness_class);
+UPDATE gym_event_seq SET next_val = (SELECT MAX(id) + 1 FROM gym_event);